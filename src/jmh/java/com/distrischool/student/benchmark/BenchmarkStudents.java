@@ -0,0 +1,39 @@
+package com.distrischool.student.benchmark;
+
+import com.distrischool.student.entity.Student;
+import com.distrischool.student.entity.Student.StudentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Aluno de exemplo, com todos os campos preenchidos, compartilhado pelos benchmarks.
+ */
+final class BenchmarkStudents {
+
+    private BenchmarkStudents() {
+    }
+
+    static Student entity(Long id) {
+        Student student = Student.builder()
+                .id(id)
+                .fullName("Maria Aparecida dos Santos")
+                .cpf("52998224725")
+                .email("maria.santos@example.com")
+                .phone("+55 11 91234-5678")
+                .birthDate(LocalDate.of(2002, 7, 21))
+                .registrationNumber("2026123456")
+                .course("Ciência da Computação")
+                .semester(5)
+                .enrollmentDate(LocalDate.of(2024, 2, 1))
+                .status(StudentStatus.ACTIVE)
+                .notes("Bolsista do programa de iniciação científica")
+                .version(7L)
+                .build();
+        student.setCreatedAt(LocalDateTime.of(2024, 2, 1, 9, 15, 30));
+        student.setUpdatedAt(LocalDateTime.of(2026, 3, 10, 14, 2, 5));
+        student.setCreatedBy("secretaria");
+        student.setUpdatedBy("secretaria");
+        return student;
+    }
+}
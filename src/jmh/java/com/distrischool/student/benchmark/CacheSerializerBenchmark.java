@@ -0,0 +1,100 @@
+package com.distrischool.student.benchmark;
+
+import com.distrischool.student.cache.StudentBinarySerializer;
+import com.distrischool.student.config.RedisConfig;
+import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.entity.Student.StudentStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o serializador JSON atual do cache de alunos com o binário.
+ *
+ * Executar com: {@code mvn -Pbenchmark test-compile exec:exec -Djmh.includes=CacheSerializerBenchmark}
+ * O tamanho de cada payload é impresso no setup para comparar o tráfego no Redis.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSerializerBenchmark {
+
+    /** Tamanho das observações do aluno: curtas ficam abaixo do limite de compressão, longas acima */
+    @Param({"32", "4096"})
+    private int notesLength;
+
+    private RedisSerializer<Object> jsonSerializer;
+    private RedisSerializer<Object> binarySerializer;
+    private StudentResponseDTO student;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Mesma configuração usada pelo RedisConfig para o formato json
+        jsonSerializer = RedisConfig.jsonSerializer();
+        binarySerializer = new StudentBinarySerializer(jsonSerializer, 1024);
+
+        student = StudentResponseDTO.builder()
+                .id(123_456L)
+                .fullName("Maria Aparecida dos Santos")
+                .cpf("52998224725")
+                .email("maria.santos@example.com")
+                .phone("+55 11 91234-5678")
+                .birthDate(LocalDate.of(2002, 7, 21))
+                .age(24)
+                .registrationNumber("2026123456")
+                .course("Ciência da Computação")
+                .semester(5)
+                .enrollmentDate(LocalDate.of(2024, 2, 1))
+                .status(StudentStatus.ACTIVE)
+                .notes("x".repeat(notesLength))
+                .createdAt(LocalDateTime.of(2024, 2, 1, 9, 15, 30))
+                .updatedAt(LocalDateTime.of(2026, 3, 10, 14, 2, 5))
+                .createdBy("secretaria")
+                .updatedBy("secretaria")
+                .build();
+
+        jsonBytes = jsonSerializer.serialize(student);
+        binaryBytes = binarySerializer.serialize(student);
+        System.out.printf("%nnotesLength=%d json=%d bytes binary=%d bytes%n",
+                notesLength, jsonBytes.length, binaryBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(student);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize(student);
+    }
+
+    @Benchmark
+    public Object deserializeJson() {
+        return jsonSerializer.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public Object deserializeBinary() {
+        return binarySerializer.deserialize(binaryBytes);
+    }
+}
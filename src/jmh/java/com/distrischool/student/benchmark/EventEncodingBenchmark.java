@@ -0,0 +1,94 @@
+package com.distrischool.student.benchmark;
+
+import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.entity.Student;
+import com.distrischool.student.kafka.DistriSchoolEvent;
+import com.distrischool.student.kafka.StudentEventSerializer;
+import com.distrischool.student.kafka.payload.StudentCreatedPayload;
+import com.distrischool.student.kafka.payload.StudentState;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codificação de um {@link DistriSchoolEvent} de aluno criado (esquema v2, estado completo)
+ * pelo serializador do produtor Kafka, em JSON e no formato binário.
+ *
+ * {@code buildAndEncode} inclui a montagem do evento a partir da entidade, como em
+ * {@code StudentService.publishStudentCreatedEvent}.
+ *
+ * Executar com: {@code mvn -Pbenchmark test-compile exec:exec -Djmh.includes=EventEncodingBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventEncodingBenchmark {
+
+    private static final String TOPIC = "distrischool.student.created";
+    private static final String SOURCE = "student-management-service";
+
+    @Param({"json", "binary"})
+    private String format;
+
+    private StudentEventSerializer serializer;
+    private Student student;
+    private DistriSchoolEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = new StudentEventSerializer();
+        serializer.configure(Map.of(StudentEventSerializer.FORMAT_CONFIG, format), false);
+        student = BenchmarkStudents.entity(123_456L);
+        event = createdEvent(student);
+        System.out.printf("%nformat=%s payload=%d bytes%n", format, encode(event).length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serializer.close();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return encode(event);
+    }
+
+    @Benchmark
+    public byte[] buildAndEncode() {
+        return encode(createdEvent(student));
+    }
+
+    private byte[] encode(DistriSchoolEvent event) {
+        // Headers novos a cada envio, como no produtor
+        return serializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    private static DistriSchoolEvent createdEvent(Student student) {
+        StudentCreatedPayload payload = StudentCreatedPayload.builder()
+                .studentId(student.getId())
+                .fullName(student.getFullName())
+                .email(student.getEmail())
+                .registrationNumber(student.getRegistrationNumber())
+                .course(student.getCourse())
+                .state(StudentState.of(StudentResponseDTO.fromEntity(student)))
+                .build();
+        return DistriSchoolEvent.of(SOURCE, payload, student.getVersion());
+    }
+}
@@ -0,0 +1,127 @@
+package com.distrischool.student.benchmark;
+
+import com.distrischool.student.kafka.DistriSchoolEvent;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão do produtor Kafka (eventos/s) com a configuração padrão e com o perfil
+ * {@code kafka-bulk}, contra um broker embarcado (KRaft, 3 partições).
+ *
+ * As propriedades do produtor são lidas de application.yml e application-kafka-bulk.yml,
+ * como no serviço. Cada invocação envia um lote de eventos de alunos e espera todas as
+ * confirmações, simulando uma matrícula em massa drenada pelo outbox.
+ *
+ * Executar com: {@code mvn -Pbenchmark test-compile exec:exec -Djmh.includes=KafkaProducerProfileBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KafkaProducerProfileBenchmark {
+
+    private static final String TOPIC = "benchmark.student.created";
+    private static final int EVENTS_PER_INVOCATION = 2000;
+
+    @Param({"default", "kafka-bulk"})
+    private String profile;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private KafkaProducer<String, DistriSchoolEvent> producer;
+    private DistriSchoolEvent[] events;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        broker = new EmbeddedKafkaKraftBroker(1, 3, TOPIC);
+        broker.afterPropertiesSet();
+
+        Map<String, Object> config = producerProperties(profile);
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        producer = new KafkaProducer<>(config);
+
+        events = new DistriSchoolEvent[EVENTS_PER_INVOCATION];
+        for (int i = 0; i < events.length; i++) {
+            Map<String, Object> data = new HashMap<>();
+            data.put("studentId", (long) i);
+            data.put("fullName", "Aluno de Teste " + i);
+            data.put("email", "aluno" + i + "@faculdade.edu.br");
+            data.put("registrationNumber", String.format("202410%06d", i));
+            data.put("course", "Ciência da Computação");
+            events[i] = DistriSchoolEvent.of("student.created", "student-management-service", data);
+            events[i].setVersion(0L);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        producer.close();
+        broker.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_INVOCATION)
+    public void sendBatch() throws Exception {
+        Future<?>[] acks = new Future<?>[events.length];
+        for (int i = 0; i < events.length; i++) {
+            DistriSchoolEvent event = events[i];
+            acks[i] = producer.send(new ProducerRecord<>(TOPIC, event.getData().get("studentId").toString(), event));
+        }
+        for (Future<?> ack : acks) {
+            ack.get();
+        }
+    }
+
+    /**
+     * Propriedades do produtor resolvidas como no Spring Boot: application.yml e, no perfil
+     * {@code kafka-bulk}, application-kafka-bulk.yml por cima.
+     */
+    private static Map<String, Object> producerProperties(String profile) throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        YamlPropertySourceLoader loader = new YamlPropertySourceLoader();
+        for (PropertySource<?> source : loader.load("application", new ClassPathResource("application.yml"))) {
+            environment.getPropertySources().addLast(source);
+        }
+        if (!"default".equals(profile)) {
+            List<PropertySource<?>> sources = loader.load(profile,
+                    new ClassPathResource("application-" + profile + ".yml"));
+            for (PropertySource<?> source : sources) {
+                environment.getPropertySources().addFirst(source);
+            }
+        }
+        KafkaProperties kafkaProperties = Binder.get(environment)
+                .bind("spring.kafka", KafkaProperties.class)
+                .orElseGet(KafkaProperties::new);
+        return new HashMap<>(kafkaProperties.buildProducerProperties(null));
+    }
+}
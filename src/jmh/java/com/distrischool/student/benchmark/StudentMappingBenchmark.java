@@ -0,0 +1,58 @@
+package com.distrischool.student.benchmark;
+
+import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.dto.StudentSummaryDTO;
+import com.distrischool.student.entity.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversões executadas em toda listagem e busca de alunos: entidade para DTO completo,
+ * entidade para resumo e DTO para Map (resposta da busca em lote).
+ *
+ * Executar com: {@code mvn -Pbenchmark test-compile exec:exec -Djmh.includes=StudentMappingBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentMappingBenchmark {
+
+    private Student student;
+    private StudentResponseDTO response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        student = BenchmarkStudents.entity(123_456L);
+        response = StudentResponseDTO.fromEntity(student);
+    }
+
+    @Benchmark
+    public StudentResponseDTO responseFromEntity() {
+        return StudentResponseDTO.fromEntity(student);
+    }
+
+    @Benchmark
+    public StudentSummaryDTO summaryFromEntity() {
+        return StudentSummaryDTO.fromEntity(student);
+    }
+
+    @Benchmark
+    public Map<String, Object> responseToMap() {
+        return response.toMap();
+    }
+}
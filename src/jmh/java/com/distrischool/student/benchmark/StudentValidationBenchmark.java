@@ -0,0 +1,47 @@
+package com.distrischool.student.benchmark;
+
+import com.distrischool.student.service.CpfValidator;
+import com.distrischool.student.service.PasswordGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de CPF (cadastro e atualização de aluno) e geração da senha inicial
+ * (provisionamento no serviço de autenticação).
+ *
+ * Executar com: {@code mvn -Pbenchmark test-compile exec:exec -Djmh.includes=StudentValidationBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentValidationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CpfInput {
+        /** Válido com e sem pontuação, dígito verificador errado e sequência repetida */
+        @Param({"52998224725", "529.982.247-25", "52998224724", "11111111111"})
+        public String cpf;
+    }
+
+    @Benchmark
+    public boolean isValidCpf(CpfInput input) {
+        return CpfValidator.isValid(input.cpf);
+    }
+
+    @Benchmark
+    public String generateSecurePassword() {
+        return PasswordGenerator.generateSecurePassword();
+    }
+}
@@ -0,0 +1,115 @@
+package com.distrischool.student.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latências das requisições do teste de carga, por endpoint.
+ *
+ * Guarda todas as amostras (em nanos) para que os percentis sejam exatos, não estimados por
+ * histograma; com as durações do teste de carga isso são alguns MB.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> byEndpoint = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        byEndpoint.computeIfAbsent(endpoint, name -> new Samples()).add(nanos, success);
+    }
+
+    /**
+     * Resumo por endpoint, com a vazão calculada sobre a duração da fase medida
+     */
+    List<EndpointSummary> summarize(Duration elapsed) {
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1_000_000_000.0;
+        return byEndpoint.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().summarize(entry.getKey(), seconds))
+                .toList();
+    }
+
+    /**
+     * Relatório em JSON para comparar execuções entre commits
+     */
+    static void writeReport(Path file, Map<String, Object> run, List<EndpointSummary> endpoints) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("run", run);
+        report.put("endpoints", endpoints);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    /**
+     * Tabela legível para o log do teste
+     */
+    static String format(List<EndpointSummary> endpoints) {
+        StringBuilder table = new StringBuilder(String.format("%n%-26s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (EndpointSummary e : endpoints) {
+            table.append(String.format("%-26s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    e.endpoint(), e.requests(), e.errors(), e.throughputPerSecond(),
+                    e.p50Millis(), e.p90Millis(), e.p99Millis(), e.maxMillis()));
+        }
+        return table.toString();
+    }
+
+    record EndpointSummary(String endpoint, long requests, long errors, double throughputPerSecond,
+                           double meanMillis, double p50Millis, double p90Millis, double p99Millis,
+                           double p999Millis, double maxMillis) {
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long value, boolean success) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointSummary summarize(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            double mean = size == 0 ? 0 : Arrays.stream(sorted).average().orElse(0);
+            return new EndpointSummary(endpoint, size, errors, size / seconds, toMillis(mean),
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), size == 0 ? 0 : toMillis(sorted[size - 1]));
+        }
+
+        /**
+         * Percentil pelo método nearest-rank
+         */
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return toMillis(sorted[Math.max(rank, 1) - 1]);
+        }
+
+        private static double toMillis(double nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.distrischool.student.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stand-in local do auth-service e do Auth0 para o teste de carga.
+ *
+ * Um único servidor HTTP atende:
+ * <ul>
+ *   <li>o emissor OIDC ({@code /.well-known/openid-configuration} e {@code /jwks.json}), para que o
+ *       {@code SecurityConfig} valide os tokens de verdade, com a chave gerada em {@link #start};</li>
+ *   <li>os endpoints usados pelo {@code AuthServiceClient} (registro de usuário, busca por Auth0 ID e
+ *       verificação de role), com latência opcional para simular o serviço remoto.</li>
+ * </ul>
+ */
+@Slf4j
+final class LocalAuthServer implements AutoCloseable {
+
+    static final String AUDIENCE = "https://distrischool.api";
+
+    private static final Pattern USER_BY_AUTH0_ID = Pattern.compile("/api/v1/users/auth0/([^/]+)");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong userIds = new AtomicLong();
+    private final AtomicLong registrations = new AtomicLong();
+    private final Duration latency;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private RSAKey signingKey;
+
+    /**
+     * @param latency espera adicionada a cada chamada ao auth-service (não ao emissor OIDC)
+     */
+    LocalAuthServer(Duration latency) {
+        this.latency = latency;
+    }
+
+    LocalAuthServer start() {
+        try {
+            signingKey = new RSAKeyGenerator(2048).keyID("loadtest").generate();
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (JOSEException | IOException e) {
+            throw new IllegalStateException("Não foi possível iniciar o stand-in do auth-service", e);
+        }
+        executor = Executors.newFixedThreadPool(16);
+        server.setExecutor(executor);
+
+        server.createContext("/.well-known/openid-configuration", exchange -> respond(exchange, Map.of(
+                "issuer", baseUrl(),
+                "jwks_uri", baseUrl() + "/jwks.json",
+                "id_token_signing_alg_values_supported", List.of("RS256"),
+                "subject_types_supported", List.of("public"))));
+        server.createContext("/jwks.json", exchange ->
+                respond(exchange, 200, new JWKSet(signingKey.toPublicJWK()).toString()));
+
+        server.createContext("/api/v1/auth/register", this::register);
+        server.createContext("/api/v1/users/auth0/", this::userByAuth0Id);
+        server.createContext("/api/v1/users/", exchange -> {
+            simulateLatency();
+            respond(exchange, Map.of("success", true, "data", true));
+        });
+
+        server.start();
+        log.info("Stand-in do auth-service/Auth0 em {}", baseUrl());
+        return this;
+    }
+
+    /**
+     * URL base do servidor; também é o issuer dos tokens
+     */
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Token de acesso assinado para o usuário, com as roles no claim {@code roles}
+     */
+    String issueToken(String subject, List<String> roles, Duration validity) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(baseUrl())
+                .audience(AUDIENCE)
+                .subject(subject)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(validity)))
+                .claim("roles", roles)
+                .build();
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        try {
+            jwt.sign(new RSASSASigner(signingKey));
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Falha ao assinar o token do teste de carga", e);
+        }
+        return jwt.serialize();
+    }
+
+    /**
+     * Usuários registrados pelo provisionamento de alunos desde a subida
+     */
+    long registrations() {
+        return registrations.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void register(HttpExchange exchange) throws IOException {
+        simulateLatency();
+        Map<?, ?> request;
+        try (InputStream body = exchange.getRequestBody()) {
+            request = objectMapper.readValue(body, Map.class);
+        }
+        long id = userIds.incrementAndGet();
+        registrations.incrementAndGet();
+        respond(exchange, Map.of("success", true, "data", Map.of(
+                "user", user(id, "auth0|loadtest-" + id, String.valueOf(request.get("email"))))));
+    }
+
+    private void userByAuth0Id(HttpExchange exchange) throws IOException {
+        simulateLatency();
+        Matcher matcher = USER_BY_AUTH0_ID.matcher(exchange.getRequestURI().getPath());
+        if (!matcher.matches()) {
+            respond(exchange, 404, "{\"success\":false,\"message\":\"Usuário não encontrado\"}");
+            return;
+        }
+        String auth0Id = matcher.group(1);
+        respond(exchange, Map.of("success", true,
+                "data", user(userIds.incrementAndGet(), auth0Id, auth0Id + "@loadtest.local")));
+    }
+
+    private static Map<String, Object> user(long id, String auth0Id, String email) {
+        return Map.of("id", id, "auth0Id", auth0Id, "email", email,
+                "active", true, "roles", List.of("STUDENT"));
+    }
+
+    private void simulateLatency() {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange, Object body) throws IOException {
+        respond(exchange, 200, objectMapper.writeValueAsString(body));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
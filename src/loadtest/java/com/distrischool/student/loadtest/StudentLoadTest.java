@@ -0,0 +1,140 @@
+package com.distrischool.student.loadtest;
+
+import com.distrischool.student.StudentServiceApplication;
+import com.distrischool.student.config.TestContainersConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga ponta a ponta do caminho real das requisições.
+ *
+ * Sobe o serviço completo (HTTP, segurança JWT, JPA/Flyway, caches, outbox e consumidores Kafka)
+ * contra Postgres, Redis e Kafka em Testcontainers e contra o {@link LocalAuthServer} no lugar do
+ * auth-service e do Auth0. Cadastra os alunos iniciais, aquece a JVM e mede a carga mista do
+ * {@link StudentWorkload}, publicando latências e vazão por endpoint no log e em JSON.
+ *
+ * Executar com: {@code mvn -Ploadtest test}; ajustes por propriedade de sistema:
+ * <ul>
+ *   <li>{@code loadtest.threads} (16): workers em laço fechado;</li>
+ *   <li>{@code loadtest.warmup} (30s) e {@code loadtest.duration} (60s): fases de aquecimento e medida;</li>
+ *   <li>{@code loadtest.seed-students} (500): alunos cadastrados antes do aquecimento;</li>
+ *   <li>{@code loadtest.batch-size} (50) e {@code loadtest.stream-batch-size} (500): IDs por lote;</li>
+ *   <li>{@code loadtest.auth.latency} (20ms): latência simulada do auth-service;</li>
+ *   <li>{@code loadtest.max-error-rate} (0.01): fração máxima de respostas com erro;</li>
+ *   <li>{@code loadtest.report.file} (target/loadtest-report.json): relatório JSON.</li>
+ * </ul>
+ */
+@SpringBootTest(classes = StudentServiceApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Testcontainers
+@Slf4j
+@DisplayName("StudentController - Load Test")
+class StudentLoadTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = TestContainersConfiguration.postgres;
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    @Container
+    static final KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.5.0"));
+
+    static final LocalAuthServer authServer =
+            new LocalAuthServer(duration("loadtest.auth.latency", "20ms")).start();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+        // Tokens validados pelo SecurityConfig contra o emissor local; provisionamento contra o stand-in
+        registry.add("AUTH0_ISSUER_URI", authServer::baseUrl);
+        registry.add("auth0.audience", () -> LocalAuthServer.AUDIENCE);
+        registry.add("microservice.auth.url", authServer::baseUrl);
+    }
+
+    @AfterAll
+    static void stopAuthServer() {
+        authServer.close();
+    }
+
+    @Test
+    @DisplayName("Should sustain the mixed read/write/search/batch workload")
+    void mixedWorkload() throws Exception {
+        int threads = Integer.getInteger("loadtest.threads", 16);
+        Duration warmup = duration("loadtest.warmup", "30s");
+        Duration measured = duration("loadtest.duration", "60s");
+        int seedStudents = Integer.getInteger("loadtest.seed-students", 500);
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+        Path reportFile = Path.of(System.getProperty("loadtest.report.file", "target/loadtest-report.json"));
+
+        String token = authServer.issueToken("auth0|loadtest-admin", List.of("ADMIN"),
+                warmup.plus(measured).plusHours(1));
+        StudentWorkload workload = new StudentWorkload("http://localhost:" + port, token,
+                Integer.getInteger("loadtest.batch-size", 50), Integer.getInteger("loadtest.stream-batch-size", 500));
+
+        log.info("Cadastrando {} alunos iniciais", seedStudents);
+        workload.seed(seedStudents);
+
+        log.info("Aquecimento: {} workers por {}", threads, warmup);
+        workload.run(threads, warmup);
+
+        log.info("Medindo: {} workers por {}", threads, measured);
+        long start = System.nanoTime();
+        LatencyRecorder recorder = workload.run(threads, measured);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        List<LatencyRecorder.EndpointSummary> endpoints = recorder.summarize(elapsed);
+        log.info("Resultado do teste de carga ({} workers, {}):{}",
+                threads, elapsed, LatencyRecorder.format(endpoints));
+
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("threads", threads);
+        run.put("warmupSeconds", warmup.toSeconds());
+        run.put("durationSeconds", elapsed.toMillis() / 1000.0);
+        run.put("seedStudents", seedStudents);
+        run.put("studentsAtEnd", workload.knownStudents());
+        run.put("authRegistrations", authServer.registrations());
+        LatencyRecorder.writeReport(reportFile, run, endpoints);
+        log.info("Relatório do teste de carga em {}", reportFile.toAbsolutePath());
+
+        long requests = endpoints.stream().mapToLong(LatencyRecorder.EndpointSummary::requests).sum();
+        long errors = endpoints.stream().mapToLong(LatencyRecorder.EndpointSummary::errors).sum();
+        assertThat(requests).isPositive();
+        assertThat((double) errors / requests).isLessThanOrEqualTo(maxErrorRate);
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+}
@@ -0,0 +1,361 @@
+package com.distrischool.student.loadtest;
+
+import com.distrischool.student.dto.StudentRequestDTO;
+import com.distrischool.student.entity.Student.StudentStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Carga mista sobre o {@code StudentController}: leituras, escritas, buscas e lotes.
+ *
+ * Cada {@link Operation} tem um peso; os workers de {@link #run} sorteiam a próxima operação pelos
+ * pesos e registram a latência de cada requisição num {@link LatencyRecorder}. Os alunos criados
+ * (na carga inicial e durante o teste) alimentam as leituras por ID, matrícula e lote.
+ */
+final class StudentWorkload {
+
+    private static final String BASE_PATH = "/api/v1/students";
+    private static final List<String> COURSES = List.of(
+            "Ciência da Computação", "Engenharia de Software", "Sistemas de Informação",
+            "Engenharia Elétrica", "Matemática", "Administração");
+    private static final List<String> FIRST_NAMES = List.of(
+            "Maria", "João", "Ana", "Pedro", "Juliana", "Lucas", "Fernanda", "Gabriel", "Camila", "Rafael");
+    private static final List<String> LAST_NAMES = List.of(
+            "Silva", "Santos", "Oliveira", "Souza", "Pereira", "Costa", "Rodrigues", "Almeida", "Nascimento", "Lima");
+
+    /**
+     * Operações da carga e seus pesos relativos (aprox. 85% leituras e buscas, 15% escritas)
+     */
+    enum Operation {
+        GET_BY_ID("GET /{id}", 28),
+        GET_BY_REGISTRATION("GET /registration/{n}", 8),
+        LIST_PAGE("GET / (page)", 7),
+        LIST_CURSOR("GET / (cursor)", 5),
+        SEARCH("GET /search", 8),
+        SEARCH_NAME("GET /search/name", 5),
+        SEARCH_FULLTEXT("GET /search/fulltext", 5),
+        BATCH("POST /batch", 8),
+        BATCH_STREAM("POST /batch/stream", 3),
+        STATISTICS("GET /statistics", 3),
+        CREATE("POST /", 8),
+        UPDATE("PUT /{id}", 5),
+        UPDATE_STATUS("PATCH /{id}/status", 4),
+        DELETE("DELETE /{id}", 3),
+        RESTORE("POST /{id}/restore", 0);
+
+        final String endpoint;
+        final int weight;
+
+        Operation(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+
+        private static final Operation[] VALUES = values();
+        private static final int TOTAL_WEIGHT = Arrays.stream(VALUES).mapToInt(o -> o.weight).sum();
+
+        static Operation pick(ThreadLocalRandom random) {
+            int roll = random.nextInt(TOTAL_WEIGHT);
+            for (Operation operation : VALUES) {
+                roll -= operation.weight;
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+            return GET_BY_ID;
+        }
+    }
+
+    private record KnownStudent(long id, String registrationNumber, String fullName, String cpf,
+                                String email, String course) {
+    }
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String authorization;
+    private final int batchSize;
+    private final int streamBatchSize;
+
+    /** Alunos conhecidos por posição de inserção, para sorteio uniforme */
+    private final Map<Integer, KnownStudent> students = new ConcurrentHashMap<>();
+    private final AtomicInteger studentCount = new AtomicInteger();
+    /** Base aleatória por execução, para CPFs e e-mails não colidirem com execuções anteriores no mesmo banco */
+    private final long runBase = ThreadLocalRandom.current().nextLong(100_000_000L, 800_000_000L);
+    private final AtomicLong sequence = new AtomicLong();
+
+    StudentWorkload(String baseUrl, String accessToken, int batchSize, int streamBatchSize) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        this.objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        this.baseUrl = baseUrl + BASE_PATH;
+        this.authorization = "Bearer " + accessToken;
+        this.batchSize = batchSize;
+        this.streamBatchSize = streamBatchSize;
+    }
+
+    int knownStudents() {
+        return studentCount.get();
+    }
+
+    /**
+     * Cadastra alunos antes da fase medida, sem registrar latências
+     */
+    void seed(int count) throws IOException, InterruptedException {
+        for (int i = 0; i < count; i++) {
+            HttpResponse<String> response = send(post("", newStudent()));
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Carga inicial falhou com HTTP " + response.statusCode()
+                        + ": " + response.body());
+            }
+            remember(response.body());
+        }
+    }
+
+    /**
+     * Executa a carga com {@code threads} workers em laço fechado durante {@code duration}
+     *
+     * @return latências da fase, por endpoint
+     */
+    LatencyRecorder run(int threads, Duration duration) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.execute(() -> {
+                WorkerState state = new WorkerState();
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    runOnce(state, recorder);
+                }
+            });
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(duration.toMillis() + 60_000, TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+        return recorder;
+    }
+
+    /**
+     * Executa uma operação sorteada e registra sua latência; o cursor da listagem é por worker
+     */
+    private void runOnce(WorkerState state, LatencyRecorder recorder) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Operation operation = Operation.pick(random);
+        KnownStudent target = randomStudent(random);
+        try {
+            switch (operation) {
+                case GET_BY_ID -> timed(recorder, operation, get("/" + target.id()));
+                case GET_BY_REGISTRATION ->
+                        timed(recorder, operation, get("/registration/" + target.registrationNumber()));
+                case LIST_PAGE -> timed(recorder, operation, get("?page=" + random.nextInt(10) + "&size=20"));
+                case LIST_CURSOR -> {
+                    HttpResponse<String> response = timed(recorder, operation,
+                            get("?size=20&cursor=" + encode(state.cursor)));
+                    state.cursor = response.statusCode() == 200 ? nextCursor(response.body()) : "";
+                }
+                case SEARCH -> timed(recorder, operation, get("/search?course=" + encode(target.course())
+                        + "&semester=" + (1 + random.nextInt(10)) + "&status=ACTIVE&size=20"));
+                case SEARCH_NAME ->
+                        timed(recorder, operation, get("/search/name?q=" + encode(typo(target.fullName(), random))));
+                case SEARCH_FULLTEXT -> timed(recorder, operation, get("/search/fulltext?q="
+                        + encode(prefix(target.fullName())) + "&course=" + encode(target.course())));
+                case BATCH -> timed(recorder, operation, post("/batch", randomIds(batchSize, random)));
+                case BATCH_STREAM ->
+                        timed(recorder, operation, post("/batch/stream", randomIds(streamBatchSize, random)));
+                case STATISTICS -> timed(recorder, operation, get("/statistics"));
+                case CREATE -> {
+                    HttpResponse<String> response = timed(recorder, operation, post("", newStudent()));
+                    if (response.statusCode() == 201) {
+                        remember(response.body());
+                    }
+                }
+                case UPDATE ->
+                        timed(recorder, operation, put("/" + target.id(), updatedStudent(target, random)));
+                case UPDATE_STATUS -> timed(recorder, operation, patch("/" + target.id() + "/status?status="
+                        + (random.nextBoolean() ? StudentStatus.ACTIVE : StudentStatus.SUSPENDED)));
+                case DELETE, RESTORE -> {
+                    // Remove e restaura em seguida, para o aluno continuar disponível às demais operações
+                    timed(recorder, Operation.DELETE, delete("/" + target.id()));
+                    timed(recorder, Operation.RESTORE, post("/" + target.id() + "/restore", null));
+                }
+            }
+        } catch (IOException e) {
+            recorder.record(operation.endpoint, 0, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Estado de cada worker entre operações
+     */
+    private static final class WorkerState {
+        private String cursor = "";
+    }
+
+    private HttpResponse<String> timed(LatencyRecorder recorder, Operation operation, HttpRequest request)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = send(request);
+        recorder.record(operation.endpoint, System.nanoTime() - start, response.statusCode() < 400);
+        return response;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest delete(String path) {
+        return request(path).DELETE().build();
+    }
+
+    private HttpRequest patch(String path) {
+        return request(path).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        return request(path).POST(json(body)).build();
+    }
+
+    private HttpRequest put(String path, Object body) throws IOException {
+        return request(path).PUT(json(body)).build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private void remember(String createdResponse) throws IOException {
+        JsonNode data = objectMapper.readTree(createdResponse).path("data");
+        KnownStudent student = new KnownStudent(data.path("id").asLong(), data.path("registrationNumber").asText(),
+                data.path("fullName").asText(), data.path("cpf").asText(), data.path("email").asText(),
+                data.path("course").asText());
+        students.put(studentCount.getAndIncrement(), student);
+    }
+
+    private KnownStudent randomStudent(ThreadLocalRandom random) {
+        // A posição pode estar reservada e ainda não preenchida por um cadastro concorrente
+        KnownStudent student = null;
+        while (student == null) {
+            student = students.get(random.nextInt(studentCount.get()));
+        }
+        return student;
+    }
+
+    private List<Long> randomIds(int count, ThreadLocalRandom random) {
+        return LongStream.range(0, count)
+                .map(i -> randomStudent(random).id())
+                .boxed()
+                .toList();
+    }
+
+    private String nextCursor(String body) throws IOException {
+        JsonNode page = objectMapper.readTree(body).path("data");
+        return page.path("hasNext").asBoolean() ? page.path("nextCursor").asText("") : "";
+    }
+
+    private StudentRequestDTO newStudent() {
+        long n = sequence.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String fullName = FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size())) + " "
+                + LAST_NAMES.get(random.nextInt(LAST_NAMES.size())) + " "
+                + LAST_NAMES.get(random.nextInt(LAST_NAMES.size()));
+        return StudentRequestDTO.builder()
+                .fullName(fullName)
+                .cpf(cpf(runBase + n))
+                .email("loadtest." + runBase + "." + n + "@faculdade.edu.br")
+                .phone("119" + String.format("%08d", n % 100_000_000))
+                .birthDate(LocalDate.of(1995 + random.nextInt(10), 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                .course(COURSES.get(random.nextInt(COURSES.size())))
+                .semester(1 + random.nextInt(10))
+                .enrollmentDate(LocalDate.of(2020 + random.nextInt(6), 2, 1))
+                .status(StudentStatus.ACTIVE)
+                .build();
+    }
+
+    private StudentRequestDTO updatedStudent(KnownStudent target, ThreadLocalRandom random) {
+        // O PUT substitui o cadastro: reenvia os dados do aluno, mudando semestre e observação
+        StudentRequestDTO request = newStudent();
+        request.setFullName(target.fullName());
+        request.setCourse(target.course());
+        request.setCpf(target.cpf());
+        request.setEmail(target.email());
+        request.setSemester(1 + random.nextInt(10));
+        request.setNotes("Atualizado pelo teste de carga");
+        return request;
+    }
+
+    /**
+     * CPF com dígitos verificadores válidos a partir dos 9 primeiros dígitos
+     */
+    static String cpf(long base) {
+        String digits = String.format("%09d", base % 1_000_000_000L);
+        int d1 = 0;
+        int d2 = 0;
+        for (int i = 0; i < 9; i++) {
+            int num = digits.charAt(i) - '0';
+            d1 += num * (10 - i);
+            d2 += num * (11 - i);
+        }
+        int check1 = d1 % 11 < 2 ? 0 : 11 - d1 % 11;
+        d2 += check1 * 2;
+        int check2 = d2 % 11 < 2 ? 0 : 11 - d2 % 11;
+        return digits + check1 + check2;
+    }
+
+    /**
+     * Nome com um caractere trocado, para exercitar a busca aproximada
+     */
+    private static String typo(String fullName, ThreadLocalRandom random) {
+        String firstName = fullName.split(" ")[0];
+        int position = random.nextInt(firstName.length());
+        return firstName.substring(0, position) + 'x' + firstName.substring(position + 1);
+    }
+
+    private static String prefix(String fullName) {
+        String lastName = fullName.substring(fullName.lastIndexOf(' ') + 1);
+        return lastName.substring(0, Math.min(4, lastName.length()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
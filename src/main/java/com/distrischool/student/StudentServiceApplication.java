@@ -7,6 +7,7 @@
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Aplicação principal do Student Management Service (Gestão de Alunos para Faculdade).
@@ -16,6 +17,7 @@
 @EnableFeignClients
 @EnableKafka
 @EnableCaching
+@EnableScheduling
 @ComponentScan(basePackages = "com.distrischool.student")
 public class StudentServiceApplication {
 
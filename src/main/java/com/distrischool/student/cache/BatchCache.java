@@ -0,0 +1,60 @@
+package com.distrischool.student.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Operações em lote sobre um cache: leitura de várias chaves e gravação de
+ * várias entradas com o menor número possível de idas ao Redis.
+ *
+ * Caches que não implementam a interface são atendidos chave a chave pelos
+ * métodos estáticos {@link #getAll(Cache, Collection)} e {@link #putAll(Cache, Map)}.
+ */
+public interface BatchCache {
+
+    /**
+     * Retorna apenas as chaves encontradas, associadas aos seus valores.
+     */
+    Map<Object, Object> getAll(Collection<?> keys);
+
+    void putAll(Map<?, ?> entries);
+
+    static Map<Object, Object> getAll(Cache cache, Collection<?> keys) {
+        Cache target = unwrap(cache);
+        if (target instanceof BatchCache batchCache) {
+            return batchCache.getAll(keys);
+        }
+        Map<Object, Object> found = new HashMap<>();
+        for (Object key : keys) {
+            Cache.ValueWrapper wrapper = target.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                found.put(key, wrapper.get());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Grava as entradas imediatamente, mesmo em caches transaction-aware: é usado
+     * para preencher o cache com valores lidos do banco, como o {@code get(key, loader)}.
+     */
+    static void putAll(Cache cache, Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Cache target = unwrap(cache);
+        if (target instanceof BatchCache batchCache) {
+            batchCache.putAll(entries);
+            return;
+        }
+        entries.forEach(target::put);
+    }
+
+    private static Cache unwrap(Cache cache) {
+        return cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+    }
+}
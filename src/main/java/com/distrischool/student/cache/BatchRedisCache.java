@@ -0,0 +1,93 @@
+package com.distrischool.student.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RedisCache com leitura em lote (um único MGET) e gravação em lote
+ * (SETs com TTL enviados em pipeline).
+ *
+ * Usa as mesmas chaves, serializadores e TTL do RedisCache, então as entradas
+ * são intercambiáveis com as gravadas por {@code put}/{@code get}.
+ */
+public class BatchRedisCache extends RedisCache implements BatchCache {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    protected BatchRedisCache(String name,
+                              RedisCacheWriter cacheWriter,
+                              RedisCacheConfiguration cacheConfiguration,
+                              RedisConnectionFactory connectionFactory) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        List<Object> keyList = new ArrayList<>(keys);
+        byte[][] rawKeys = new byte[keyList.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = serializeCacheKey(createCacheKey(keyList.get(i)));
+        }
+
+        List<byte[]> rawValues;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+
+        Map<Object, Object> found = new HashMap<>();
+        for (int i = 0; rawValues != null && i < rawValues.size(); i++) {
+            byte[] rawValue = rawValues.get(i);
+            if (rawValue == null) {
+                continue;
+            }
+            Object value = fromStoreValue(deserializeCacheValue(rawValue));
+            if (value != null) {
+                found.put(keyList.get(i), value);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                    if (entry.getValue() == null) {
+                        continue;
+                    }
+                    byte[] rawKey = serializeCacheKey(createCacheKey(entry.getKey()));
+                    byte[] rawValue = serializeCacheValue(toStoreValue(entry.getValue()));
+                    Duration ttl = getCacheConfiguration().getTtlFunction()
+                            .getTimeToLive(entry.getKey(), entry.getValue());
+                    Expiration expiration = ttl != null && !ttl.isZero() && !ttl.isNegative()
+                            ? Expiration.from(ttl)
+                            : Expiration.persistent();
+                    connection.stringCommands().set(rawKey, rawValue, expiration, SetOption.upsert());
+                }
+            } finally {
+                connection.closePipeline();
+            }
+        }
+    }
+}
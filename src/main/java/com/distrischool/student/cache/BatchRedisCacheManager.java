@@ -0,0 +1,37 @@
+package com.distrischool.student.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.Map;
+
+/**
+ * RedisCacheManager que cria {@link BatchRedisCache}s (com MGET e SET em pipeline).
+ *
+ * Não é transaction-aware: ver {@link FailoverCacheManager}.
+ */
+public class BatchRedisCacheManager extends RedisCacheManager {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public BatchRedisCacheManager(RedisConnectionFactory connectionFactory,
+                                  RedisCacheConfiguration defaultCacheConfiguration,
+                                  Map<String, RedisCacheConfiguration> initialCacheConfigurations) {
+        super(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), defaultCacheConfiguration,
+                true, initialCacheConfigurations);
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+        return new BatchRedisCache(name, getCacheWriter(), resolveCacheConfiguration(cacheConfiguration),
+                connectionFactory);
+    }
+
+    private RedisCacheConfiguration resolveCacheConfiguration(RedisCacheConfiguration cacheConfiguration) {
+        return cacheConfiguration != null ? cacheConfiguration : getDefaultCacheConfiguration();
+    }
+}
@@ -0,0 +1,57 @@
+package com.distrischool.student.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.OptionalLong;
+
+/**
+ * Cache em memória usado como fallback quando o Redis não está disponível.
+ *
+ * Diferente do ConcurrentMapCacheManager, cada cache é limitado por tamanho e
+ * TTL (ver {@link CacheSettings}), usa a política de despejo por frequência do
+ * Caffeine (W-TinyLFU) e publica estatísticas no Micrometer com a tag
+ * {@code tier=fallback}: hits, misses, evictions, tamanho e tamanho ponderado.
+ */
+public class BoundedLocalCacheManager extends CaffeineCacheManager {
+
+    static final String FALLBACK_TIER = "fallback";
+
+    private final CacheSettings cacheSettings;
+    private final MeterRegistry meterRegistry;
+
+    public BoundedLocalCacheManager(CacheSettings cacheSettings, MeterRegistry meterRegistry) {
+        this.cacheSettings = cacheSettings;
+        this.meterRegistry = meterRegistry;
+        setAllowNullValues(false);
+        setCacheNames(cacheSettings.all().stream().map(CacheSettings.Spec::getName).toList());
+    }
+
+    @Override
+    protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createNativeCaffeineCache(String name) {
+        CacheSettings.Spec spec = cacheSettings.get(name);
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getTimeToLive())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, nativeCache, name, TwoLevelCache.TIER_TAG, FALLBACK_TIER);
+        Gauge.builder("cache.weighted.size", nativeCache, BoundedLocalCacheManager::weightedSize)
+                .tags("cache", name, TwoLevelCache.TIER_TAG, FALLBACK_TIER)
+                .description("Tamanho ponderado das entradas no cache em memória")
+                .register(meterRegistry);
+        return nativeCache;
+    }
+
+    private static double weightedSize(com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        // Sem weigher configurado o Caffeine não mantém peso: usa o número de entradas
+        OptionalLong weighted = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize())
+                .orElse(OptionalLong.empty());
+        return weighted.isPresent() ? weighted.getAsLong() : cache.estimatedSize();
+    }
+}
@@ -0,0 +1,90 @@
+package com.distrischool.student.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canal de invalidação do cache local (L1) entre instâncias via Redis pub/sub.
+ *
+ * Cada escrita em um {@link TwoLevelCache} publica uma mensagem no canal; as demais
+ * instâncias removem a chave do seu L1 ao recebê-la. Mensagens originadas pela própria
+ * instância são ignoradas.
+ *
+ * Formato da mensagem: {@code <instanceId>|<cacheName>|<E|C>|<key>}
+ * (E = remoção de uma chave, C = limpeza do cache inteiro).
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    private static final String SEPARATOR = "|";
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    void register(TwoLevelCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(String.join(SEPARATOR, instanceId, cacheName, EVICT, key));
+    }
+
+    void publishClear(String cacheName) {
+        publish(String.join(SEPARATOR, instanceId, cacheName, CLEAR, ""));
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            // A escrita no Redis (L2) já foi feita; as demais instâncias convergem pelo TTL do L1
+            log.warn("Falha ao publicar invalidação de cache no canal {}: {}", channel, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\" + SEPARATOR, 4);
+        if (parts.length < 4) {
+            log.warn("Mensagem de invalidação de cache inválida ignorada: {}", body);
+            return;
+        }
+        if (instanceId.equals(parts[0])) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+
+        if (CLEAR.equals(parts[2])) {
+            log.debug("Invalidação remota recebida - limpando L1 do cache '{}'", parts[1]);
+            cache.clearLocal();
+        } else {
+            log.debug("Invalidação remota recebida - cache '{}', chave {}", parts[1], parts[3]);
+            cache.evictLocal(parts[3]);
+        }
+    }
+}
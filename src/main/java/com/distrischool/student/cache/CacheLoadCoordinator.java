@@ -0,0 +1,221 @@
+package com.distrischool.student.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Proteção contra cache stampede para o {@link TwoLevelCache}.
+ *
+ * <ul>
+ *   <li><b>Single-flight</b>: uma única carga por chave nesta JVM; as demais threads
+ *       aguardam o resultado da carga em andamento.</li>
+ *   <li><b>Lease no Redis</b> (opcional): entre pods, apenas quem obtém o lease consulta
+ *       o banco; os demais aguardam o valor aparecer no Redis até um tempo limite.</li>
+ *   <li><b>Refresh antecipado probabilístico</b> (XFetch): pouco antes do TTL expirar,
+ *       uma leitura pode disparar a recarga em background, com probabilidade que cresce
+ *       conforme a expiração se aproxima e o custo da carga aumenta.</li>
+ * </ul>
+ */
+@Slf4j
+public class CacheLoadCoordinator implements DisposableBean {
+
+    private static final String LEASE_PREFIX = "cache-lease::";
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final StringRedisTemplate leaseRedisTemplate;
+    private final Duration leaseTimeToLive;
+    private final Duration leaseWaitTimeout;
+    private final Duration leasePollInterval;
+    private final double earlyRefreshBeta;
+    private final String ownerId = UUID.randomUUID().toString();
+    private final ExecutorService refreshExecutor;
+
+    /**
+     * @param leaseRedisTemplate template para o lease entre pods; {@code null} desabilita o lease
+     * @param earlyRefreshBeta   fator do XFetch; 0 desabilita o refresh antecipado
+     */
+    public CacheLoadCoordinator(StringRedisTemplate leaseRedisTemplate,
+                                Duration leaseTimeToLive,
+                                Duration leaseWaitTimeout,
+                                double earlyRefreshBeta) {
+        this.leaseRedisTemplate = leaseRedisTemplate;
+        this.leaseTimeToLive = leaseTimeToLive;
+        this.leaseWaitTimeout = leaseWaitTimeout;
+        this.leasePollInterval = Duration.ofMillis(Math.max(10, leaseWaitTimeout.toMillis() / 20));
+        this.earlyRefreshBeta = earlyRefreshBeta;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(1, 2, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(1000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Coordenador sem lease entre pods e sem refresh antecipado (apenas single-flight).
+     */
+    public static CacheLoadCoordinator singleFlightOnly() {
+        return new CacheLoadCoordinator(null, Duration.ZERO, Duration.ZERO, 0);
+    }
+
+    /**
+     * Executa o loader uma única vez por chave; chamadas concorrentes para a mesma
+     * chave recebem o mesmo resultado (ou a mesma exceção).
+     */
+    public Object load(String flightKey, Supplier<Object> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            Object value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * Indica se uma recarga de chave já está em andamento nesta JVM.
+     */
+    boolean isLoading(String flightKey) {
+        return inFlight.containsKey(flightKey);
+    }
+
+    /**
+     * XFetch: decide se a entrada deve ser recarregada antes de expirar.
+     *
+     * @param expiresAtMillis instante de expiração da entrada no cache compartilhado
+     * @param loadNanos       tempo gasto na última carga da entrada
+     */
+    public boolean shouldRefreshEarly(long expiresAtMillis, long loadNanos) {
+        if (earlyRefreshBeta <= 0) {
+            return false;
+        }
+        double deltaMillis = loadNanos / 1_000_000.0;
+        double random = ThreadLocalRandom.current().nextDouble();
+        // -ln(random) >= 0: quanto mais próximo da expiração, maior a chance de recarregar
+        double gap = -deltaMillis * earlyRefreshBeta * Math.log(random == 0 ? Double.MIN_VALUE : random);
+        return System.currentTimeMillis() + gap >= expiresAtMillis;
+    }
+
+    /**
+     * Recarrega a chave em background, sem duplicar uma carga já em andamento.
+     */
+    public void refreshAsync(String flightKey, Supplier<Object> loader) {
+        if (isLoading(flightKey)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                load(flightKey, loader);
+            } catch (Exception e) {
+                log.warn("Falha no refresh antecipado da chave {}: {}", flightKey, e.getMessage());
+            }
+        });
+    }
+
+    public boolean isLeaseEnabled() {
+        return leaseRedisTemplate != null;
+    }
+
+    /**
+     * Tenta obter o lease de carga da chave entre pods. Sem lease configurado, ou se o
+     * Redis falhar, retorna {@code true} (a carga segue localmente).
+     */
+    public boolean tryAcquireLease(String key) {
+        if (!isLeaseEnabled()) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(leaseRedisTemplate.opsForValue()
+                    .setIfAbsent(LEASE_PREFIX + key, ownerId, leaseTimeToLive));
+        } catch (Exception e) {
+            log.warn("Falha ao obter lease de carga para {}: {}", key, e.getMessage());
+            return true;
+        }
+    }
+
+    public void releaseLease(String key) {
+        if (!isLeaseEnabled()) {
+            return;
+        }
+        try {
+            leaseRedisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_PREFIX + key), ownerId);
+        } catch (Exception e) {
+            // O lease expira sozinho pelo TTL
+            log.debug("Falha ao liberar lease de carga para {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Aguarda outro pod (dono do lease) publicar o valor no cache compartilhado.
+     *
+     * @return o valor encontrado, ou {@code null} se o tempo limite expirar
+     */
+    public Object awaitValue(Supplier<Object> lookup) {
+        long deadline = System.nanoTime() + leaseWaitTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(leasePollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            Object value = lookup.get();
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private static Object join(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
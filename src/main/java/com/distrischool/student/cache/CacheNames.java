@@ -0,0 +1,20 @@
+package com.distrischool.student.cache;
+
+/**
+ * Nomes dos caches do serviço de alunos.
+ *
+ * Cada forma de chave tem o seu próprio namespace: o cache de alunos é indexado
+ * pelo ID numérico e o índice de matrículas mapeia o número de matrícula para o ID,
+ * de modo que cada aluno é armazenado uma única vez.
+ */
+public final class CacheNames {
+
+    /** ID do aluno (Long) -> StudentResponseDTO */
+    public static final String STUDENTS = "students";
+
+    /** Número de matrícula (String) -> ID do aluno (Long) */
+    public static final String STUDENT_REGISTRATIONS = "student-registrations";
+
+    private CacheNames() {
+    }
+}
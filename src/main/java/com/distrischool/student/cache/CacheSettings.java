@@ -0,0 +1,56 @@
+package com.distrischool.student.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * TTL e tamanho máximo de cada cache, compartilhados pelas configurações
+ * do Redis e do cache em memória de fallback.
+ */
+@Component
+public class CacheSettings {
+
+    @Value("${microservice.cache.students.time-to-live:10m}")
+    private Duration studentsTimeToLive;
+
+    @Value("${microservice.cache.students.maximum-size:10000}")
+    private long studentsMaximumSize;
+
+    @Value("${microservice.cache.student-registrations.time-to-live:1h}")
+    private Duration registrationsTimeToLive;
+
+    @Value("${microservice.cache.student-registrations.maximum-size:20000}")
+    private long registrationsMaximumSize;
+
+    public List<Spec> all() {
+        return List.of(
+                new Spec(CacheNames.STUDENTS, studentsTimeToLive, studentsMaximumSize),
+                new Spec(CacheNames.STUDENT_REGISTRATIONS, registrationsTimeToLive, registrationsMaximumSize));
+    }
+
+    /**
+     * Retorna as configurações do cache informado, ou as do cache de alunos
+     * para caches criados dinamicamente.
+     */
+    public Spec get(String cacheName) {
+        return all().stream()
+                .filter(spec -> spec.getName().equals(cacheName))
+                .findFirst()
+                .orElse(new Spec(cacheName, studentsTimeToLive, studentsMaximumSize));
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Spec {
+        private final String name;
+        /** TTL da entrada no cache compartilhado (Redis) ou no fallback local */
+        private final Duration timeToLive;
+        /** Número máximo de entradas mantidas em memória (L1 ou fallback) */
+        private final long maximumSize;
+    }
+}
@@ -0,0 +1,142 @@
+package com.distrischool.student.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Cache que delega ao Redis (ou ao cache de dois níveis) e, em caso de falha de
+ * conexão ou timeout, passa a delegar ao cache em memória.
+ *
+ * Ver {@link FailoverCacheManager}.
+ */
+class FailoverCache implements Cache, BatchCache {
+
+    private final Cache primary;
+    private final Cache fallback;
+    private final FailoverCacheManager cacheManager;
+
+    FailoverCache(Cache primary, Cache fallback, FailoverCacheManager cacheManager) {
+        this.primary = primary;
+        this.fallback = fallback;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return primary.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return primary.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return execute(cache -> cache.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return execute(cache -> cache.get(key, type));
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Se o Redis cair depois da carga (na gravação), o fallback reaproveita o valor já carregado
+        Callable<T> loadOnce = new LoadOnce<>(valueLoader);
+        return execute(cache -> cache.get(key, loadOnce));
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        return execute(cache -> BatchCache.getAll(cache, keys));
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        execute(cache -> {
+            BatchCache.putAll(cache, entries);
+            return null;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        execute(cache -> {
+            cache.put(key, value);
+            return null;
+        });
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return execute(cache -> cache.putIfAbsent(key, value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        execute(cache -> {
+            cache.evict(key);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return execute(cache -> cache.evictIfPresent(key));
+    }
+
+    @Override
+    public void clear() {
+        execute(cache -> {
+            cache.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public boolean invalidate() {
+        return execute(Cache::invalidate);
+    }
+
+    private <T> T execute(Function<Cache, T> operation) {
+        if (cacheManager.isPrimaryAvailable()) {
+            try {
+                return operation.apply(primary);
+            } catch (RedisConnectionFailureException | QueryTimeoutException e) {
+                cacheManager.markPrimaryUnavailable(e);
+            }
+        }
+        return operation.apply(fallback);
+    }
+
+    /**
+     * Loader executado no máximo uma vez por chamada, mesmo que a operação seja repetida no fallback
+     */
+    private static final class LoadOnce<T> implements Callable<T> {
+
+        private final Callable<T> loader;
+        private boolean loaded;
+        private T value;
+
+        LoadOnce(Callable<T> loader) {
+            this.loader = loader;
+        }
+
+        @Override
+        public synchronized T call() throws Exception {
+            if (!loaded) {
+                value = loader.call();
+                loaded = true;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.distrischool.student.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * CacheManager que usa o Redis enquanto ele responde e troca para o cache em
+ * memória ({@link BoundedLocalCacheManager}) assim que uma operação falha por
+ * conexão ou timeout.
+ *
+ * Enquanto o fallback está ativo, uma verificação periódica (PING) testa o Redis;
+ * quando ele volta, os caches do Redis e do fallback são limpos antes da troca,
+ * pois as remoções feitas durante a queda não chegaram ao Redis e ele pode conter
+ * dados desatualizados.
+ *
+ * Os gerenciadores internos não devem ser transaction-aware: a sincronização com
+ * a transação é feita aqui, uma única vez.
+ */
+@Slf4j
+public class FailoverCacheManager extends AbstractTransactionSupportingCacheManager implements DisposableBean {
+
+    private final CacheManager primaryCacheManager;
+    private final CacheManager fallbackCacheManager;
+    private final RedisConnectionFactory connectionFactory;
+    private final AtomicBoolean primaryAvailable = new AtomicBoolean(true);
+    private final ScheduledExecutorService probeExecutor;
+
+    private final Counter switchesToFallback;
+    private final Counter switchesToPrimary;
+
+    public FailoverCacheManager(CacheManager primaryCacheManager,
+                                CacheManager fallbackCacheManager,
+                                RedisConnectionFactory connectionFactory,
+                                Duration probeInterval,
+                                MeterRegistry meterRegistry) {
+        this.primaryCacheManager = primaryCacheManager;
+        this.fallbackCacheManager = fallbackCacheManager;
+        this.connectionFactory = connectionFactory;
+
+        Gauge.builder("cache.failover.active", primaryAvailable, available -> available.get() ? 0 : 1)
+                .description("1 quando o cache em memória está sendo usado no lugar do Redis")
+                .register(meterRegistry);
+        this.switchesToFallback = Counter.builder("cache.failover.switches")
+                .tag("target", BoundedLocalCacheManager.FALLBACK_TIER)
+                .description("Número de trocas entre o Redis e o cache em memória")
+                .register(meterRegistry);
+        this.switchesToPrimary = Counter.builder("cache.failover.switches")
+                .tag("target", "redis")
+                .description("Número de trocas entre o Redis e o cache em memória")
+                .register(meterRegistry);
+
+        this.probeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-failover-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = probeInterval.toMillis();
+        probeExecutor.scheduleWithFixedDelay(this::checkPrimary, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        for (String name : primaryCacheManager.getCacheNames()) {
+            Cache cache = getMissingCache(name);
+            if (cache != null) {
+                caches.add(cache);
+            }
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache primary = primaryCacheManager.getCache(name);
+        Cache fallback = fallbackCacheManager.getCache(name);
+        if (primary == null || fallback == null) {
+            return null;
+        }
+        return new FailoverCache(primary, fallback, this);
+    }
+
+    public boolean isPrimaryAvailable() {
+        return primaryAvailable.get();
+    }
+
+    /**
+     * Passa a atender pelo cache em memória até a próxima verificação bem-sucedida do Redis.
+     */
+    void markPrimaryUnavailable(RuntimeException cause) {
+        if (primaryAvailable.compareAndSet(true, false)) {
+            switchesToFallback.increment();
+            log.warn("Redis indisponível ({}). Usando cache em memória como fallback até a conexão voltar.",
+                    cause.getMessage());
+        }
+    }
+
+    /**
+     * Verifica se o Redis voltou e, nesse caso, volta a usá-lo.
+     */
+    void checkPrimary() {
+        if (primaryAvailable.get()) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+        } catch (Exception e) {
+            log.debug("Redis ainda indisponível: {}", e.getMessage());
+            return;
+        }
+
+        try {
+            for (String name : getCacheNames()) {
+                Cache primary = primaryCacheManager.getCache(name);
+                if (primary != null) {
+                    primary.clear();
+                }
+                Cache fallback = fallbackCacheManager.getCache(name);
+                if (fallback != null) {
+                    fallback.clear();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Redis respondeu ao PING, mas a limpeza dos caches falhou: {}", e.getMessage());
+            return;
+        }
+
+        if (primaryAvailable.compareAndSet(false, true)) {
+            switchesToPrimary.increment();
+            log.info("Conexão com o Redis restabelecida. Caches limpos e Redis reativado.");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        probeExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,320 @@
+package com.distrischool.student.cache;
+
+import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.entity.Student.StudentStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Serializador binário dos valores do cache de alunos no Redis.
+ *
+ * Formato: {@code [MAGIC][VERSION][FLAGS][payload]}. O payload traz uma máscara de
+ * campos presentes seguida apenas dos campos não nulos, na ordem fixa do
+ * {@link StudentResponseDTO}; datas são gravadas como números e não há metadados
+ * de tipo como no JSON. Payloads acima do limite configurado são comprimidos (Deflate).
+ *
+ * Compatibilidade em rolling upgrades:
+ * <ul>
+ *   <li>valores sem o byte MAGIC (JSON gravado por versões anteriores) são lidos
+ *       pelo serializador de fallback;</li>
+ *   <li>valores com VERSION desconhecida são tratados como cache miss, e a entrada
+ *       é recarregada do banco e regravada no formato desta instância;</li>
+ *   <li>com {@link #jsonWriter}, a instância grava JSON mas já lê o binário, para que o
+ *       leitor chegue a todos os pods antes de algum deles passar a gravar binário.</li>
+ * </ul>
+ * Qualquer mudança na ordem ou no tipo dos campos exige incrementar {@link #VERSION}.
+ */
+@Slf4j
+public class StudentBinarySerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xD5;
+    static final byte VERSION = 1;
+    static final byte FLAG_DEFLATED = 0x01;
+
+    private static final int HEADER_SIZE = 3;
+
+    private final RedisSerializer<Object> fallbackSerializer;
+    private final int compressionThreshold;
+    private final boolean writeBinary;
+
+    /**
+     * @param fallbackSerializer   usado para valores que não são alunos e para ler entradas antigas
+     * @param compressionThreshold tamanho mínimo do payload (em bytes) para comprimir; 0 ou negativo desabilita
+     */
+    public StudentBinarySerializer(RedisSerializer<Object> fallbackSerializer, int compressionThreshold) {
+        this(fallbackSerializer, compressionThreshold, true);
+    }
+
+    private StudentBinarySerializer(RedisSerializer<Object> fallbackSerializer, int compressionThreshold,
+                                    boolean writeBinary) {
+        this.fallbackSerializer = fallbackSerializer;
+        this.compressionThreshold = compressionThreshold;
+        this.writeBinary = writeBinary;
+    }
+
+    /**
+     * Grava tudo pelo serializador JSON, mas lê tanto JSON quanto binário
+     */
+    public static StudentBinarySerializer jsonWriter(RedisSerializer<Object> jsonSerializer) {
+        return new StudentBinarySerializer(jsonSerializer, 0, false);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (!writeBinary || !(value instanceof StudentResponseDTO student)) {
+            return fallbackSerializer.serialize(value);
+        }
+        try {
+            byte[] payload = writePayload(student);
+            byte flags = 0;
+            if (compressionThreshold > 0 && payload.length >= compressionThreshold) {
+                payload = deflate(payload);
+                flags |= FLAG_DEFLATED;
+            }
+            byte[] bytes = new byte[HEADER_SIZE + payload.length];
+            bytes[0] = MAGIC;
+            bytes[1] = VERSION;
+            bytes[2] = flags;
+            System.arraycopy(payload, 0, bytes, HEADER_SIZE, payload.length);
+            return bytes;
+        } catch (IOException e) {
+            throw new SerializationException("Falha ao serializar aluno em formato binário", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallbackSerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_SIZE || bytes[1] != VERSION) {
+            log.debug("Versão {} do formato binário não suportada; tratando como cache miss",
+                    bytes.length > 1 ? bytes[1] : "?");
+            return null;
+        }
+        try {
+            boolean deflated = (bytes[2] & FLAG_DEFLATED) != 0;
+            byte[] payload = deflated
+                    ? inflate(bytes, HEADER_SIZE)
+                    : Arrays.copyOfRange(bytes, HEADER_SIZE, bytes.length);
+            return readPayload(payload);
+        } catch (IOException | DataFormatException e) {
+            throw new SerializationException("Falha ao desserializar aluno em formato binário", e);
+        }
+    }
+
+    private static byte[] writePayload(StudentResponseDTO s) throws IOException {
+        Object[] fields = {
+                s.getId(), s.getFullName(), s.getCpf(), s.getEmail(), s.getPhone(),
+                s.getBirthDate(), s.getAge(), s.getRegistrationNumber(), s.getCourse(), s.getSemester(),
+                s.getEnrollmentDate(), s.getStatus() != null ? s.getStatus().name() : null,
+                s.getAddressStreet(), s.getAddressNumber(), s.getAddressComplement(), s.getAddressNeighborhood(),
+                s.getAddressCity(), s.getAddressState(), s.getAddressZipcode(),
+                s.getEmergencyContactName(), s.getEmergencyContactPhone(), s.getEmergencyContactRelationship(),
+                s.getNotes(), s.getCreatedAt(), s.getUpdatedAt(), s.getCreatedBy(), s.getUpdatedBy()
+        };
+
+        int presence = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                presence |= 1 << i;
+            }
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeInt(presence);
+        for (Object field : fields) {
+            if (field == null) {
+                continue;
+            }
+            if (field instanceof String text) {
+                byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, utf8.length);
+                out.write(utf8);
+            } else if (field instanceof Long number) {
+                out.writeLong(number);
+            } else if (field instanceof Integer number) {
+                writeVarInt(out, number);
+            } else if (field instanceof LocalDate date) {
+                writeVarInt(out, (int) date.toEpochDay());
+            } else if (field instanceof LocalDateTime dateTime) {
+                out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+                writeVarInt(out, dateTime.getNano());
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    private static StudentResponseDTO readPayload(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int presence = in.readInt();
+        FieldReader reader = new FieldReader(in, presence);
+
+        return StudentResponseDTO.builder()
+                .id(reader.nextLong())
+                .fullName(reader.nextString())
+                .cpf(reader.nextString())
+                .email(reader.nextString())
+                .phone(reader.nextString())
+                .birthDate(reader.nextDate())
+                .age(reader.nextInt())
+                .registrationNumber(reader.nextString())
+                .course(reader.nextString())
+                .semester(reader.nextInt())
+                .enrollmentDate(reader.nextDate())
+                .status(reader.nextStatus())
+                .addressStreet(reader.nextString())
+                .addressNumber(reader.nextString())
+                .addressComplement(reader.nextString())
+                .addressNeighborhood(reader.nextString())
+                .addressCity(reader.nextString())
+                .addressState(reader.nextString())
+                .addressZipcode(reader.nextString())
+                .emergencyContactName(reader.nextString())
+                .emergencyContactPhone(reader.nextString())
+                .emergencyContactRelationship(reader.nextString())
+                .notes(reader.nextString())
+                .createdAt(reader.nextDateTime())
+                .updatedAt(reader.nextDateTime())
+                .createdBy(reader.nextString())
+                .updatedBy(reader.nextString())
+                .build();
+    }
+
+    private static byte[] deflate(byte[] payload) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 2 + 16);
+            // Tamanho original no início, para o inflate alocar o buffer exato
+            out.write(payload.length >>> 24);
+            out.write(payload.length >>> 16);
+            out.write(payload.length >>> 8);
+            out.write(payload.length);
+            byte[] chunk = new byte[512];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(chunk);
+                out.write(chunk, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset) throws DataFormatException {
+        int originalLength = ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset + 4, bytes.length - offset - 4);
+            byte[] payload = new byte[originalLength];
+            int read = 0;
+            while (read < originalLength && !inflater.finished()) {
+                int length = inflater.inflate(payload, read, originalLength - read);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Payload comprimido truncado");
+                }
+                read += length;
+            }
+            return payload;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        // ZigZag para que números negativos pequenos também ocupem poucos bytes
+        int zigZag = (value << 1) ^ (value >> 31);
+        while ((zigZag & ~0x7F) != 0) {
+            out.writeByte((zigZag & 0x7F) | 0x80);
+            zigZag >>>= 7;
+        }
+        out.writeByte(zigZag);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int zigZag = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            zigZag |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    /**
+     * Lê os campos na ordem do payload, consultando a máscara de presença.
+     */
+    private static final class FieldReader {
+
+        private final DataInputStream in;
+        private final int presence;
+        private int index;
+
+        private FieldReader(DataInputStream in, int presence) {
+            this.in = in;
+            this.presence = presence;
+        }
+
+        private boolean nextPresent() {
+            return (presence & (1 << index++)) != 0;
+        }
+
+        String nextString() throws IOException {
+            if (!nextPresent()) {
+                return null;
+            }
+            byte[] utf8 = new byte[readVarInt(in)];
+            in.readFully(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        StudentStatus nextStatus() throws IOException {
+            String status = nextString();
+            return status != null ? StudentStatus.valueOf(status) : null;
+        }
+
+        Long nextLong() throws IOException {
+            return nextPresent() ? in.readLong() : null;
+        }
+
+        Integer nextInt() throws IOException {
+            return nextPresent() ? readVarInt(in) : null;
+        }
+
+        LocalDate nextDate() throws IOException {
+            return nextPresent() ? LocalDate.ofEpochDay(readVarInt(in)) : null;
+        }
+
+        LocalDateTime nextDateTime() throws IOException {
+            if (!nextPresent()) {
+                return null;
+            }
+            long epochSecond = in.readLong();
+            return LocalDateTime.ofEpochSecond(epochSecond, readVarInt(in), ZoneOffset.UTC);
+        }
+    }
+}
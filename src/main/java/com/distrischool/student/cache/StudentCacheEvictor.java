@@ -0,0 +1,67 @@
+package com.distrischool.student.cache;
+
+import com.distrischool.student.metrics.StudentMetricsRecorder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remoção direcionada das entradas de um aluno nos caches de consulta.
+ *
+ * Substitui o {@code @CacheEvict(allEntries = true)}: apenas as chaves do aluno
+ * alterado (ID em {@link CacheNames#STUDENTS} e número de matrícula em
+ * {@link CacheNames#STUDENT_REGISTRATIONS}) são removidas, e somente depois do
+ * commit da transação, para que nenhuma leitura concorrente recoloque no cache o
+ * estado anterior à escrita.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StudentCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final StudentMetricsRecorder metricsRecorder;
+
+    /**
+     * Agenda a remoção das chaves do aluno para depois do commit da transação atual.
+     * Fora de uma transação, a remoção é feita imediatamente.
+     */
+    public void evictAfterCommit(String operation, Long studentId, String registrationNumber) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictStudent(operation, studentId, registrationNumber);
+                }
+            });
+        } else {
+            evictStudent(operation, studentId, registrationNumber);
+        }
+    }
+
+    private void evictStudent(String operation, Long studentId, String registrationNumber) {
+        int evicted = evictKey(CacheNames.STUDENTS, studentId)
+                + evictKey(CacheNames.STUDENT_REGISTRATIONS, registrationNumber);
+        log.debug("{} chave(s) removida(s) do cache após {} do aluno ID={}", evicted, operation, studentId);
+        metricsRecorder.recordCacheEviction(operation, evicted);
+    }
+
+    private int evictKey(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || key == null) {
+            return 0;
+        }
+        try {
+            // evictIfPresent é imediato mesmo em caches transaction-aware
+            return cache.evictIfPresent(key) ? 1 : 0;
+        } catch (Exception e) {
+            // A escrita já foi confirmada; a entrada antiga expira pelo TTL
+            log.warn("Falha ao remover a chave {} do cache '{}': {}", key, cacheName, e.getMessage());
+            return 0;
+        }
+    }
+}
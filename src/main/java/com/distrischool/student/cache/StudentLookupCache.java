@@ -0,0 +1,99 @@
+package com.distrischool.student.cache;
+
+import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.metrics.StudentMetricsRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Acesso programático aos caches de consulta de alunos.
+ *
+ * A busca por matrícula resolve primeiro o ID no índice de matrículas e depois
+ * reaproveita a entrada do cache de alunos indexada pelo ID, a mesma preenchida
+ * por {@code getStudentById}.
+ *
+ * A busca em lote lê todas as chaves do cache de alunos de uma vez (L1 e um único
+ * MGET no Redis), consulta o banco apenas para os IDs ausentes e grava esses
+ * alunos de volta em lote.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentLookupCache {
+
+    private final CacheManager cacheManager;
+    private final StudentMetricsRecorder metricsRecorder;
+
+    public Long resolveId(String registrationNumber, Callable<Long> loader) {
+        return getOrLoad(CacheNames.STUDENT_REGISTRATIONS, registrationNumber, loader);
+    }
+
+    public StudentResponseDTO getById(Long id, Callable<StudentResponseDTO> loader) {
+        return getOrLoad(CacheNames.STUDENTS, id, loader);
+    }
+
+    /**
+     * Retorna os alunos encontrados, indexados pelo ID. IDs inexistentes ficam de fora.
+     *
+     * @param loader carrega do banco os alunos dos IDs que não estavam no cache
+     */
+    public Map<Long, StudentResponseDTO> getAllByIds(Collection<Long> ids,
+                                                    Function<List<Long>, List<StudentResponseDTO>> loader) {
+        Map<Long, StudentResponseDTO> found = new HashMap<>();
+        Cache cache = cacheManager.getCache(CacheNames.STUDENTS);
+        if (cache != null) {
+            BatchCache.getAll(cache, ids).forEach((key, value) -> {
+                if (value instanceof StudentResponseDTO student) {
+                    found.put((Long) key, student);
+                }
+            });
+        }
+        int hits = found.size();
+
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            if (!found.containsKey(id)) {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<Long, StudentResponseDTO> loaded = new HashMap<>();
+            for (StudentResponseDTO student : loader.apply(misses)) {
+                loaded.put(student.getId(), student);
+            }
+            if (cache != null) {
+                BatchCache.putAll(cache, loaded);
+            }
+            found.putAll(loaded);
+        }
+
+        metricsRecorder.recordBatchCacheLookup(ids.size(), hits);
+        return found;
+    }
+
+    private <T> T getOrLoad(String cacheName, Object key, Callable<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        try {
+            return cache != null ? cache.get(key, loader) : loader.call();
+        } catch (Cache.ValueRetrievalException e) {
+            // Propaga as exceções de negócio (ex: ResourceNotFoundException) lançadas pelo loader
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao carregar valor do cache '" + cacheName + "'", e);
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.distrischool.student.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache de dois níveis: um L1 local, limitado por tamanho e TTL (Caffeine),
+ * na frente do L2 compartilhado (Redis).
+ *
+ * Leituras consultam primeiro o L1 e só vão ao Redis em caso de miss, evitando
+ * a ida à rede e a desserialização para chaves quentes. Escritas e remoções são
+ * aplicadas nos dois níveis e propagadas às demais instâncias pelo
+ * {@link CacheInvalidationBus}.
+ *
+ * As chaves do L1 são normalizadas para String, da mesma forma que o RedisCache
+ * faz para o L2, para que as invalidações remotas encontrem a mesma chave.
+ *
+ * Cargas via {@link #get(Object, Callable)} passam pelo {@link CacheLoadCoordinator}
+ * (single-flight por chave, lease opcional entre pods e refresh antecipado).
+ */
+@Slf4j
+public class TwoLevelCache implements Cache, BatchCache {
+
+    static final String TIER_TAG = "tier";
+
+    private final String name;
+    private final Cache remote;
+    private final Duration remoteTimeToLive;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheLoadCoordinator loadCoordinator;
+
+    /** Instante de expiração no L2 e custo da última carga feita por esta instância (para o XFetch) */
+    private final com.github.benmanes.caffeine.cache.Cache<String, LoadStamp> loadStamps;
+
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteEvictions;
+    private final Counter leaseWaitHits;
+    private final Counter earlyRefreshes;
+
+    public TwoLevelCache(String name,
+                         Cache remote,
+                         Duration remoteTimeToLive,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         CacheInvalidationBus invalidationBus,
+                         CacheLoadCoordinator loadCoordinator,
+                         MeterRegistry meterRegistry) {
+        this.name = name;
+        this.remote = remote;
+        this.remoteTimeToLive = remoteTimeToLive;
+        this.local = local;
+        this.invalidationBus = invalidationBus;
+        this.loadCoordinator = loadCoordinator;
+        this.loadStamps = Caffeine.newBuilder()
+                .maximumSize(local.policy().eviction()
+                        .map(eviction -> eviction.getMaximum())
+                        .orElse(10_000L))
+                .expireAfterWrite(remoteTimeToLive)
+                .build();
+
+        // Métricas do L1 (hits, misses, evictions, size) vêm direto das estatísticas do Caffeine
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, TIER_TAG, "l1");
+
+        this.remoteHits = Counter.builder("cache.gets")
+                .tags("cache", name, TIER_TAG, "l2", "result", "hit")
+                .description("Número de leituras no cache remoto que encontraram valor")
+                .register(meterRegistry);
+        this.remoteMisses = Counter.builder("cache.gets")
+                .tags("cache", name, TIER_TAG, "l2", "result", "miss")
+                .description("Número de leituras no cache remoto que não encontraram valor")
+                .register(meterRegistry);
+        this.remoteEvictions = Counter.builder("cache.evictions")
+                .tags("cache", name, TIER_TAG, "l2")
+                .description("Número de remoções explícitas no cache remoto")
+                .register(meterRegistry);
+        this.leaseWaitHits = Counter.builder("cache.stampede.protection")
+                .tags("cache", name, "action", "lease_wait_hit")
+                .description("Cargas evitadas aguardando o valor publicado pelo pod dono do lease")
+                .register(meterRegistry);
+        this.earlyRefreshes = Counter.builder("cache.stampede.protection")
+                .tags("cache", name, "action", "early_refresh")
+                .description("Recargas antecipadas disparadas antes da expiração da entrada")
+                .register(meterRegistry);
+
+        if (invalidationBus != null) {
+            invalidationBus.register(this);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+
+        ValueWrapper wrapper = getRemote(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(localKey, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Valor em cache não é do tipo esperado [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            refreshEarlyIfDue(key, localKey, valueLoader);
+            return (T) value;
+        }
+
+        // Uma única carga por chave nesta instância; as demais threads aguardam o resultado
+        return (T) loadCoordinator.load(flightKey(localKey), () -> loadThroughRemote(key, localKey, valueLoader));
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> found = new HashMap<>();
+        List<Object> localMisses = new ArrayList<>();
+        for (Object key : keys) {
+            Object value = local.getIfPresent(localKey(key));
+            if (value != null) {
+                found.put(key, value);
+            } else {
+                localMisses.add(key);
+            }
+        }
+        if (localMisses.isEmpty()) {
+            return found;
+        }
+
+        Map<Object, Object> remoteFound = BatchCache.getAll(remote, localMisses);
+        remoteHits.increment(remoteFound.size());
+        remoteMisses.increment(localMisses.size() - remoteFound.size());
+        remoteFound.forEach((key, value) -> local.put(localKey(key), value));
+        found.putAll(remoteFound);
+        return found;
+    }
+
+    /**
+     * Grava valores carregados da origem nos dois níveis, sem publicar invalidação
+     * (mesmo comportamento da carga via {@link #get(Object, Callable)}).
+     */
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        BatchCache.putAll(remote, entries);
+        entries.forEach((key, value) -> {
+            if (value != null) {
+                local.put(localKey(key), value);
+            }
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        String localKey = localKey(key);
+        if (value != null) {
+            local.put(localKey, value);
+        } else {
+            local.invalidate(localKey);
+        }
+        publishEvict(localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        publishEvict(localKey);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        remoteEvictions.increment();
+        String localKey = localKey(key);
+        evictLocal(localKey);
+        publishEvict(localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        if (evicted) {
+            remoteEvictions.increment();
+        }
+        String localKey = localKey(key);
+        evictLocal(localKey);
+        publishEvict(localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        publishClear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        clearLocal();
+        publishClear();
+        return invalidated;
+    }
+
+    /**
+     * Remove a chave apenas do L1 (usado pelas invalidações recebidas de outras instâncias).
+     */
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+        loadStamps.invalidate(localKey);
+    }
+
+    /**
+     * Limpa apenas o L1 (usado pelas invalidações recebidas de outras instâncias).
+     */
+    void clearLocal() {
+        local.invalidateAll();
+        loadStamps.invalidateAll();
+    }
+
+    private Object loadThroughRemote(Object key, String localKey, Callable<?> valueLoader) {
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return value;
+        }
+
+        ValueWrapper wrapper = getRemote(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(localKey, wrapper.get());
+            refreshEarlyIfDue(key, localKey, valueLoader);
+            return wrapper.get();
+        }
+
+        // Entre pods: apenas o dono do lease consulta a origem, os demais aguardam o valor no L2
+        String leaseKey = flightKey(localKey);
+        boolean leased = loadCoordinator.tryAcquireLease(leaseKey);
+        if (!leased) {
+            value = loadCoordinator.awaitValue(() -> {
+                ValueWrapper published = remote.get(key);
+                return published != null ? published.get() : null;
+            });
+            if (value != null) {
+                leaseWaitHits.increment();
+                local.put(localKey, value);
+                return value;
+            }
+        }
+
+        try {
+            return loadFromSource(key, localKey, valueLoader);
+        } finally {
+            if (leased) {
+                loadCoordinator.releaseLease(leaseKey);
+            }
+        }
+    }
+
+    private Object loadFromSource(Object key, String localKey, Callable<?> valueLoader) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        long loadNanos = System.nanoTime() - start;
+
+        if (value != null) {
+            remote.put(key, value);
+            local.put(localKey, value);
+            loadStamps.put(localKey, new LoadStamp(System.currentTimeMillis() + remoteTimeToLive.toMillis(), loadNanos));
+        }
+        return value;
+    }
+
+    private void refreshEarlyIfDue(Object key, String localKey, Callable<?> valueLoader) {
+        LoadStamp stamp = loadStamps.getIfPresent(localKey);
+        if (stamp != null && loadCoordinator.shouldRefreshEarly(stamp.expiresAtMillis(), stamp.loadNanos())) {
+            earlyRefreshes.increment();
+            loadCoordinator.refreshAsync(flightKey(localKey), () -> loadFromSource(key, localKey, valueLoader));
+        }
+    }
+
+    private ValueWrapper getRemote(Object key) {
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            remoteHits.increment();
+        } else {
+            remoteMisses.increment();
+        }
+        return wrapper;
+    }
+
+    private void publishEvict(String localKey) {
+        if (invalidationBus != null) {
+            invalidationBus.publishEvict(name, localKey);
+        }
+    }
+
+    private void publishClear() {
+        if (invalidationBus != null) {
+            invalidationBus.publishClear(name);
+        }
+    }
+
+    private String flightKey(String localKey) {
+        return name + "::" + localKey;
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private record LoadStamp(long expiresAtMillis, long loadNanos) {
+    }
+}
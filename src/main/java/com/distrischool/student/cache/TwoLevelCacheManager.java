@@ -0,0 +1,73 @@
+package com.distrischool.student.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * CacheManager que decora cada cache do gerenciador remoto (Redis) com um
+ * L1 local limitado por tamanho (por cache, ver {@link CacheSettings}) e TTL.
+ *
+ * Nem o gerenciador remoto nem este devem ser transaction-aware: a sincronização
+ * com a transação é feita uma única vez pelo gerenciador mais externo
+ * ({@link FailoverCacheManager}).
+ */
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final CacheSettings cacheSettings;
+    private final Duration timeToLive;
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheLoadCoordinator loadCoordinator;
+    private final MeterRegistry meterRegistry;
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                CacheSettings cacheSettings,
+                                Duration timeToLive,
+                                CacheInvalidationBus invalidationBus,
+                                CacheLoadCoordinator loadCoordinator,
+                                MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.cacheSettings = cacheSettings;
+        this.timeToLive = timeToLive;
+        this.invalidationBus = invalidationBus;
+        this.loadCoordinator = loadCoordinator;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        for (String name : remoteCacheManager.getCacheNames()) {
+            Cache remote = remoteCacheManager.getCache(name);
+            if (remote != null) {
+                caches.add(createTwoLevelCache(remote));
+            }
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        return remote != null ? createTwoLevelCache(remote) : null;
+    }
+
+    private TwoLevelCache createTwoLevelCache(Cache remote) {
+        CacheSettings.Spec spec = cacheSettings.get(remote.getName());
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        return new TwoLevelCache(remote.getName(), remote, spec.getTimeToLive(), local,
+                invalidationBus, loadCoordinator, meterRegistry);
+    }
+}
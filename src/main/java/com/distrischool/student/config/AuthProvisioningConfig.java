@@ -0,0 +1,30 @@
+package com.distrischool.student.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Pool dedicado ao provisionamento assíncrono de usuários no serviço de autenticação.
+ *
+ * Com a fila cheia, novas tarefas são rejeitadas e os alunos ficam PENDING até a
+ * próxima varredura (ver {@code AuthProvisioningService#sweep}).
+ */
+@Configuration
+public class AuthProvisioningConfig {
+
+    @Bean(name = "authProvisioningExecutor")
+    public ThreadPoolTaskExecutor authProvisioningExecutor(
+            @Value("${microservice.auth-provisioning.pool-size:4}") int poolSize,
+            @Value("${microservice.auth-provisioning.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("auth-provisioning-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
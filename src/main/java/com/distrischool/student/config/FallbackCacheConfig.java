@@ -1,18 +1,21 @@
 package com.distrischool.student.config;
 
+import com.distrischool.student.cache.BoundedLocalCacheManager;
+import com.distrischool.student.cache.CacheSettings;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
-import java.util.Arrays;
-
 /**
- * Configuração de fallback para cache quando Redis não está disponível.
- * Usa cache em memória (ConcurrentMapCacheManager) como alternativa.
+ * Configuração de fallback para cache quando Redis não está configurado.
+ * Usa cache em memória limitado por tamanho e TTL (Caffeine) como alternativa.
+ *
+ * Quedas do Redis em tempo de execução são tratadas pelo FailoverCacheManager
+ * (ver {@link RedisConfig}), que usa o mesmo cache em memória.
  */
 @Configuration
 @ConditionalOnMissingBean(name = "redisCacheManager")
@@ -21,16 +24,13 @@ public class FallbackCacheConfig {
 
     @Bean(name = "fallbackCacheManager")
     @Primary
-    public CacheManager fallbackCacheManager() {
-        log.warn("Redis não está disponível. Usando cache em memória (ConcurrentMapCacheManager) como fallback.");
+    public CacheManager fallbackCacheManager(CacheSettings cacheSettings, MeterRegistry meterRegistry) {
+        log.warn("Redis não está disponível. Usando cache em memória (Caffeine) como fallback.");
         log.warn("O cache será local à instância da aplicação e não será compartilhado entre instâncias.");
         
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        cacheManager.setCacheNames(Arrays.asList("students"));
-        cacheManager.setAllowNullValues(false);
+        BoundedLocalCacheManager cacheManager = new BoundedLocalCacheManager(cacheSettings, meterRegistry);
         
-        log.info("ConcurrentMapCacheManager configurado com sucesso. Cache 'students' disponível.");
+        log.info("Cache em memória configurado com sucesso. Caches disponíveis: {}", cacheManager.getCacheNames());
         return cacheManager;
     }
 }
-
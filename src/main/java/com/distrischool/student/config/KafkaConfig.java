@@ -1,10 +1,12 @@
 package com.distrischool.student.config;
 
+import com.distrischool.student.kafka.StudentEventRetryTopics;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
 
 /**
  * Configuração dos tópicos Kafka para o Student Management Service
@@ -55,4 +57,17 @@ public NewTopic studentStatusChangedTopic() {
                 .replicas(1)
                 .build();
     }
+
+    /**
+     * Tópicos de retry e DLT de cada tópico de alunos, com o mesmo número de partições
+     */
+    @Bean
+    public KafkaAdmin.NewTopics studentEventRetryAndDltTopics(StudentEventRetryTopics retryTopics) {
+        return new KafkaAdmin.NewTopics(retryTopics.allRetryAndDltTopics().stream()
+                .map(topic -> TopicBuilder.name(topic)
+                        .partitions(3)
+                        .replicas(1)
+                        .build())
+                .toArray(NewTopic[]::new));
+    }
 }
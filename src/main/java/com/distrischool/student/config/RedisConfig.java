@@ -6,7 +6,18 @@
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.distrischool.student.cache.BatchRedisCacheManager;
+import com.distrischool.student.cache.BoundedLocalCacheManager;
+import com.distrischool.student.cache.CacheInvalidationBus;
+import com.distrischool.student.cache.CacheLoadCoordinator;
+import com.distrischool.student.cache.CacheNames;
+import com.distrischool.student.cache.CacheSettings;
+import com.distrischool.student.cache.FailoverCacheManager;
+import com.distrischool.student.cache.StudentBinarySerializer;
+import com.distrischool.student.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.cache.CacheManager;
@@ -14,16 +25,21 @@
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
 
 /**
  * Configuração de cache com Redis
@@ -33,50 +49,151 @@
 @Slf4j
 public class RedisConfig {
 
+    @Value("${microservice.cache.near-cache.enabled:true}")
+    private boolean nearCacheEnabled;
+
+    @Value("${microservice.cache.near-cache.time-to-live:30s}")
+    private Duration nearCacheTimeToLive;
+
+    @Value("${microservice.cache.invalidation-channel:distrischool.student.cache.invalidation}")
+    private String invalidationChannel;
+
+    @Value("${microservice.cache.serializer.format:json}")
+    private String serializerFormat;
+
+    @Value("${microservice.cache.serializer.compression-threshold:1024}")
+    private int compressionThreshold;
+
+    @Value("${microservice.cache.fallback.probe-interval:5s}")
+    private Duration fallbackProbeInterval;
+
+    @Value("${microservice.cache.load-lease.enabled:false}")
+    private boolean loadLeaseEnabled;
+
+    @Value("${microservice.cache.load-lease.time-to-live:5s}")
+    private Duration loadLeaseTimeToLive;
+
+    @Value("${microservice.cache.load-lease.wait-timeout:2s}")
+    private Duration loadLeaseWaitTimeout;
+
+    @Value("${microservice.cache.early-refresh.beta:1.0}")
+    private double earlyRefreshBeta;
+
     @Bean(name = "redisCacheManager")
     @Primary
     @ConditionalOnMissingBean(name = "redisCacheManager")
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        log.info("Configurando RedisCacheManager com GenericJackson2JsonRedisSerializer");
-        
-        // Configura ObjectMapper com suporte completo a Java 8 Time API
-        ObjectMapper objectMapper = new ObjectMapper();
-        JavaTimeModule javaTimeModule = new JavaTimeModule();
-        javaTimeModule.addSerializer(LocalDate.class, new LocalDateSerializer(DateTimeFormatter.ISO_LOCAL_DATE));
-        javaTimeModule.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-        javaTimeModule.addDeserializer(LocalDate.class, new LocalDateDeserializer(DateTimeFormatter.ISO_LOCAL_DATE));
-        javaTimeModule.addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-        objectMapper.registerModule(javaTimeModule);
-        objectMapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     CacheInvalidationBus cacheInvalidationBus,
+                                     CacheLoadCoordinator cacheLoadCoordinator,
+                                     CacheSettings cacheSettings,
+                                     MeterRegistry meterRegistry) {
+        log.info("Configurando RedisCacheManager com serializador '{}'", serializerFormat);
         
-        // Usa GenericJackson2JsonRedisSerializer com ObjectMapper customizado
-        GenericJackson2JsonRedisSerializer jsonSerializer = 
-            new GenericJackson2JsonRedisSerializer(objectMapper);
+        GenericJackson2JsonRedisSerializer jsonSerializer = jsonSerializer();
+
+        // Binário: menor e mais barato de (de)serializar; o JSON segue como fallback para entradas antigas.
+        // Em json a instância já lê o binário, então o formato pode mudar depois, em outro deploy.
+        RedisSerializer<Object> valueSerializer = "json".equalsIgnoreCase(serializerFormat)
+                ? StudentBinarySerializer.jsonWriter(jsonSerializer)
+                : new StudentBinarySerializer(jsonSerializer, compressionThreshold);
         
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
+                .entryTtl(cacheSettings.get(CacheNames.STUDENTS).getTimeToLive())
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(jsonSerializer))
+                        .fromSerializer(valueSerializer))
                 .disableCachingNullValues();
 
-        // Cria o RedisCacheManager com configuração para permitir criação dinâmica de caches
-        RedisCacheManager cacheManager = RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(config)
-                .transactionAware()
-                .withCacheConfiguration("students", config)
-                .build();
-        
-        // Inicializa o cache 'students' explicitamente para garantir que ele seja criado
-        var studentsCache = cacheManager.getCache("students");
-        if (studentsCache != null) {
-            log.info("Cache 'students' inicializado com sucesso.");
+        // Índice de matrículas guarda apenas o ID do aluno, serializado como texto (tipado como Long)
+        RedisCacheConfiguration registrationsConfig = config
+                .entryTtl(cacheSettings.get(CacheNames.STUDENT_REGISTRATIONS).getTimeToLive())
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new GenericToStringSerializer<>(Long.class)));
+
+        // Cria o RedisCacheManager (com leitura/gravação em lote) permitindo criação dinâmica de caches.
+        // Os gerenciadores internos não são transaction-aware: o FailoverCacheManager cuida disso
+        BatchRedisCacheManager redisCacheManager = new BatchRedisCacheManager(connectionFactory, config, Map.of(
+                CacheNames.STUDENTS, config,
+                CacheNames.STUDENT_REGISTRATIONS, registrationsConfig));
+        redisCacheManager.initializeCaches();
+
+        CacheManager primaryCacheManager = redisCacheManager;
+        if (nearCacheEnabled) {
+            TwoLevelCacheManager twoLevelCacheManager = new TwoLevelCacheManager(
+                    redisCacheManager, cacheSettings, nearCacheTimeToLive,
+                    cacheInvalidationBus, cacheLoadCoordinator, meterRegistry);
+            twoLevelCacheManager.initializeCaches();
+            primaryCacheManager = twoLevelCacheManager;
+            log.info("Near-cache (L1) habilitado: ttl={}", nearCacheTimeToLive);
         } else {
-            log.warn("Cache 'students' não foi criado na inicialização, mas será criado dinamicamente quando necessário.");
+            log.info("Near-cache (L1) desabilitado. Usando apenas o RedisCacheManager.");
+        }
+
+        // Se o Redis cair, as operações passam para um cache em memória limitado até a conexão voltar
+        FailoverCacheManager cacheManager = new FailoverCacheManager(
+                primaryCacheManager, new BoundedLocalCacheManager(cacheSettings, meterRegistry),
+                connectionFactory, fallbackProbeInterval, meterRegistry);
+        cacheManager.setTransactionAware(true);
+        cacheManager.initializeCaches();
+        
+        // Inicializa os caches explicitamente para garantir que eles sejam criados
+        for (CacheSettings.Spec spec : cacheSettings.all()) {
+            if (cacheManager.getCache(spec.getName()) != null) {
+                log.info("Cache '{}' inicializado com sucesso: ttl={}, maximumSize(L1)={}",
+                        spec.getName(), spec.getTimeToLive(), spec.getMaximumSize());
+            } else {
+                log.warn("Cache '{}' não foi criado na inicialização, mas será criado dinamicamente quando necessário.",
+                        spec.getName());
+            }
         }
         
-        log.info("RedisCacheManager configurado com sucesso usando GenericJackson2JsonRedisSerializer. Cache 'students' configurado.");
+        log.info("RedisCacheManager configurado com sucesso usando serializador '{}'.", serializerFormat);
+        log.info("Fallback em memória com verificação do Redis a cada {}", fallbackProbeInterval);
         return cacheManager;
     }
+
+    /**
+     * Serializador JSON dos valores do cache, com suporte completo a Java 8 Time API.
+     * Público para os benchmarks usarem a mesma configuração do serviço.
+     */
+    public static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        JavaTimeModule javaTimeModule = new JavaTimeModule();
+        javaTimeModule.addSerializer(LocalDate.class, new LocalDateSerializer(DateTimeFormatter.ISO_LOCAL_DATE));
+        javaTimeModule.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        javaTimeModule.addDeserializer(LocalDate.class, new LocalDateDeserializer(DateTimeFormatter.ISO_LOCAL_DATE));
+        javaTimeModule.addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        objectMapper.registerModule(javaTimeModule);
+        objectMapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    /**
+     * Canal pub/sub usado para manter os caches L1 das instâncias coerentes
+     */
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate) {
+        return new CacheInvalidationBus(stringRedisTemplate, invalidationChannel);
+    }
+
+    /**
+     * Proteção contra cache stampede: single-flight local, lease opcional entre pods e refresh antecipado
+     */
+    @Bean
+    public CacheLoadCoordinator cacheLoadCoordinator(StringRedisTemplate stringRedisTemplate) {
+        log.info("Proteção contra cache stampede: lease entre pods={}, early-refresh beta={}",
+                loadLeaseEnabled, earlyRefreshBeta);
+        return new CacheLoadCoordinator(loadLeaseEnabled ? stringRedisTemplate : null,
+                loadLeaseTimeToLive, loadLeaseWaitTimeout, earlyRefreshBeta);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, CacheInvalidationBus cacheInvalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(cacheInvalidationBus.getChannel()));
+        return container;
+    }
 }
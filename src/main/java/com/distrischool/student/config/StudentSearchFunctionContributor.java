@@ -0,0 +1,23 @@
+package com.distrischool.student.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registra no Hibernate as funções SQL criadas pelas migrações, para uso tipado em JPQL
+ * e Criteria (registrado via META-INF/services).
+ *
+ * - {@code student_name_normalize(texto)}: minúsculas e sem acentos (V11), a mesma
+ *   expressão do índice de trigramas de {@code students.full_name}.
+ */
+public class StudentSearchFunctionContributor implements FunctionContributor {
+
+    public static final String NAME_NORMALIZE = "student_name_normalize";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(NAME_NORMALIZE, NAME_NORMALIZE + "(?1)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.STRING));
+    }
+}
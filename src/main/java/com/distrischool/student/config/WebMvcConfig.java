@@ -1,6 +1,12 @@
 package com.distrischool.student.config;
 
+import com.distrischool.student.exception.BusinessException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -11,6 +17,12 @@
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    /** Bytes por ID no corpo JSON do lote: até 20 caracteres do long, vírgula e espaço, com folga */
+    private static final long MAX_BYTES_PER_ID = 24;
+
+    @Value("${microservice.batch.stream.max-ids:20000}")
+    private int batchStreamMaxIds;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Configura recursos estáticos apenas para caminhos específicos
@@ -20,5 +32,22 @@ public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry.addResourceHandler("/public/**")
                 .addResourceLocations("classpath:/public/");
     }
-}
 
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // O limite de IDs do streaming só é conferido depois que o Jackson lê a lista inteira;
+        // aqui o corpo declarado grande demais é recusado antes da leitura. Corpos sem
+        // Content-Length (chunked) ainda são lidos por inteiro antes da checagem de IDs.
+        long maxBytes = 2 + MAX_BYTES_PER_ID * batchStreamMaxIds;
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (request.getContentLengthLong() > maxBytes) {
+                    throw new BusinessException("Corpo da requisição grande demais para o limite de "
+                            + batchStreamMaxIds + " IDs");
+                }
+                return true;
+            }
+        }).addPathPatterns("/api/v1/students/batch/stream");
+    }
+}
@@ -0,0 +1,44 @@
+package com.distrischool.student.controller;
+
+import com.distrischool.student.dto.ApiResponse;
+import com.distrischool.student.kafka.DeadLetterReplayService;
+import com.distrischool.student.kafka.DeadLetterReplayService.ReplayResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Operações administrativas sobre os tópicos de eventos de alunos
+ */
+@RestController
+@RequestMapping("/api/v1/admin/kafka")
+@RequiredArgsConstructor
+@Slf4j
+public class KafkaAdminController {
+
+    private final DeadLetterReplayService deadLetterReplayService;
+
+    /**
+     * Reenvia um lote do DLT para o tópico de origem
+     * POST /api/v1/admin/kafka/dlt/{topic}/replay?maxRecords=100
+     * Requer role ADMIN
+     */
+    @PostMapping("/dlt/{topic}/replay")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReplayResult>> replayDeadLetters(
+        @PathVariable String topic,
+        @RequestParam(defaultValue = "100") int maxRecords) {
+
+        log.info("Requisição para reenviar até {} registro(s) do DLT de {}", maxRecords, topic);
+        ReplayResult result = deadLetterReplayService.replay(topic, maxRecords);
+
+        return ResponseEntity.ok(ApiResponse.success(result,
+            result.replayed() + " evento(s) reenviado(s) para " + topic));
+    }
+}
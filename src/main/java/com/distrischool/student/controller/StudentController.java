@@ -1,11 +1,19 @@
 package com.distrischool.student.controller;
 
 import com.distrischool.student.dto.ApiResponse;
+import com.distrischool.student.dto.CountedPage;
+import com.distrischool.student.dto.CountedPage.CountMode;
+import com.distrischool.student.dto.CursorPage;
 import com.distrischool.student.dto.StudentRequestDTO;
 import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.dto.StudentSearchResultDTO;
+import com.distrischool.student.dto.StudentStatisticsDTO;
 import com.distrischool.student.dto.StudentSummaryDTO;
 import com.distrischool.student.entity.Student.StudentStatus;
+import com.distrischool.student.service.StudentCursor;
 import com.distrischool.student.service.StudentService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -15,14 +23,19 @@
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Controller REST para gerenciamento de alunos
@@ -34,6 +47,7 @@
 public class StudentController {
 
     private final StudentService studentService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Cria um novo aluno
@@ -102,6 +116,26 @@ public ResponseEntity<ApiResponse<Page<StudentSummaryDTO>>> getAllStudents(
         return ResponseEntity.ok(ApiResponse.success(students));
     }
 
+    /**
+     * Lista alunos paginando por cursor (keyset), sem contagem total
+     * GET /api/v1/students?cursor=
+     *
+     * A primeira página é pedida com o cursor vazio; as seguintes, com o nextCursor da
+     * resposta anterior (que já carrega a ordenação). Ordenação por id, fullName ou registrationNumber.
+     */
+    @GetMapping(params = "cursor")
+    @Timed(value = "students.list.cursor", description = "Time taken to list students by cursor")
+    public ResponseEntity<ApiResponse<CursorPage<StudentSummaryDTO>>> scrollStudents(
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "id") String sortBy,
+        @RequestParam(defaultValue = "ASC") Sort.Direction direction) {
+
+        log.info("Requisição para listar alunos por cursor - Tamanho: {}", size);
+        StudentCursor position = StudentCursor.resolve(cursor, sortBy, direction);
+        return ResponseEntity.ok(ApiResponse.success(studentService.scrollStudents(position, size)));
+    }
+
     /**
      * Busca alunos com filtros
      * GET /api/v1/students/search
@@ -126,6 +160,95 @@ public ResponseEntity<ApiResponse<Page<StudentSummaryDTO>>> searchStudents(
         return ResponseEntity.ok(ApiResponse.success(students));
     }
 
+    /**
+     * Busca alunos com filtros, escolhendo como o total é calculado
+     * GET /api/v1/students/search?countMode=EXACT|CACHED|ESTIMATE|NONE
+     *
+     * O COUNT da busca repete todos os filtros (inclusive o LIKE por nome) a cada página;
+     * com CACHED, ESTIMATE ou NONE a navegação entre páginas não paga essa segunda leitura.
+     * A resposta indica o modo usado e se o total é exato.
+     */
+    @GetMapping(value = "/search", params = {"countMode", "!cursor"})
+    public ResponseEntity<ApiResponse<CountedPage<StudentSummaryDTO>>> searchStudentsWithCountMode(
+        @RequestParam(required = false) String name,
+        @RequestParam(required = false) String course,
+        @RequestParam(required = false) Integer semester,
+        @RequestParam(required = false) StudentStatus status,
+        @RequestParam CountMode countMode,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "fullName") String sortBy,
+        @RequestParam(defaultValue = "ASC") Sort.Direction direction) {
+
+        log.info("Requisição para buscar alunos - Filtros: name={}, course={}, semester={}, status={}, countMode={}",
+            name, course, semester, status, countMode);
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+        return ResponseEntity.ok(ApiResponse.success(
+            studentService.searchStudents(name, course, semester, status, pageable, countMode)));
+    }
+
+    /**
+     * Busca alunos com filtros paginando por cursor (keyset)
+     * GET /api/v1/students/search?cursor=
+     */
+    @GetMapping(value = "/search", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<StudentSummaryDTO>>> scrollSearchStudents(
+        @RequestParam(required = false) String name,
+        @RequestParam(required = false) String course,
+        @RequestParam(required = false) Integer semester,
+        @RequestParam(required = false) StudentStatus status,
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "fullName") String sortBy,
+        @RequestParam(defaultValue = "ASC") Sort.Direction direction) {
+
+        log.info("Requisição para buscar alunos por cursor - Filtros: name={}, course={}, semester={}, status={}",
+            name, course, semester, status);
+        StudentCursor position = StudentCursor.resolve(cursor, sortBy, direction);
+        return ResponseEntity.ok(ApiResponse.success(
+            studentService.scrollSearchStudents(name, course, semester, status, position, size)));
+    }
+
+    /**
+     * Busca alunos por nome, sem diferenciar acentos e tolerando erros de digitação
+     * GET /api/v1/students/search/name?q=joao silva
+     *
+     * Resultados ordenados por relevância (similaridade de trigramas), limitados a {@code limit}.
+     */
+    @GetMapping("/search/name")
+    @Timed(value = "students.search.name", description = "Time taken to search students by similar name")
+    public ResponseEntity<ApiResponse<List<StudentSummaryDTO>>> searchStudentsBySimilarName(
+        @RequestParam("q") String query,
+        @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("Requisição para buscar alunos por nome aproximado: {}", query);
+        List<StudentSummaryDTO> students = studentService.searchStudentsBySimilarName(query, limit);
+        return ResponseEntity.ok(ApiResponse.success(students));
+    }
+
+    /**
+     * Busca textual em nome, e-mail, CPF, matrícula, curso e observações
+     * GET /api/v1/students/search/fulltext?q=silv* course:"ciencia da computacao"
+     *
+     * Servida pelo índice em memória da projeção local: aceita prefixos (termo*), frases
+     * ("termo termo") e campos (campo:termo), e devolve as facetas de curso, status e semestre.
+     * Filtros por curso, status e semestre restringem os resultados e as facetas.
+     */
+    @GetMapping("/search/fulltext")
+    @Timed(value = "students.search.fulltext", description = "Time taken to run a full-text student search")
+    public ResponseEntity<ApiResponse<StudentSearchResultDTO>> fullTextSearch(
+        @RequestParam(name = "q", required = false) String query,
+        @RequestParam(required = false) String course,
+        @RequestParam(required = false) StudentStatus status,
+        @RequestParam(required = false) Integer semester,
+        @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("Requisição para busca textual de alunos: {}", query);
+        StudentSearchResultDTO result = studentService.fullTextSearch(query, course, status, semester, limit);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
     /**
      * Busca alunos por curso
      * GET /api/v1/students/course/{course}
@@ -143,6 +266,21 @@ public ResponseEntity<ApiResponse<Page<StudentSummaryDTO>>> getStudentsByCourse(
         return ResponseEntity.ok(ApiResponse.success(students));
     }
 
+    /**
+     * Busca alunos por curso paginando por cursor (keyset)
+     * GET /api/v1/students/course/{course}?cursor=
+     */
+    @GetMapping(value = "/course/{course}", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<StudentSummaryDTO>>> scrollStudentsByCourse(
+        @PathVariable String course,
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "20") int size) {
+
+        log.info("Requisição para buscar alunos por curso (cursor): {}", course);
+        StudentCursor position = StudentCursor.resolve(cursor, "fullName", Sort.Direction.ASC);
+        return ResponseEntity.ok(ApiResponse.success(studentService.scrollStudentsByCourse(course, position, size)));
+    }
+
     /**
      * Busca alunos por curso e semestre
      * GET /api/v1/students/course/{course}/semester/{semester}
@@ -161,6 +299,23 @@ public ResponseEntity<ApiResponse<Page<StudentSummaryDTO>>> getStudentsByCourseA
         return ResponseEntity.ok(ApiResponse.success(students));
     }
 
+    /**
+     * Busca alunos por curso e semestre paginando por cursor (keyset)
+     * GET /api/v1/students/course/{course}/semester/{semester}?cursor=
+     */
+    @GetMapping(value = "/course/{course}/semester/{semester}", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPage<StudentSummaryDTO>>> scrollStudentsByCourseAndSemester(
+        @PathVariable String course,
+        @PathVariable Integer semester,
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "20") int size) {
+
+        log.info("Requisição para buscar alunos por cursor - Curso: {}, Semestre: {}", course, semester);
+        StudentCursor position = StudentCursor.resolve(cursor, "fullName", Sort.Direction.ASC);
+        return ResponseEntity.ok(ApiResponse.success(
+            studentService.scrollStudentsByCourseAndSemester(course, semester, position, size)));
+    }
+
     /**
      * Atualiza um aluno
      * PUT /api/v1/students/{id}
@@ -236,25 +391,15 @@ public ResponseEntity<ApiResponse<StudentResponseDTO>> restoreStudent(
     /**
      * Estatísticas gerais
      * GET /api/v1/students/statistics
+     *
+     * Totais de alunos não removidos por status (todos), por curso e por status/curso/semestre,
+     * com a origem dos números e o instante a que se referem.
      */
     @GetMapping("/statistics")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getStatistics() {
+    @Timed(value = "students.statistics", description = "Time taken to compute student statistics")
+    public ResponseEntity<ApiResponse<StudentStatisticsDTO>> getStatistics() {
         log.info("Requisição para obter estatísticas de alunos");
-
-        long activeStudents = studentService.countStudentsByStatus(StudentStatus.ACTIVE);
-        long inactiveStudents = studentService.countStudentsByStatus(StudentStatus.INACTIVE);
-        long graduatedStudents = studentService.countStudentsByStatus(StudentStatus.GRADUATED);
-        long suspendedStudents = studentService.countStudentsByStatus(StudentStatus.SUSPENDED);
-
-        Map<String, Object> statistics = Map.of(
-            "active", activeStudents,
-            "inactive", inactiveStudents,
-            "graduated", graduatedStudents,
-            "suspended", suspendedStudents,
-            "total", activeStudents + inactiveStudents + graduatedStudents + suspendedStudents
-        );
-
-        return ResponseEntity.ok(ApiResponse.success(statistics));
+        return ResponseEntity.ok(ApiResponse.success(studentService.getStatistics()));
     }
 
     /**
@@ -294,6 +439,50 @@ public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getStudentsByIds(
         return ResponseEntity.ok(ApiResponse.success(students));
     }
 
+    /**
+     * Busca múltiplos alunos por IDs em modo streaming
+     * POST /api/v1/students/batch/stream
+     * 
+     * Alternativa ao /batch para lotes grandes: os alunos são escritos na resposta em
+     * NDJSON (um JSON por linha), à medida que cada bloco de IDs é carregado, sem montar
+     * a lista completa em memória. O número de IDs por requisição é limitado
+     * (microservice.batch.stream.max-ids).
+     * 
+     * @param studentIds Lista de IDs dos estudantes a serem buscados
+     * @return Um aluno por linha, na ordem dos IDs solicitados (IDs não encontrados são omitidos)
+     */
+    @PostMapping(value = "/batch/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Timed(value = "students.batch.stream", description = "Time taken to start streaming multiple students by IDs")
+    public ResponseEntity<StreamingResponseBody> streamStudentsByIds(
+            @RequestBody(required = false) List<Long> studentIds) {
+        int requested = studentIds != null ? studentIds.size() : 0;
+        log.info("Requisição para streaming de {} alunos por IDs", requested);
+
+        // Valida antes de a resposta começar, para que o erro ainda possa virar um 400
+        studentService.validateBatchStreamSize(studentIds);
+
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.setRootValueSeparator(null);
+            AtomicInteger written = new AtomicInteger();
+            studentService.streamStudentsByIds(studentIds, student -> {
+                try {
+                    generator.writeObject(student);
+                    generator.writeRaw('\n');
+                    written.incrementAndGet();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            // O buffer do gerador é enviado ao cliente conforme enche; aqui só o restante
+            generator.close();
+            log.info("Streaming concluído: {} estudantes de {} IDs solicitados", written.get(), requested);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Busca aluno por Auth0 ID
      * GET /api/v1/students/by-auth0/{auth0Id}
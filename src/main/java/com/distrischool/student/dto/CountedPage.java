@@ -0,0 +1,46 @@
+package com.distrischool.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de uma busca paginada por offset em que o total é calculado conforme o
+ * {@link CountMode} pedido.
+ *
+ * {@code totalElements} e {@code totalPages} são nulos quando o total não foi calculado
+ * ({@link CountMode#NONE}); {@code totalExact} indica se o total é exato ou aproximado.
+ * {@code hasNext} é sempre exato, independente do total.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CountedPage<T> {
+    private List<T> content;
+    private int number;
+    private int size;
+    private int numberOfElements;
+    private boolean hasNext;
+    private Long totalElements;
+    private Integer totalPages;
+    private CountMode countMode;
+    private boolean totalExact;
+
+    /**
+     * Forma de obter o total de elementos da busca
+     */
+    public enum CountMode {
+        /** COUNT completo no banco a cada requisição */
+        EXACT,
+        /** COUNT reaproveitado por alguns segundos para os mesmos filtros (pode estar defasado) */
+        CACHED,
+        /** Estimativa do planejador do PostgreSQL, a partir das estatísticas da tabela */
+        ESTIMATE,
+        /** Sem total: apenas se há próxima página */
+        NONE
+    }
+}
@@ -0,0 +1,26 @@
+package com.distrischool.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset).
+ *
+ * Ao contrário de {@code Page}, não traz o total de elementos nem o número da página:
+ * a próxima página é pedida com {@code nextCursor}, presente enquanto {@code hasNext}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private int numberOfElements;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -9,9 +9,11 @@
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class StudentResponseDTO {
@@ -114,4 +116,39 @@ public static StudentResponseDTO fromEntity(Student student) {
                 .updatedBy(student.getUpdatedBy())
                 .build();
     }
+
+    /**
+     * Converte para Map<String, Object> (resposta da busca em lote)
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", id);
+        map.put("fullName", fullName);
+        map.put("cpf", cpf);
+        map.put("email", email);
+        map.put("phone", phone);
+        map.put("birthDate", birthDate);
+        map.put("age", age);
+        map.put("registrationNumber", registrationNumber);
+        map.put("course", course);
+        map.put("semester", semester);
+        map.put("enrollmentDate", enrollmentDate);
+        map.put("status", status != null ? status.toString() : null);
+        map.put("addressStreet", addressStreet);
+        map.put("addressNumber", addressNumber);
+        map.put("addressComplement", addressComplement);
+        map.put("addressNeighborhood", addressNeighborhood);
+        map.put("addressCity", addressCity);
+        map.put("addressState", addressState);
+        map.put("addressZipcode", addressZipcode);
+        map.put("emergencyContactName", emergencyContactName);
+        map.put("emergencyContactPhone", emergencyContactPhone);
+        map.put("emergencyContactRelationship", emergencyContactRelationship);
+        map.put("notes", notes);
+        map.put("createdAt", createdAt);
+        map.put("updatedAt", updatedAt);
+        map.put("createdBy", createdBy);
+        map.put("updatedBy", updatedBy);
+        return map;
+    }
 }
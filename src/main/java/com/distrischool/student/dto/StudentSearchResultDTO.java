@@ -0,0 +1,25 @@
+package com.distrischool.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado da busca textual de alunos.
+ *
+ * {@code facets} traz, para curso, status e semestre, o número de alunos encontrados com
+ * cada valor (considerando todos os resultados, não só os de {@code content}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSearchResultDTO {
+    private List<StudentSummaryDTO> content;
+    private long totalHits;
+    private Map<String, Map<String, Long>> facets;
+}
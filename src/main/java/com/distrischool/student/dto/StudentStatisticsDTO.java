@@ -0,0 +1,44 @@
+package com.distrischool.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estatísticas dos alunos não removidos: totais por status (todos os status, inclusive
+ * zerados), por curso e por status/curso/semestre.
+ *
+ * {@code active}, {@code inactive}, {@code graduated} e {@code suspended} são as chaves da
+ * resposta anterior, mantidas para os clientes existentes; repetem os valores de {@code byStatus}.
+ *
+ * {@code source} indica de onde vieram os números: {@code READ_MODEL} (contadores da
+ * projeção local, atualizados a cada alteração) ou {@code DATABASE} (agregação no banco,
+ * enquanto a projeção carrega). {@code asOf} é o instante da última alteração refletida
+ * nos contadores da projeção, ou o instante da consulta ao banco.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentStatisticsDTO {
+    private long active;
+    private long inactive;
+    private long graduated;
+    private long suspended;
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byCourse;
+    private List<StudentStatisticsGroup> groups;
+    private Source source;
+    private Instant asOf;
+
+    public enum Source {
+        READ_MODEL,
+        DATABASE
+    }
+}
@@ -0,0 +1,9 @@
+package com.distrischool.student.dto;
+
+import com.distrischool.student.entity.Student.StudentStatus;
+
+/**
+ * Número de alunos não removidos com o mesmo status, curso e semestre.
+ */
+public record StudentStatisticsGroup(StudentStatus status, String course, Integer semester, Long total) {
+}
@@ -32,4 +32,16 @@ public static StudentSummaryDTO fromEntity(Student student) {
                 .status(student.getStatus())
                 .build();
     }
+
+    public static StudentSummaryDTO fromResponse(StudentResponseDTO student) {
+        return StudentSummaryDTO.builder()
+                .id(student.getId())
+                .fullName(student.getFullName())
+                .email(student.getEmail())
+                .registrationNumber(student.getRegistrationNumber())
+                .course(student.getCourse())
+                .semester(student.getSemester())
+                .status(student.getStatus())
+                .build();
+    }
 }
@@ -3,8 +3,10 @@
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,6 +15,7 @@
  * Modelo completo com relacionamentos para Guardian, Address, Documents, etc.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "students", indexes = {
     @Index(name = "idx_student_registration", columnList = "registration_number", unique = true),
     @Index(name = "idx_student_email", columnList = "email", unique = true),
@@ -87,6 +90,36 @@ public class Student extends BaseEntity {
     @Column(name = "auth0_id", unique = true, nullable = true, length = 255)
     private String auth0Id;
 
+    /**
+     * Estado da criação do usuário no serviço de autenticação.
+     * O registro é feito de forma assíncrona após o commit do cadastro (ver AuthProvisioningService).
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "auth_provisioning_status", nullable = false, length = 20)
+    @Builder.Default
+    private AuthProvisioningStatus authProvisioningStatus = AuthProvisioningStatus.PENDING;
+
+    @Column(name = "auth_provisioning_attempts", nullable = false)
+    @Builder.Default
+    private Integer authProvisioningAttempts = 0;
+
+    @Column(name = "auth_provisioning_error", length = 500)
+    private String authProvisioningError;
+
+    @Column(name = "auth_provisioning_updated_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime authProvisioningUpdatedAt = LocalDateTime.now();
+
+    /**
+     * Versão do registro (lock otimista), incrementada a cada alteração da entidade.
+     * Também é a versão dos eventos Kafka do aluno, crescente por aluno.
+     * O UPDATE gera apenas as colunas alteradas (@DynamicUpdate), para não sobrescrever
+     * o auth0Id gravado em paralelo pelo provisionamento.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // ==================== RELACIONAMENTOS ====================
     
     /**
@@ -149,6 +182,10 @@ public enum StudentStatus {
         ACTIVE, INACTIVE, GRADUATED, SUSPENDED, TRANSFERRED, DROPPED
     }
 
+    public enum AuthProvisioningStatus {
+        PENDING, IN_PROGRESS, COMPLETED, FAILED
+    }
+
     // ==================== MÉTODOS ÚTEIS ====================
 
     public boolean isActive() {
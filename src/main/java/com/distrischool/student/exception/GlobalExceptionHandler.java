@@ -3,6 +3,7 @@
 import com.distrischool.student.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -59,6 +60,26 @@ public ResponseEntity<ApiResponse<Void>> handleBusinessException(
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailure(
+            ObjectOptimisticLockingFailureException ex, WebRequest request) {
+
+        log.warn("Conflito de atualização concorrente: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("O registro foi alterado por outra operação. Recarregue os dados e tente novamente."));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceUnavailableException(
+            ServiceUnavailableException ex, WebRequest request) {
+
+        log.warn("Recurso indisponível: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ApiResponse<Void>> handleAccessDeniedException(
             AccessDeniedException ex, WebRequest request) {
@@ -0,0 +1,11 @@
+package com.distrischool.student.exception;
+
+/**
+ * Exceção para recursos temporariamente indisponíveis (503)
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
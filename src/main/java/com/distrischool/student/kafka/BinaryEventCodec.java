@@ -0,0 +1,210 @@
+package com.distrischool.student.kafka;
+
+import com.distrischool.student.kafka.EventSchemaRegistry.EventSchema;
+import com.distrischool.student.kafka.EventSchemaRegistry.Field;
+import com.distrischool.student.kafka.payload.StudentEventPayload;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Codificação binária compacta de {@link DistriSchoolEvent}, guiada pelo {@link EventSchemaRegistry}.
+ *
+ * Formato: {@code [MAGIC][schemaId][versão do esquema][eventId][máscara][campos]}. O tipo do
+ * evento é implícito no {@code schemaId}, o {@code eventId} UUID ocupa 16 bytes e os campos
+ * do payload são gravados na ordem do esquema, sem nomes; a máscara indica os valores
+ * presentes (bit 0: source, bit 1: versão do aluno, bits seguintes: campos do esquema).
+ * Números usam varint ZigZag.
+ */
+public class BinaryEventCodec {
+
+    static final byte MAGIC = (byte) 0xE5;
+
+    private static final byte EVENT_ID_NONE = 0;
+    private static final byte EVENT_ID_UUID = 1;
+    private static final byte EVENT_ID_TEXT = 2;
+    private static final int ENVELOPE_FIELDS = 2;
+
+    private final EventSchemaRegistry registry;
+
+    public BinaryEventCodec(EventSchemaRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Codifica o evento na versão mais recente do esquema do seu tipo.
+     * Retorna vazio se o tipo não tem esquema registrado (o evento segue em JSON).
+     */
+    public Optional<byte[]> encode(DistriSchoolEvent event) {
+        Optional<EventSchema> schema = registry.latest(event.getEventType());
+        if (schema.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(write(schema.get(), event));
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Falha ao codificar evento " + event.getEventType(), e);
+        }
+    }
+
+    public DistriSchoolEvent decode(byte[] bytes) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (in.readByte() != MAGIC) {
+                throw new SerializationException("Evento binário sem o byte de identificação do formato");
+            }
+            int schemaId = (int) readVarLong(in);
+            int version = (int) readVarLong(in);
+            EventSchema schema = registry.find(schemaId, version)
+                    .orElseThrow(() -> new SerializationException(
+                            "Esquema de evento desconhecido: id=" + schemaId + ", versão=" + version));
+            return read(schema, in);
+        } catch (IOException e) {
+            throw new SerializationException("Falha ao decodificar evento binário", e);
+        }
+    }
+
+    private static byte[] write(EventSchema schema, DistriSchoolEvent event) throws IOException {
+        List<Field> fields = schema.fields();
+        Map<String, Object> data = event.getData() != null ? event.getData() : Map.of();
+        Object[] values = new Object[ENVELOPE_FIELDS + fields.size()];
+        values[0] = event.getSource();
+        values[1] = event.getVersion();
+        for (int i = 0; i < fields.size(); i++) {
+            Object value = data.get(fields.get(i).name());
+            values[ENVELOPE_FIELDS + i] = switch (fields.get(i).type()) {
+                case LONG -> StudentEventPayload.toLong(value);
+                case STRING -> StudentEventPayload.toText(value);
+            };
+        }
+
+        long presence = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                presence |= 1L << i;
+            }
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeByte(MAGIC);
+        writeVarLong(out, schema.schemaId());
+        writeVarLong(out, schema.version());
+        writeEventId(out, event.getEventId());
+        writeVarLong(out, presence);
+        for (Object value : values) {
+            if (value instanceof Long number) {
+                writeVarLong(out, number);
+            } else if (value instanceof String text) {
+                writeString(out, text);
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    private static DistriSchoolEvent read(EventSchema schema, DataInputStream in) throws IOException {
+        String eventId = readEventId(in);
+        long presence = readVarLong(in);
+
+        String source = (presence & 1L) != 0 ? readString(in) : null;
+        Long version = (presence & 2L) != 0 ? readVarLong(in) : null;
+        Map<String, Object> data = new HashMap<>();
+        List<Field> fields = schema.fields();
+        for (int i = 0; i < fields.size(); i++) {
+            if ((presence & (1L << (ENVELOPE_FIELDS + i))) == 0) {
+                continue;
+            }
+            Field field = fields.get(i);
+            data.put(field.name(), switch (field.type()) {
+                case LONG -> readVarLong(in);
+                case STRING -> readString(in);
+            });
+        }
+
+        return DistriSchoolEvent.builder()
+                .eventId(eventId)
+                .eventType(schema.eventType())
+                .source(source)
+                .version(version)
+                .data(data)
+                .build();
+    }
+
+    private static void writeEventId(DataOutputStream out, String eventId) throws IOException {
+        if (eventId == null) {
+            out.writeByte(EVENT_ID_NONE);
+            return;
+        }
+        UUID uuid = parseUuid(eventId);
+        if (uuid != null) {
+            out.writeByte(EVENT_ID_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.writeByte(EVENT_ID_TEXT);
+            writeString(out, eventId);
+        }
+    }
+
+    private static String readEventId(DataInputStream in) throws IOException {
+        return switch (in.readByte()) {
+            case EVENT_ID_NONE -> null;
+            case EVENT_ID_UUID -> new UUID(in.readLong(), in.readLong()).toString();
+            case EVENT_ID_TEXT -> readString(in);
+            default -> throw new SerializationException("Formato de eventId desconhecido");
+        };
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            UUID uuid = UUID.fromString(value);
+            // Só usa a forma de 16 bytes se a volta reproduzir exatamente o texto original
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String text) throws IOException {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[(int) readVarLong(in)];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.writeByte((int) zigZag);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long zigZag = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+}
@@ -0,0 +1,168 @@
+package com.distrischool.student.kafka;
+
+import com.distrischool.student.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reenvia registros do DLT para o tópico de origem, em lotes.
+ *
+ * Os registros são lidos como bytes (inclusive os que não puderam ser desserializados) e
+ * publicados sem alteração, com a mesma chave e os headers originais, sem os headers de
+ * controle do retry. Os offsets do DLT são confirmados no grupo {@code <aplicação>-dlt-replay}
+ * só depois que todo o lote foi confirmado pelo broker; cada chamada continua de onde a
+ * anterior parou.
+ *
+ * Uma falha que aconteceu em várias instâncias gera uma cópia no DLT por instância; o
+ * replay reenvia apenas uma delas por lote (mesmo tópico, partição e offset de origem).
+ */
+@Component
+@Slf4j
+public class DeadLetterReplayService {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private final ConsumerFactory<?, ?> consumerFactory;
+    private final FailedEventForwarder forwarder;
+    private final StudentEventRetryTopics retryTopics;
+    private final String replayGroupId;
+    private final int maxBatchSize;
+    private final Duration sendTimeout;
+
+    public DeadLetterReplayService(ConsumerFactory<?, ?> consumerFactory,
+                                   FailedEventForwarder forwarder,
+                                   StudentEventRetryTopics retryTopics,
+                                   @Value("${spring.application.name}-dlt-replay") String replayGroupId,
+                                   @Value("${microservice.kafka.replay.max-batch-size:1000}") int maxBatchSize,
+                                   @Value("${microservice.kafka.retry.send-timeout:10s}") Duration sendTimeout) {
+        this.consumerFactory = consumerFactory;
+        this.forwarder = forwarder;
+        this.retryTopics = retryTopics;
+        this.replayGroupId = replayGroupId;
+        this.maxBatchSize = maxBatchSize;
+        this.sendTimeout = sendTimeout;
+    }
+
+    /**
+     * Reenvia até {@code maxRecords} registros do DLT do tópico de origem.
+     *
+     * @throws BusinessException se o tópico não é um tópico de eventos de alunos
+     */
+    public synchronized ReplayResult replay(String sourceTopic, int maxRecords) {
+        if (!retryTopics.isSourceTopic(sourceTopic)) {
+            throw new BusinessException("Tópico de eventos desconhecido: " + sourceTopic);
+        }
+        int limit = Math.max(1, Math.min(maxRecords, maxBatchSize));
+        String dltTopic = retryTopics.dltTopic(sourceTopic);
+
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        overrides.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, limit);
+
+        try (@SuppressWarnings("unchecked")
+             Consumer<String, byte[]> consumer = (Consumer<String, byte[]>) consumerFactory.createConsumer(
+                     replayGroupId, null, "-" + dltTopic, overrides)) {
+            List<TopicPartition> partitions = new ArrayList<>();
+            for (PartitionInfo info : consumer.partitionsFor(dltTopic)) {
+                partitions.add(new TopicPartition(info.topic(), info.partition()));
+            }
+            consumer.assign(partitions);
+
+            List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+            while (records.size() < limit) {
+                int before = records.size();
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                    if (records.size() < limit) {
+                        records.add(record);
+                    }
+                }
+                if (records.size() == before) {
+                    break;
+                }
+            }
+            if (records.isEmpty()) {
+                return new ReplayResult(sourceTopic, dltTopic, 0, 0);
+            }
+
+            int replayed = send(sourceTopic, records);
+            consumer.commitSync(nextOffsets(records));
+            log.info("Replay do DLT {}: {} registro(s) lidos, {} reenviado(s) para {}",
+                    dltTopic, records.size(), replayed, sourceTopic);
+            return new ReplayResult(sourceTopic, dltTopic, records.size(), replayed);
+        }
+    }
+
+    private int send(String sourceTopic, List<ConsumerRecord<String, byte[]>> records) {
+        Set<String> origins = new HashSet<>();
+        List<CompletableFuture<?>> sends = new ArrayList<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            String origin = FailedEventForwarder.header(record.headers(), FailedEventForwarder.ORIGINAL_PARTITION_HEADER, "")
+                    + ":" + FailedEventForwarder.header(record.headers(), FailedEventForwarder.ORIGINAL_OFFSET_HEADER,
+                    record.partition() + "@" + record.offset());
+            if (!origins.add(origin)) {
+                continue;
+            }
+            RecordHeaders headers = new RecordHeaders();
+            for (Header header : record.headers()) {
+                if (!header.key().startsWith(FailedEventForwarder.HEADER_PREFIX)) {
+                    headers.add(header);
+                }
+            }
+            sends.add(forwarder.sendRaw(new ProducerRecord<>(sourceTopic, null, record.key(), record.value(), headers)));
+        }
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay do DLT interrompido", e);
+        } catch (Exception e) {
+            // Nada é confirmado no DLT: o lote inteiro será reenviado na próxima chamada
+            throw new IllegalStateException("Falha ao reenviar registros do DLT para " + sourceTopic, e);
+        }
+        return sends.size();
+    }
+
+    private static Map<TopicPartition, OffsetAndMetadata> nextOffsets(List<ConsumerRecord<String, byte[]>> records) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            offsets.merge(new TopicPartition(record.topic(), record.partition()),
+                    new OffsetAndMetadata(record.offset() + 1),
+                    (current, candidate) -> candidate.offset() > current.offset() ? candidate : current);
+        }
+        return offsets;
+    }
+
+    /**
+     * Resultado de um lote de replay: registros lidos do DLT e reenviados (sem duplicatas).
+     */
+    public record ReplayResult(String sourceTopic, String dltTopic, int read, int replayed) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.distrischool.student.kafka;
 
+import com.distrischool.student.kafka.payload.StudentEventPayload;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,6 +19,12 @@ public class DistriSchoolEvent {
     private String source;
     private Map<String, Object> data;
 
+    /**
+     * Versão do agregado (aluno) que gerou o evento; cresce a cada alteração do mesmo aluno.
+     * Consumidores podem descartar eventos com versão menor ou igual à já aplicada.
+     */
+    private Long version;
+
     public static DistriSchoolEvent of(String eventType, String source, Map<String, Object> data) {
         return DistriSchoolEvent.builder()
                 .eventId(UUID.randomUUID().toString())
@@ -26,4 +33,13 @@ public static DistriSchoolEvent of(String eventType, String source, Map<String,
                 .data(data)
                 .build();
     }
+
+    /**
+     * Cria o evento a partir do payload tipado, com a versão do aluno que o gerou.
+     */
+    public static DistriSchoolEvent of(String source, StudentEventPayload payload, Long version) {
+        DistriSchoolEvent event = of(payload.eventType(), source, payload.toData());
+        event.setVersion(version);
+        return event;
+    }
 }
@@ -1,25 +1,50 @@
 package com.distrischool.student.kafka;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Publica eventos através do outbox transacional.
+ *
+ * O evento é gravado na tabela {@code event_outbox} na transação corrente, junto com a
+ * alteração do aluno: se a transação for desfeita, o evento também é. A entrega ao Kafka
+ * fica a cargo do {@link OutboxRelay}, fora do caminho da requisição.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class EventProducer {
 
-    private final KafkaTemplate<String, DistriSchoolEvent> kafkaTemplate;
+    private static final String INSERT_SQL = """
+            INSERT INTO event_outbox (aggregate_id, topic, event_id, event_type, payload)
+            VALUES (?, ?, ?, ?, CAST(? AS JSONB))
+            """;
 
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
     public void send(String topic, DistriSchoolEvent event) {
+        String payload;
         try {
-            log.info("Enviando evento para o tópico {}: {}", topic, event.getEventType());
-            kafkaTemplate.send(topic, event.getEventId(), event);
-            log.info("Evento enviado com sucesso: {}", event.getEventId());
-        } catch (Exception e) {
-            log.error("Erro ao enviar evento para o tópico {}: {}", topic, e.getMessage(), e);
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento " + event.getEventType(), e);
         }
+        jdbcTemplate.update(INSERT_SQL, aggregateId(event), topic, event.getEventId(), event.getEventType(), payload);
+        log.debug("Evento {} gravado no outbox para o tópico {}: {}", event.getEventType(), topic, event.getEventId());
     }
-}
 
+    /**
+     * Eventos de aluno são agrupados pelo ID do aluno; os demais, pelo próprio ID do evento.
+     */
+    static String aggregateId(DistriSchoolEvent event) {
+        Object studentId = event.getData() != null ? event.getData().get("studentId") : null;
+        return studentId != null ? studentId.toString() : event.getEventId();
+    }
+}
@@ -0,0 +1,87 @@
+package com.distrischool.student.kafka;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registro local dos esquemas do formato binário dos eventos, lido de
+ * {@code kafka/event-schemas.json} no classpath.
+ *
+ * Cada tipo de evento tem um {@code schemaId} fixo e uma ou mais versões. O produtor
+ * grava sempre a versão mais recente; o consumidor lê qualquer versão presente no
+ * arquivo, por isso uma nova versão deve chegar aos consumidores antes dos produtores.
+ */
+public final class EventSchemaRegistry {
+
+    public static final String DEFAULT_LOCATION = "kafka/event-schemas.json";
+
+    private final Map<String, EventSchema> latestByEventType = new HashMap<>();
+    private final Map<Long, EventSchema> bySchemaIdAndVersion = new HashMap<>();
+
+    EventSchemaRegistry(List<EventSchema> schemas) {
+        for (EventSchema schema : schemas) {
+            if (schema.fields().size() > 62) {
+                throw new IllegalArgumentException("Esquema " + schema.eventType() + " com campos demais");
+            }
+            if (bySchemaIdAndVersion.put(key(schema.schemaId(), schema.version()), schema) != null) {
+                throw new IllegalArgumentException("Esquema duplicado: id=" + schema.schemaId()
+                        + ", versão=" + schema.version());
+            }
+            latestByEventType.merge(schema.eventType(), schema,
+                    (current, candidate) -> candidate.version() > current.version() ? candidate : current);
+        }
+    }
+
+    public static EventSchemaRegistry loadDefault() {
+        return load(DEFAULT_LOCATION);
+    }
+
+    public static EventSchemaRegistry load(String classpathLocation) {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        try (InputStream in = new ClassPathResource(classpathLocation).getInputStream()) {
+            return new EventSchemaRegistry(objectMapper.readValue(in, SchemaFile.class).schemas());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao carregar esquemas de eventos de " + classpathLocation, e);
+        }
+    }
+
+    /**
+     * Versão mais recente do esquema do tipo de evento, se houver.
+     */
+    public Optional<EventSchema> latest(String eventType) {
+        return Optional.ofNullable(latestByEventType.get(eventType));
+    }
+
+    public Optional<EventSchema> find(int schemaId, int version) {
+        return Optional.ofNullable(bySchemaIdAndVersion.get(key(schemaId, version)));
+    }
+
+    private static long key(int schemaId, int version) {
+        return ((long) schemaId << 32) | (version & 0xFFFFFFFFL);
+    }
+
+    public record EventSchema(String eventType, int schemaId, int version, List<Field> fields) {
+    }
+
+    public record Field(String name, FieldType type) {
+    }
+
+    public enum FieldType {
+        LONG, STRING
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record SchemaFile(List<EventSchema> schemas) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.distrischool.student.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encaminha eventos que falharam no consumo para o próximo tópico de retry ou para o DLT,
+ * sem bloquear a partição de origem (ver {@link StudentEventRetryTopics}).
+ *
+ * Registros que nem chegaram a ser desserializados vão direto para o DLT com os bytes
+ * originais. Os demais passam pelos níveis de retry e, esgotados, seguem para o DLT.
+ * Os headers {@code x-distrischool-*} guardam a tentativa, o instante a partir do qual o
+ * registro pode ser reprocessado, a origem e o grupo de consumo que falhou: cada instância
+ * consome os tópicos de retry com grupo próprio e só reprocessa as próprias falhas.
+ */
+@Component
+@Slf4j
+public class FailedEventForwarder implements DisposableBean {
+
+    static final String HEADER_PREFIX = "x-distrischool-";
+    public static final String ATTEMPT_HEADER = HEADER_PREFIX + "retry-attempt";
+    public static final String DUE_AT_HEADER = HEADER_PREFIX + "retry-due-at";
+    public static final String ORIGINAL_TOPIC_HEADER = HEADER_PREFIX + "original-topic";
+    public static final String ORIGINAL_PARTITION_HEADER = HEADER_PREFIX + "original-partition";
+    public static final String ORIGINAL_OFFSET_HEADER = HEADER_PREFIX + "original-offset";
+    public static final String ORIGIN_GROUP_HEADER = HEADER_PREFIX + "origin-group";
+    public static final String EXCEPTION_HEADER = HEADER_PREFIX + "exception";
+
+    private static final int MAX_EXCEPTION_LENGTH = 500;
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(FailedEventForwarder.class);
+
+    private final KafkaTemplate<String, DistriSchoolEvent> kafkaTemplate;
+    private final DefaultKafkaProducerFactory<String, byte[]> rawProducerFactory;
+    private final KafkaTemplate<String, byte[]> rawKafkaTemplate;
+    private final StudentEventRetryTopics retryTopics;
+    private final MeterRegistry meterRegistry;
+    private final String groupId;
+    private final Duration sendTimeout;
+
+    public FailedEventForwarder(KafkaTemplate<String, DistriSchoolEvent> kafkaTemplate,
+                                KafkaProperties kafkaProperties,
+                                StudentEventRetryTopics retryTopics,
+                                MeterRegistry meterRegistry,
+                                @Value("${microservice.read-model.group-id}") String groupId,
+                                @Value("${microservice.kafka.retry.send-timeout:10s}") Duration sendTimeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        // Produtor de bytes para registros não desserializáveis e para o replay do DLT
+        this.rawProducerFactory = new DefaultKafkaProducerFactory<>(kafkaProperties.buildProducerProperties(null),
+                new StringSerializer(), new ByteArraySerializer());
+        this.rawKafkaTemplate = new KafkaTemplate<>(rawProducerFactory);
+        this.retryTopics = retryTopics;
+        this.meterRegistry = meterRegistry;
+        this.groupId = groupId;
+        this.sendTimeout = sendTimeout;
+    }
+
+    /**
+     * Encaminha o registro e espera a confirmação do broker. Se o envio falhar, a exceção
+     * sobe para o listener, que deixa o registro para ser entregue de novo.
+     */
+    public void forward(ConsumerRecord<String, DistriSchoolEvent> record, Exception error) {
+        String sourceTopic = originalTopic(record);
+        DeserializationException deserializationError = deserializationError(record);
+        int nextAttempt = attempt(record) + 1;
+        boolean deadLetter = deserializationError != null || nextAttempt >= StudentEventRetryTopics.ATTEMPTS;
+        String destination = deadLetter ? retryTopics.dltTopic(sourceTopic) : retryTopics.retryTopic(sourceTopic, nextAttempt);
+
+        Headers headers = copyHeaders(record.headers(), deserializationError == null);
+        headers.add(ORIGINAL_TOPIC_HEADER, bytes(sourceTopic));
+        headers.add(ORIGINAL_PARTITION_HEADER, bytes(header(record.headers(), ORIGINAL_PARTITION_HEADER,
+                String.valueOf(record.partition()))));
+        headers.add(ORIGINAL_OFFSET_HEADER, bytes(header(record.headers(), ORIGINAL_OFFSET_HEADER,
+                String.valueOf(record.offset()))));
+        headers.add(ORIGIN_GROUP_HEADER, bytes(groupId));
+        headers.add(EXCEPTION_HEADER, bytes(describe(deserializationError != null ? deserializationError : error)));
+        if (!deadLetter) {
+            headers.add(ATTEMPT_HEADER, bytes(String.valueOf(nextAttempt)));
+            headers.add(DUE_AT_HEADER, bytes(String.valueOf(
+                    System.currentTimeMillis() + retryTopics.delay(nextAttempt).toMillis())));
+        }
+
+        CompletableFuture<?> sent = deserializationError != null
+                ? rawKafkaTemplate.send(new ProducerRecord<>(destination, null, record.key(),
+                        deserializationError.getData(), headers))
+                : kafkaTemplate.send(new ProducerRecord<>(destination, null, record.key(), record.value(), headers));
+        try {
+            sent.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao encaminhar evento para " + destination, e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao encaminhar evento para " + destination, e);
+        }
+
+        meterRegistry.counter("kafka.consumer.events.forwarded",
+                "topic", sourceTopic, "destination", deadLetter ? "dlt" : "retry").increment();
+        log.warn("Evento de {} (partição {}, offset {}) encaminhado para {}: {}", record.topic(),
+                record.partition(), record.offset(), destination, describe(error));
+    }
+
+    /**
+     * Envia bytes já serializados (replay do DLT), preservando chave e headers.
+     */
+    public CompletableFuture<SendResult<String, byte[]>> sendRaw(ProducerRecord<String, byte[]> record) {
+        return rawKafkaTemplate.send(record);
+    }
+
+    /**
+     * Indica se o registro de retry foi encaminhado por esta instância.
+     */
+    public boolean isOwnFailure(ConsumerRecord<?, ?> record) {
+        String origin = header(record.headers(), ORIGIN_GROUP_HEADER, null);
+        return origin == null || origin.equals(groupId);
+    }
+
+    /**
+     * Tempo até o registro de retry poder ser reprocessado (zero ou negativo se já pode).
+     */
+    public long remainingDelayMillis(ConsumerRecord<?, ?> record) {
+        String dueAt = header(record.headers(), DUE_AT_HEADER, null);
+        return dueAt != null ? Long.parseLong(dueAt) - System.currentTimeMillis() : 0;
+    }
+
+    public static String originalTopic(ConsumerRecord<?, ?> record) {
+        return header(record.headers(), ORIGINAL_TOPIC_HEADER, record.topic());
+    }
+
+    /**
+     * Erro de desserialização registrado pelo {@code ErrorHandlingDeserializer}, se houver.
+     */
+    public static DeserializationException deserializationError(ConsumerRecord<?, ?> record) {
+        if (record.value() != null
+                || record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) == null) {
+            return null;
+        }
+        return SerializationUtils.getExceptionFromHeader(record,
+                SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR);
+    }
+
+    static String header(Headers headers, String name, String defaultValue) {
+        Header header = headers.lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : defaultValue;
+    }
+
+    private static int attempt(ConsumerRecord<?, ?> record) {
+        return Integer.parseInt(header(record.headers(), ATTEMPT_HEADER, "-1"));
+    }
+
+    /**
+     * Copia os headers do registro, exceto os de controle (recriados a cada encaminhamento),
+     * os de erro de desserialização e, quando o valor será serializado de novo, o content-type.
+     */
+    private static Headers copyHeaders(Headers source, boolean reserialize) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : source) {
+            String key = header.key();
+            if (key.startsWith(HEADER_PREFIX)
+                    || key.startsWith(SerializationUtils.DESERIALIZER_EXCEPTION_HEADER_PREFIX)
+                    || (reserialize && key.equals(StudentEventSerializer.CONTENT_TYPE_HEADER))) {
+                continue;
+            }
+            headers.add(header);
+        }
+        return headers;
+    }
+
+    private static String describe(Throwable error) {
+        String description = error.getClass().getSimpleName() + ": " + error.getMessage();
+        return description.length() > MAX_EXCEPTION_LENGTH ? description.substring(0, MAX_EXCEPTION_LENGTH) : description;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void destroy() {
+        rawProducerFactory.destroy();
+    }
+}
@@ -0,0 +1,388 @@
+package com.distrischool.student.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.errors.RetriableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica no Kafka os eventos gravados no outbox ({@code event_outbox}).
+ *
+ * A cada execução, lê um lote em ordem de inserção e o envia em rodadas: em cada rodada,
+ * o próximo evento de cada aluno, só depois da confirmação do evento anterior do mesmo
+ * aluno. Se o envio de um evento falha, os eventos seguintes do aluno nem são enviados e
+ * ficam no outbox, para a próxima execução, na mesma ordem (entrega at-least-once;
+ * consumidores deduplicam pelo {@code eventId}). Todas as rodadas dividem um único prazo
+ * ({@code send-timeout}), e uma falha encerra a drenagem até o próximo intervalo: com o
+ * broker fora do ar, a thread do agendador e os locks do lote ficam retidos por no máximo
+ * esse prazo (mais um {@code max.block.ms} do produtor) a cada intervalo.
+ *
+ * Falhas que nunca vão passar (payload ilegível, ou rejeição não transitória do broker em
+ * {@code max-attempts} execuções) tiram o evento da fila ({@code failed_at}, com
+ * {@code attempts} e {@code last_error}) em vez de travar o aluno para sempre; os eventos
+ * seguintes do aluno voltam a ser publicados. Eventos retirados aparecem no gauge
+ * {@code outbox.failed} e precisam de análise manual.
+ *
+ * Apenas uma instância drena o outbox por vez ({@code pg_try_advisory_xact_lock}),
+ * o que mantém a ordem por aluno mesmo com várias réplicas do serviço.
+ *
+ * Métricas: eventos por lote, tamanho dos eventos e latência envio -> confirmação
+ * ({@code outbox.relay.*}; histogramas habilitados no perfil {@code kafka-bulk}). Tamanho
+ * médio dos lotes do produtor e taxa de compressão vêm das métricas do cliente Kafka
+ * ({@code kafka.producer.batch.size.avg}, {@code kafka.producer.compression.rate.avg}).
+ */
+@Component
+@ConditionalOnProperty(name = "microservice.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+
+    /** Chave do advisory lock do relay no PostgreSQL */
+    static final long RELAY_LOCK_KEY = 0x5354_5544_4F42_5831L;
+
+    static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+
+    static final String SELECT_BATCH_SQL = """
+            SELECT id, aggregate_id, topic, payload::text AS payload, attempts
+            FROM event_outbox
+            WHERE failed_at IS NULL
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    static final String DELETE_SQL = "DELETE FROM event_outbox WHERE id = ?";
+
+    static final String FAILURE_SQL = """
+            UPDATE event_outbox
+            SET attempts = attempts + 1, last_error = ?, failed_at = CASE WHEN ? THEN CURRENT_TIMESTAMP END
+            WHERE id = ?
+            """;
+
+    static final String BACKLOG_SQL = """
+            SELECT COUNT(*) FILTER (WHERE failed_at IS NULL),
+                   MIN(created_at) FILTER (WHERE failed_at IS NULL),
+                   COUNT(*) FILTER (WHERE failed_at IS NOT NULL)
+            FROM event_outbox
+            """;
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final KafkaTemplate<String, DistriSchoolEvent> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final int maxAttempts;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestEventAgeMillis = new AtomicLong();
+    private final AtomicLong failedEvents = new AtomicLong();
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+    private final Timer batchTimer;
+    private final Timer sendTimer;
+    private final DistributionSummary batchEvents;
+    private final DistributionSummary eventSize;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       KafkaTemplate<String, DistriSchoolEvent> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${microservice.outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${microservice.outbox.relay.send-timeout:10s}") Duration sendTimeout,
+                       @Value("${microservice.outbox.relay.max-attempts:5}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = Math.max(1, batchSize);
+        this.sendTimeout = sendTimeout;
+        this.maxAttempts = Math.max(1, maxAttempts);
+
+        Gauge.builder("outbox.backlog", backlog, AtomicLong::get)
+                .description("Eventos aguardando publicação no outbox")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", oldestEventAgeMillis, value -> value.get() / 1000.0)
+                .description("Idade em segundos do evento mais antigo do outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("outbox.failed", failedEvents, AtomicLong::get)
+                .description("Eventos retirados da fila do outbox por falha permanente")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("outbox.events.relayed")
+                .description("Eventos do outbox publicados no Kafka")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events.relayed")
+                .description("Eventos do outbox publicados no Kafka")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("outbox.events.relayed")
+                .description("Eventos do outbox publicados no Kafka")
+                .tag("result", "parked")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Tempo para publicar e confirmar um lote do outbox")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("outbox.relay.send")
+                .description("Latência entre o envio de um evento e a confirmação do broker")
+                .register(meterRegistry);
+        this.batchEvents = DistributionSummary.builder("outbox.relay.batch.events")
+                .description("Eventos lidos do outbox por lote")
+                .register(meterRegistry);
+        this.eventSize = DistributionSummary.builder("outbox.relay.event.size")
+                .description("Tamanho do evento em JSON, antes da compressão do produtor")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drena o outbox enquanto lotes cheios forem inteiramente confirmados e atualiza as
+     * métricas de backlog. Qualquer falha encerra a execução: o restante fica para o
+     * próximo intervalo, sem repetir imediatamente contra um broker indisponível.
+     */
+    @Scheduled(fixedDelayString = "${microservice.outbox.relay.interval:500ms}")
+    public void relay() {
+        try {
+            int confirmed;
+            do {
+                confirmed = batchTimer.record(this::relayBatch);
+            } while (confirmed == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao drenar o outbox de eventos: {}", e.getMessage());
+        } finally {
+            updateBacklogMetrics();
+        }
+    }
+
+    /**
+     * Publica um lote do outbox. Retorna o número de eventos confirmados pelo broker (0 se
+     * outra instância estiver drenando).
+     */
+    int relayBatch() {
+        Integer processed = transactionTemplate.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class, RELAY_LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                return 0;
+            }
+            List<OutboxRecord> batch = jdbcTemplate.query(SELECT_BATCH_SQL, (rs, rowNum) -> new OutboxRecord(
+                    rs.getLong("id"), rs.getString("aggregate_id"), rs.getString("topic"), rs.getString("payload"),
+                    rs.getInt("attempts")), batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            batchEvents.record(batch.size());
+            List<Long> confirmed = publish(batch);
+            if (!confirmed.isEmpty()) {
+                jdbcTemplate.batchUpdate(DELETE_SQL, confirmed, confirmed.size(),
+                        (ps, id) -> ps.setLong(1, id));
+            }
+            return confirmed.size();
+        });
+        return processed != null ? processed : 0;
+    }
+
+    /**
+     * Envia o lote em rodadas (um evento por aluno em cada uma) e retorna os IDs confirmados
+     * pelo broker. O evento seguinte de um aluno só é enviado depois da confirmação do
+     * anterior; depois de uma falha, os demais eventos do aluno não são enviados.
+     */
+    private List<Long> publish(List<OutboxRecord> batch) {
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        Map<String, ArrayDeque<OutboxRecord>> pendingByAggregate = new LinkedHashMap<>();
+        for (OutboxRecord record : batch) {
+            pendingByAggregate.computeIfAbsent(record.aggregateId(), id -> new ArrayDeque<>()).add(record);
+        }
+
+        List<Long> confirmed = new ArrayList<>(batch.size());
+        int failures = 0;
+        Throwable firstFailure = null;
+        while (!pendingByAggregate.isEmpty() && System.nanoTime() < deadline
+                && !Thread.currentThread().isInterrupted()) {
+            List<OutboxRecord> round = new ArrayList<>(pendingByAggregate.size());
+            List<CompletableFuture<?>> sends = new ArrayList<>(pendingByAggregate.size());
+            for (ArrayDeque<OutboxRecord> pending : pendingByAggregate.values()) {
+                if (System.nanoTime() >= deadline) {
+                    // send() pode bloquear (metadados do tópico, até max.block.ms) sem broker
+                    break;
+                }
+                OutboxRecord record = pending.poll();
+                round.add(record);
+                sends.add(send(record));
+            }
+            awaitAll(sends, deadline);
+
+            for (int i = 0; i < round.size(); i++) {
+                OutboxRecord record = round.get(i);
+                Throwable error = failure(sends.get(i));
+                if (error == null) {
+                    confirmed.add(record.id());
+                    sentCounter.increment();
+                    continue;
+                }
+                // Os eventos seguintes do aluno ficam no outbox, para a próxima execução
+                pendingByAggregate.remove(record.aggregateId());
+                failedCounter.increment();
+                recordFailure(record, error);
+                failures++;
+                if (firstFailure == null) {
+                    firstFailure = error;
+                }
+            }
+            pendingByAggregate.values().removeIf(ArrayDeque::isEmpty);
+        }
+
+        if (failures > 0) {
+            log.warn("Falha ao publicar {} evento(s) do outbox; {} confirmado(s) no lote. Primeira falha: {}",
+                    failures, confirmed.size(), firstFailure.getMessage());
+        }
+        return confirmed;
+    }
+
+    /**
+     * Aguarda as confirmações até o prazo do lote; envios ainda pendentes são cancelados
+     * (o evento fica no outbox e é reenviado na próxima execução).
+     */
+    private static void awaitAll(List<CompletableFuture<?>> sends, long deadline) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Falhas são tratadas evento a evento, abaixo
+        }
+        sends.forEach(send -> send.cancel(false));
+    }
+
+    /**
+     * Falha do envio, ou {@code null} se o broker o confirmou.
+     */
+    private static Throwable failure(CompletableFuture<?> send) {
+        try {
+            send.join();
+            return null;
+        } catch (CancellationException e) {
+            return new TimeoutException("sem confirmação do broker dentro do prazo do lote");
+        } catch (CompletionException e) {
+            return e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    /**
+     * Registra a falha de um evento. Falhas transitórias (broker indisponível, prazo) não
+     * contam; payload ilegível tira o evento da fila na hora, e rejeições não transitórias
+     * do broker, depois de {@code max-attempts} execuções.
+     */
+    private void recordFailure(OutboxRecord record, Throwable error) {
+        boolean unreadable = hasCause(error, JsonProcessingException.class);
+        if (!unreadable && !isPermanent(error)) {
+            log.debug("Falha transitória ao publicar evento do outbox ID={} no tópico {}: {}",
+                    record.id(), record.topic(), error.getMessage());
+            return;
+        }
+        boolean park = unreadable || record.attempts() + 1 >= maxAttempts;
+        String message = String.valueOf(error.getMessage());
+        jdbcTemplate.update(FAILURE_SQL,
+                message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message,
+                park, record.id());
+        if (park) {
+            parkedCounter.increment();
+            log.error("Evento do outbox ID={} (aluno {}, tópico {}) retirado da fila após {} falha(s): {}",
+                    record.id(), record.aggregateId(), record.topic(), record.attempts() + 1, message);
+        }
+    }
+
+    /**
+     * Rejeição do broker ou do produtor que não passa com novas tentativas (ex.: evento
+     * grande demais, tópico inválido, falha de serialização).
+     */
+    private static boolean isPermanent(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof KafkaException) {
+                return !(cause instanceof RetriableException || cause instanceof InterruptException);
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasCause(Throwable error, Class<? extends Throwable> type) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CompletableFuture<?> send(OutboxRecord record) {
+        try {
+            DistriSchoolEvent event = objectMapper.readValue(record.payload(), DistriSchoolEvent.class);
+            eventSize.record(record.payload().length());
+            long start = System.nanoTime();
+            // Chave = ID do aluno: todos os eventos do aluno vão para a mesma partição, em ordem
+            return kafkaTemplate.send(record.topic(), record.aggregateId(), event)
+                    .whenComplete((result, error) -> {
+                        if (error == null) {
+                            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        }
+                    });
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void updateBacklogMetrics() {
+        try {
+            jdbcTemplate.query(BACKLOG_SQL, rs -> {
+                backlog.set(rs.getLong(1));
+                Timestamp oldest = rs.getTimestamp(2);
+                oldestEventAgeMillis.set(oldest != null
+                        ? Math.max(0, Duration.between(oldest.toInstant(), Instant.now()).toMillis())
+                        : 0);
+                failedEvents.set(rs.getLong(3));
+            });
+        } catch (RuntimeException e) {
+            log.debug("Falha ao atualizar métricas do outbox: {}", e.getMessage());
+        }
+    }
+
+    record OutboxRecord(long id, String aggregateId, String topic, String payload, int attempts) {
+    }
+}
@@ -1,96 +1,305 @@
 package com.distrischool.student.kafka;
 
+import com.distrischool.student.kafka.payload.StudentCreatedPayload;
+import com.distrischool.student.kafka.payload.StudentDeletedPayload;
+import com.distrischool.student.kafka.payload.StudentStatusChangedPayload;
+import com.distrischool.student.kafka.payload.StudentUpdatedPayload;
+import com.distrischool.student.metrics.KafkaConsumerBatchMetrics;
+import com.distrischool.student.readmodel.StudentReadModel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.serializer.DeserializationException;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Consumer Kafka para processar eventos de alunos
  * Este é um exemplo de como outros serviços podem consumir eventos de alunos
+ *
+ * Os listeners recebem lotes (um por poll) e confirmam o lote inteiro ao final
+ * (ack manual). A concorrência de cada listener é configurável por tópico, até o
+ * número de partições.
+ *
+ * Um registro com falha não bloqueia a partição: é encaminhado para o tópico de retry
+ * com atraso exponencial e, esgotadas as tentativas, para o DLT
+ * ({@link FailedEventForwarder}, {@link StudentEventRetryTopics}). Registros que não
+ * puderam ser desserializados vão direto para o DLT. O DLT pode ser reenviado pelo
+ * endpoint de administração ({@link DeadLetterReplayService}).
+ *
+ * Cada registro também é aplicado à {@link StudentReadModel}. Por isso o grupo de consumo é
+ * próprio de cada instância ({@code microservice.read-model.group-id}): todas as réplicas
+ * recebem todas as partições. Os listeners só iniciam depois da carga da projeção
+ * ({@code StudentReadModelBootstrap}) e retomam do offset que ela já conhece.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class StudentEventConsumer {
+public class StudentEventConsumer implements ConsumerSeekAware {
+
+    public static final String CREATED_LISTENER_ID = "student-created-listener";
+    public static final String STATUS_CHANGED_LISTENER_ID = "student-status-changed-listener";
+    public static final String UPDATED_LISTENER_ID = "student-updated-listener";
+    public static final String DELETED_LISTENER_ID = "student-deleted-listener";
+
+    public static final String RETRY_LISTENER_ID_PREFIX = "student-retry-listener-";
+
+    public static final List<String> LISTENER_IDS = List.of(
+            CREATED_LISTENER_ID, STATUS_CHANGED_LISTENER_ID, UPDATED_LISTENER_ID, DELETED_LISTENER_ID,
+            RETRY_LISTENER_ID_PREFIX + 0, RETRY_LISTENER_ID_PREFIX + 1, RETRY_LISTENER_ID_PREFIX + 2);
+
+    private final KafkaConsumerBatchMetrics batchMetrics;
+    private final StudentReadModel readModel;
+    private final FailedEventForwarder failedEventForwarder;
+
+    @Value("${microservice.kafka.topics.student-created}")
+    private String studentCreatedTopic;
+
+    @Value("${microservice.kafka.topics.student-updated}")
+    private String studentUpdatedTopic;
+
+    @Value("${microservice.kafka.topics.student-deleted}")
+    private String studentDeletedTopic;
+
+    @Value("${microservice.kafka.topics.student-status-changed}")
+    private String studentStatusChangedTopic;
+
+    /**
+     * Retoma cada partição do offset seguinte ao último aplicado na projeção local, quando conhecido.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        assignments.keySet().forEach(partition -> {
+            Long next = readModel.nextOffset(partition);
+            if (next != null) {
+                callback.seek(partition.topic(), partition.partition(), next);
+            }
+        });
+    }
 
     /**
      * Exemplo de consumer que escuta eventos de aluno criado
      * Outros serviços podem usar este padrão para reagir a eventos
      */
     @KafkaListener(
+        id = CREATED_LISTENER_ID,
         topics = "${microservice.kafka.topics.student-created}",
-        groupId = "${spring.application.name}-consumer-group"
+        groupId = "${microservice.read-model.group-id}",
+        autoStartup = "false",
+        concurrency = "${microservice.kafka.consumer.concurrency.student-created:3}"
     )
-    public void handleStudentCreated(DistriSchoolEvent event) {
-        log.info("Evento recebido - student.created: Tipo={}, Source={}",
-                 event.getEventType(),
-                 event.getSource());
-
-        // Extrair dados do evento
-        var data = event.getData();
-        log.info("  Student ID: {}", data.get("studentId"));
-        log.info("  Nome: {}", data.get("fullName"));
-        log.info("  Matrícula: {}", data.get("registrationNumber"));
-
-        // Aqui você pode adicionar lógica para processar o evento
-        // Por exemplo: enviar email de boas-vindas, criar usuário no sistema, etc.
+    public void handleStudentCreated(List<ConsumerRecord<String, DistriSchoolEvent>> records,
+                                     Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        processBatch(records, acknowledgment, consumer, this::onStudentCreated);
     }
 
     /**
      * Exemplo de consumer que escuta mudanças de status
      */
     @KafkaListener(
+        id = STATUS_CHANGED_LISTENER_ID,
         topics = "${microservice.kafka.topics.student-status-changed}",
-        groupId = "${spring.application.name}-consumer-group"
+        groupId = "${microservice.read-model.group-id}",
+        autoStartup = "false",
+        concurrency = "${microservice.kafka.consumer.concurrency.student-status-changed:3}"
     )
-    public void handleStudentStatusChanged(DistriSchoolEvent event) {
-        log.info("Evento recebido - student.status.changed: Tipo={}, Source={}",
-                 event.getEventType(),
-                 event.getSource());
-
-        var data = event.getData();
-        log.info("  Student ID: {}", data.get("studentId"));
-        log.info("  Status: {} -> {}", data.get("oldStatus"), data.get("newStatus"));
-
-        // Aqui você pode adicionar lógica para processar mudanças de status
-        // Por exemplo: notificar o aluno, atualizar sistemas externos, etc.
+    public void handleStudentStatusChanged(List<ConsumerRecord<String, DistriSchoolEvent>> records,
+                                           Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        processBatch(records, acknowledgment, consumer, this::onStudentStatusChanged);
     }
 
     /**
      * Exemplo de consumer que escuta atualizações de aluno
      */
     @KafkaListener(
+        id = UPDATED_LISTENER_ID,
         topics = "${microservice.kafka.topics.student-updated}",
-        groupId = "${spring.application.name}-consumer-group"
+        groupId = "${microservice.read-model.group-id}",
+        autoStartup = "false",
+        concurrency = "${microservice.kafka.consumer.concurrency.student-updated:3}"
     )
-    public void handleStudentUpdated(DistriSchoolEvent event) {
-        log.info("Evento recebido - student.updated: Tipo={}, Source={}",
-                 event.getEventType(),
-                 event.getSource());
-
-        var data = event.getData();
-        log.info("  Student ID: {}", data.get("studentId"));
-        log.info("  Email: {}", data.get("email"));
+    public void handleStudentUpdated(List<ConsumerRecord<String, DistriSchoolEvent>> records,
+                                     Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        processBatch(records, acknowledgment, consumer, this::onStudentUpdated);
     }
 
     /**
      * Exemplo de consumer que escuta exclusão de aluno
      */
     @KafkaListener(
+        id = DELETED_LISTENER_ID,
         topics = "${microservice.kafka.topics.student-deleted}",
-        groupId = "${spring.application.name}-consumer-group"
+        groupId = "${microservice.read-model.group-id}",
+        autoStartup = "false",
+        concurrency = "${microservice.kafka.consumer.concurrency.student-deleted:3}"
+    )
+    public void handleStudentDeleted(List<ConsumerRecord<String, DistriSchoolEvent>> records,
+                                     Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        processBatch(records, acknowledgment, consumer, this::onStudentDeleted);
+    }
+
+    /**
+     * Primeiro nível de retry ({@code <tópico>.retry-0}) de todos os tópicos de alunos
+     */
+    @KafkaListener(
+        id = RETRY_LISTENER_ID_PREFIX + 0,
+        topics = "#{@studentEventRetryTopics.retryTopics(0)}",
+        groupId = "${microservice.read-model.group-id}-retry",
+        autoStartup = "false"
+    )
+    public void handleRetry0(List<ConsumerRecord<String, DistriSchoolEvent>> records,
+                             Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        processRetryBatch(records, acknowledgment, consumer);
+    }
+
+    @KafkaListener(
+        id = RETRY_LISTENER_ID_PREFIX + 1,
+        topics = "#{@studentEventRetryTopics.retryTopics(1)}",
+        groupId = "${microservice.read-model.group-id}-retry",
+        autoStartup = "false"
+    )
+    public void handleRetry1(List<ConsumerRecord<String, DistriSchoolEvent>> records,
+                             Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        processRetryBatch(records, acknowledgment, consumer);
+    }
+
+    @KafkaListener(
+        id = RETRY_LISTENER_ID_PREFIX + 2,
+        topics = "#{@studentEventRetryTopics.retryTopics(2)}",
+        groupId = "${microservice.read-model.group-id}-retry",
+        autoStartup = "false"
     )
-    public void handleStudentDeleted(DistriSchoolEvent event) {
-        log.info("Evento recebido - student.deleted: Tipo={}, Source={}",
-                 event.getEventType(),
-                 event.getSource());
+    public void handleRetry2(List<ConsumerRecord<String, DistriSchoolEvent>> records,
+                             Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        processRetryBatch(records, acknowledgment, consumer);
+    }
+
+    private void onStudentCreated(DistriSchoolEvent event) {
+        StudentCreatedPayload payload = StudentCreatedPayload.from(event.getData());
+        log.debug("student.created: ID={}, Nome={}, Matrícula={}",
+                  payload.getStudentId(), payload.getFullName(), payload.getRegistrationNumber());
+
+        // Aqui você pode adicionar lógica para processar o evento
+        // Por exemplo: enviar email de boas-vindas, criar usuário no sistema, etc.
+    }
+
+    private void onStudentStatusChanged(DistriSchoolEvent event) {
+        StudentStatusChangedPayload payload = StudentStatusChangedPayload.from(event.getData());
+        log.debug("student.status.changed: ID={}, Status: {} -> {}",
+                  payload.getStudentId(), payload.getOldStatus(), payload.getNewStatus());
 
-        var data = event.getData();
-        log.info("  Student ID: {}", data.get("studentId"));
-        log.info("  Nome: {}", data.get("fullName"));
+        // Aqui você pode adicionar lógica para processar mudanças de status
+        // Por exemplo: notificar o aluno, atualizar sistemas externos, etc.
+    }
+
+    private void onStudentUpdated(DistriSchoolEvent event) {
+        StudentUpdatedPayload payload = StudentUpdatedPayload.from(event.getData());
+        log.debug("student.updated: ID={}, Email={}", payload.getStudentId(), payload.getEmail());
+    }
+
+    private void onStudentDeleted(DistriSchoolEvent event) {
+        StudentDeletedPayload payload = StudentDeletedPayload.from(event.getData());
+        log.debug("student.deleted: ID={}, Nome={}", payload.getStudentId(), payload.getFullName());
 
         // Aqui você pode adicionar lógica para processar a exclusão
         // Por exemplo: arquivar dados, notificar sistemas externos, etc.
     }
+
+    private void processBatch(List<ConsumerRecord<String, DistriSchoolEvent>> records,
+                              Acknowledgment acknowledgment, Consumer<?, ?> consumer,
+                              java.util.function.Consumer<DistriSchoolEvent> handler) {
+        if (records.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < records.size(); i++) {
+            process(records.get(i), i, handler);
+        }
+        acknowledgment.acknowledge();
+
+        String topic = records.get(0).topic();
+        long elapsed = System.nanoTime() - start;
+        batchMetrics.recordBatch(topic, records, elapsed, consumer);
+        log.info("Lote de {} evento(s) processado - tópico={}, {} ms", records.size(), topic, elapsed / 1_000_000);
+    }
+
+    /**
+     * Reprocessa registros de um nível de retry. Um registro que ainda não atingiu o atraso
+     * do nível interrompe o lote: os anteriores são confirmados e o consumidor pausa até ele
+     * ficar pronto ({@link Acknowledgment#nack(int, Duration)}), sem ocupar a thread.
+     */
+    private void processRetryBatch(List<ConsumerRecord<String, DistriSchoolEvent>> records,
+                                   Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        if (records.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, DistriSchoolEvent> record = records.get(i);
+            if (!failedEventForwarder.isOwnFailure(record)) {
+                // Falha de outra instância: ela mesma reprocessa
+                readModel.skip(record);
+                continue;
+            }
+            long delay = failedEventForwarder.remainingDelayMillis(record);
+            if (delay > 0) {
+                acknowledgment.nack(i, Duration.ofMillis(delay));
+                return;
+            }
+            process(record, i, handlerFor(FailedEventForwarder.originalTopic(record)));
+        }
+        acknowledgment.acknowledge();
+        batchMetrics.recordBatch(records.get(0).topic(), records, System.nanoTime() - start, consumer);
+    }
+
+    /**
+     * Processa um registro e o aplica à projeção local. Uma falha encaminha o registro para
+     * retry/DLT e o lote segue; só se o encaminhamento falhar o registro fica para ser
+     * entregue de novo ({@link BatchListenerFailedException}).
+     */
+    private void process(ConsumerRecord<String, DistriSchoolEvent> record, int index,
+                         java.util.function.Consumer<DistriSchoolEvent> handler) {
+        try {
+            DeserializationException deserializationError = FailedEventForwarder.deserializationError(record);
+            if (deserializationError != null) {
+                failedEventForwarder.forward(record, deserializationError);
+                readModel.skip(record);
+                return;
+            }
+            try {
+                if (record.value() != null) {
+                    handler.accept(record.value());
+                }
+                readModel.apply(record);
+            } catch (RuntimeException e) {
+                failedEventForwarder.forward(record, e);
+                readModel.skip(record);
+            }
+        } catch (RuntimeException e) {
+            throw new BatchListenerFailedException("Falha ao processar evento do tópico " + record.topic(), e, index);
+        }
+    }
+
+    private java.util.function.Consumer<DistriSchoolEvent> handlerFor(String topic) {
+        if (topic.equals(studentCreatedTopic)) {
+            return this::onStudentCreated;
+        } else if (topic.equals(studentStatusChangedTopic)) {
+            return this::onStudentStatusChanged;
+        } else if (topic.equals(studentUpdatedTopic)) {
+            return this::onStudentUpdated;
+        } else if (topic.equals(studentDeletedTopic)) {
+            return this::onStudentDeleted;
+        }
+        throw new IllegalArgumentException("Tópico de origem desconhecido: " + topic);
+    }
 }
@@ -0,0 +1,54 @@
+package com.distrischool.student.kafka;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Desserializador Kafka dos eventos de aluno.
+ *
+ * Registros com header {@code content-type} binário são lidos pelo {@link BinaryEventCodec};
+ * os demais (JSON, inclusive registros antigos sem o header) sempre como
+ * {@link DistriSchoolEvent}, sem usar os headers de tipo do Jackson — por isso não é
+ * preciso confiar em pacotes arbitrários.
+ */
+public class StudentEventDeserializer implements Deserializer<DistriSchoolEvent> {
+
+    private final JsonDeserializer<DistriSchoolEvent> jsonDeserializer =
+            new JsonDeserializer<>(DistriSchoolEvent.class, false);
+    private final BinaryEventCodec codec;
+
+    public StudentEventDeserializer() {
+        this(new BinaryEventCodec(EventSchemaRegistry.loadDefault()));
+    }
+
+    StudentEventDeserializer(BinaryEventCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public DistriSchoolEvent deserialize(String topic, byte[] data) {
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public DistriSchoolEvent deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        Header contentType = headers.lastHeader(StudentEventSerializer.CONTENT_TYPE_HEADER);
+        if (contentType != null && StudentEventSerializer.CONTENT_TYPE_BINARY.equals(
+                new String(contentType.value(), StandardCharsets.UTF_8))) {
+            return codec.decode(data);
+        }
+        return jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
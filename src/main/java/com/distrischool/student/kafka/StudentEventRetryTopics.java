@@ -0,0 +1,76 @@
+package com.distrischool.student.kafka;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nomes e atrasos dos tópicos de retry e de dead-letter dos eventos de alunos.
+ *
+ * Cada tópico de origem tem {@link #ATTEMPTS} tópicos de retry ({@code <tópico>.retry-0},
+ * {@code .retry-1}, ...) com atraso exponencial, e um DLT ({@code <tópico>.dlt}). Como todos
+ * os registros de um tópico de retry têm o mesmo atraso, a ordem de chegada é também a ordem
+ * em que ficam prontos para reprocessamento.
+ */
+@Component("studentEventRetryTopics")
+public class StudentEventRetryTopics {
+
+    /** Tentativas em tópicos de retry antes do DLT (um listener por nível, ver StudentEventConsumer) */
+    public static final int ATTEMPTS = 3;
+
+    private final List<String> sourceTopics;
+    private final Duration[] delays = new Duration[ATTEMPTS];
+
+    public StudentEventRetryTopics(@Value("${microservice.kafka.topics.student-created}") String createdTopic,
+                                   @Value("${microservice.kafka.topics.student-updated}") String updatedTopic,
+                                   @Value("${microservice.kafka.topics.student-deleted}") String deletedTopic,
+                                   @Value("${microservice.kafka.topics.student-status-changed}") String statusChangedTopic,
+                                   @Value("${microservice.kafka.retry.initial-delay:2s}") Duration initialDelay,
+                                   @Value("${microservice.kafka.retry.multiplier:5}") double multiplier) {
+        this.sourceTopics = List.of(createdTopic, updatedTopic, deletedTopic, statusChangedTopic);
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            delays[attempt] = Duration.ofMillis((long) (initialDelay.toMillis() * Math.pow(multiplier, attempt)));
+        }
+    }
+
+    public List<String> sourceTopics() {
+        return sourceTopics;
+    }
+
+    public boolean isSourceTopic(String topic) {
+        return sourceTopics.contains(topic);
+    }
+
+    public String retryTopic(String sourceTopic, int attempt) {
+        return sourceTopic + ".retry-" + attempt;
+    }
+
+    public String dltTopic(String sourceTopic) {
+        return sourceTopic + ".dlt";
+    }
+
+    public Duration delay(int attempt) {
+        return delays[attempt];
+    }
+
+    /**
+     * Tópicos de retry de um nível, para todos os tópicos de origem (usado nos listeners via SpEL).
+     */
+    public String[] retryTopics(int attempt) {
+        return sourceTopics.stream().map(topic -> retryTopic(topic, attempt)).toArray(String[]::new);
+    }
+
+    public List<String> allRetryAndDltTopics() {
+        List<String> topics = new ArrayList<>();
+        for (String source : sourceTopics) {
+            for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+                topics.add(retryTopic(source, attempt));
+            }
+            topics.add(dltTopic(source));
+        }
+        return topics;
+    }
+}
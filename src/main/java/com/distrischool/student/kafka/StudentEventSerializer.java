@@ -0,0 +1,74 @@
+package com.distrischool.student.kafka;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Serializador Kafka dos eventos de aluno.
+ *
+ * O formato é escolhido pela propriedade {@value #FORMAT_CONFIG} ({@code json} ou
+ * {@code binary}) e informado ao consumidor no header {@value #CONTENT_TYPE_HEADER}.
+ * Eventos sem esquema binário registrado seguem sempre em JSON.
+ */
+public class StudentEventSerializer implements Serializer<DistriSchoolEvent> {
+
+    public static final String FORMAT_CONFIG = "distrischool.event.format";
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String CONTENT_TYPE_JSON = "application/json";
+    public static final String CONTENT_TYPE_BINARY = "application/vnd.distrischool.event+binary";
+
+    private static final byte[] JSON_HEADER_VALUE = CONTENT_TYPE_JSON.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BINARY_HEADER_VALUE = CONTENT_TYPE_BINARY.getBytes(StandardCharsets.UTF_8);
+
+    private final JsonSerializer<DistriSchoolEvent> jsonSerializer = new JsonSerializer<>();
+    private final BinaryEventCodec codec;
+    private boolean binary;
+
+    public StudentEventSerializer() {
+        this(new BinaryEventCodec(EventSchemaRegistry.loadDefault()));
+    }
+
+    StudentEventSerializer(BinaryEventCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object format = configs.get(FORMAT_CONFIG);
+        binary = format != null && "binary".equalsIgnoreCase(format.toString().trim());
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, DistriSchoolEvent event) {
+        // Sem headers não há como sinalizar o formato: usa JSON
+        return jsonSerializer.serialize(topic, event);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, DistriSchoolEvent event) {
+        if (event == null) {
+            return null;
+        }
+        headers.remove(CONTENT_TYPE_HEADER);
+        if (binary) {
+            Optional<byte[]> encoded = codec.encode(event);
+            if (encoded.isPresent()) {
+                headers.add(CONTENT_TYPE_HEADER, BINARY_HEADER_VALUE);
+                return encoded.get();
+            }
+        }
+        headers.add(CONTENT_TYPE_HEADER, JSON_HEADER_VALUE);
+        return jsonSerializer.serialize(topic, headers, event);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
@@ -0,0 +1,57 @@
+package com.distrischool.student.kafka.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentCreatedPayload implements StudentEventPayload {
+
+    public static final String EVENT_TYPE = "student.created";
+
+    private Long studentId;
+    private String fullName;
+    private String email;
+    private String registrationNumber;
+    private String course;
+
+    /** Estado completo do aluno (esquema v2); {@code null} em eventos da versão 1 */
+    private StudentState state;
+
+    @Override
+    public String eventType() {
+        return EVENT_TYPE;
+    }
+
+    @Override
+    public Map<String, Object> toData() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("studentId", studentId);
+        data.put("fullName", fullName);
+        data.put("email", email);
+        data.put("registrationNumber", registrationNumber);
+        data.put("course", course);
+        if (state != null) {
+            state.putInto(data);
+        }
+        return data;
+    }
+
+    public static StudentCreatedPayload from(Map<String, Object> data) {
+        return StudentCreatedPayload.builder()
+                .studentId(StudentEventPayload.toLong(data.get("studentId")))
+                .fullName(StudentEventPayload.toText(data.get("fullName")))
+                .email(StudentEventPayload.toText(data.get("email")))
+                .registrationNumber(StudentEventPayload.toText(data.get("registrationNumber")))
+                .course(StudentEventPayload.toText(data.get("course")))
+                .state(StudentState.from(data))
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.distrischool.student.kafka.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentDeletedPayload implements StudentEventPayload {
+
+    public static final String EVENT_TYPE = "student.deleted";
+
+    private Long studentId;
+    private String fullName;
+    private String registrationNumber;
+
+    @Override
+    public String eventType() {
+        return EVENT_TYPE;
+    }
+
+    @Override
+    public Map<String, Object> toData() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("studentId", studentId);
+        data.put("fullName", fullName);
+        data.put("registrationNumber", registrationNumber);
+        return data;
+    }
+
+    public static StudentDeletedPayload from(Map<String, Object> data) {
+        return StudentDeletedPayload.builder()
+                .studentId(StudentEventPayload.toLong(data.get("studentId")))
+                .fullName(StudentEventPayload.toText(data.get("fullName")))
+                .registrationNumber(StudentEventPayload.toText(data.get("registrationNumber")))
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.distrischool.student.kafka.payload;
+
+import java.util.Map;
+
+/**
+ * Payload tipado de um evento de aluno.
+ *
+ * No envelope {@link com.distrischool.student.kafka.DistriSchoolEvent} o payload trafega
+ * como mapa ({@code data}), o que mantém o formato JSON dos eventos; os campos e sua ordem
+ * no formato binário estão em {@code kafka/event-schemas.json}.
+ */
+public interface StudentEventPayload {
+
+    /**
+     * Tipo do evento (ex: {@code student.created})
+     */
+    String eventType();
+
+    Long getStudentId();
+
+    /**
+     * Campos do payload no formato do envelope ({@code DistriSchoolEvent.data}).
+     */
+    Map<String, Object> toData();
+
+    static Long toLong(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Number number ? number.longValue() : Long.valueOf(value.toString());
+    }
+
+    static String toText(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
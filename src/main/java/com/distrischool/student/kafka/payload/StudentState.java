@@ -0,0 +1,144 @@
+package com.distrischool.student.kafka.payload;
+
+import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.entity.Student.StudentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Estado completo do aluno após a alteração, carregado pelos eventos {@code student.created}
+ * e {@code student.updated} a partir da versão 2 do esquema.
+ *
+ * Permite que consumidores mantenham uma projeção do aluno sem consultar o banco
+ * (ver {@code StudentReadModel}). No envelope os campos ficam no mesmo nível dos demais
+ * campos do payload; datas trafegam como texto ISO-8601.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentState {
+
+    /** Campo sempre presente no estado; eventos da versão 1 do esquema não o têm */
+    private static final String MARKER_FIELD = "status";
+
+    private String fullName;
+    private String cpf;
+    private String email;
+    private String phone;
+    private LocalDate birthDate;
+    private String registrationNumber;
+    private String course;
+    private Integer semester;
+    private LocalDate enrollmentDate;
+    private StudentStatus status;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String createdBy;
+    private String updatedBy;
+
+    public static StudentState of(StudentResponseDTO student) {
+        return StudentState.builder()
+                .fullName(student.getFullName())
+                .cpf(student.getCpf())
+                .email(student.getEmail())
+                .phone(student.getPhone())
+                .birthDate(student.getBirthDate())
+                .registrationNumber(student.getRegistrationNumber())
+                .course(student.getCourse())
+                .semester(student.getSemester())
+                .enrollmentDate(student.getEnrollmentDate())
+                .status(student.getStatus())
+                .notes(student.getNotes())
+                .createdAt(student.getCreatedAt())
+                .updatedAt(student.getUpdatedAt())
+                .createdBy(student.getCreatedBy())
+                .updatedBy(student.getUpdatedBy())
+                .build();
+    }
+
+    /**
+     * Monta a resposta da API para o aluno. A idade é calculada como em {@code Student#getAge()}.
+     */
+    public StudentResponseDTO toResponse(Long studentId) {
+        return StudentResponseDTO.builder()
+                .id(studentId)
+                .fullName(fullName)
+                .cpf(cpf)
+                .email(email)
+                .phone(phone)
+                .birthDate(birthDate)
+                .age(birthDate != null ? LocalDate.now().getYear() - birthDate.getYear() : null)
+                .registrationNumber(registrationNumber)
+                .course(course)
+                .semester(semester)
+                .enrollmentDate(enrollmentDate)
+                .status(status)
+                .notes(notes)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .createdBy(createdBy)
+                .updatedBy(updatedBy)
+                .build();
+    }
+
+    void putInto(Map<String, Object> data) {
+        data.put("fullName", fullName);
+        data.put("cpf", cpf);
+        data.put("email", email);
+        data.put("phone", phone);
+        data.put("birthDate", StudentEventPayload.toText(birthDate));
+        data.put("registrationNumber", registrationNumber);
+        data.put("course", course);
+        data.put("semester", semester != null ? semester.longValue() : null);
+        data.put("enrollmentDate", StudentEventPayload.toText(enrollmentDate));
+        data.put("status", status != null ? status.name() : null);
+        data.put("notes", notes);
+        data.put("createdAt", StudentEventPayload.toText(createdAt));
+        data.put("updatedAt", StudentEventPayload.toText(updatedAt));
+        data.put("createdBy", createdBy);
+        data.put("updatedBy", updatedBy);
+    }
+
+    /**
+     * Lê o estado do payload, ou {@code null} se o evento foi gravado sem ele (esquema v1).
+     */
+    static StudentState from(Map<String, Object> data) {
+        if (data.get(MARKER_FIELD) == null) {
+            return null;
+        }
+        Long semester = StudentEventPayload.toLong(data.get("semester"));
+        return StudentState.builder()
+                .fullName(StudentEventPayload.toText(data.get("fullName")))
+                .cpf(StudentEventPayload.toText(data.get("cpf")))
+                .email(StudentEventPayload.toText(data.get("email")))
+                .phone(StudentEventPayload.toText(data.get("phone")))
+                .birthDate(toDate(data.get("birthDate")))
+                .registrationNumber(StudentEventPayload.toText(data.get("registrationNumber")))
+                .course(StudentEventPayload.toText(data.get("course")))
+                .semester(semester != null ? semester.intValue() : null)
+                .enrollmentDate(toDate(data.get("enrollmentDate")))
+                .status(StudentStatus.valueOf(data.get(MARKER_FIELD).toString()))
+                .notes(StudentEventPayload.toText(data.get("notes")))
+                .createdAt(toDateTime(data.get("createdAt")))
+                .updatedAt(toDateTime(data.get("updatedAt")))
+                .createdBy(StudentEventPayload.toText(data.get("createdBy")))
+                .updatedBy(StudentEventPayload.toText(data.get("updatedBy")))
+                .build();
+    }
+
+    private static LocalDate toDate(Object value) {
+        return value != null ? LocalDate.parse(value.toString()) : null;
+    }
+
+    private static LocalDateTime toDateTime(Object value) {
+        return value != null ? LocalDateTime.parse(value.toString()) : null;
+    }
+}
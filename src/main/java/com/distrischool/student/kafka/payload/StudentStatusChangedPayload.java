@@ -0,0 +1,57 @@
+package com.distrischool.student.kafka.payload;
+
+import com.distrischool.student.entity.Student.StudentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentStatusChangedPayload implements StudentEventPayload {
+
+    public static final String EVENT_TYPE = "student.status.changed";
+
+    private Long studentId;
+    private StudentStatus oldStatus;
+    private StudentStatus newStatus;
+    private String registrationNumber;
+
+    /** Estado completo do aluno após a mudança (esquema v2); {@code null} em eventos da versão 1 */
+    private StudentState state;
+
+    @Override
+    public String eventType() {
+        return EVENT_TYPE;
+    }
+
+    @Override
+    public Map<String, Object> toData() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("studentId", studentId);
+        data.put("oldStatus", oldStatus != null ? oldStatus.name() : null);
+        data.put("newStatus", newStatus != null ? newStatus.name() : null);
+        data.put("registrationNumber", registrationNumber);
+        if (state != null) {
+            state.putInto(data);
+        }
+        return data;
+    }
+
+    public static StudentStatusChangedPayload from(Map<String, Object> data) {
+        Object oldStatus = data.get("oldStatus");
+        Object newStatus = data.get("newStatus");
+        return StudentStatusChangedPayload.builder()
+                .studentId(StudentEventPayload.toLong(data.get("studentId")))
+                .oldStatus(oldStatus != null ? StudentStatus.valueOf(oldStatus.toString()) : null)
+                .newStatus(newStatus != null ? StudentStatus.valueOf(newStatus.toString()) : null)
+                .registrationNumber(StudentEventPayload.toText(data.get("registrationNumber")))
+                .state(StudentState.from(data))
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.distrischool.student.kafka.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentUpdatedPayload implements StudentEventPayload {
+
+    public static final String EVENT_TYPE = "student.updated";
+
+    private Long studentId;
+    private String email;
+
+    /** Estado completo do aluno (esquema v2); {@code null} em eventos da versão 1 */
+    private StudentState state;
+
+    @Override
+    public String eventType() {
+        return EVENT_TYPE;
+    }
+
+    @Override
+    public Map<String, Object> toData() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("studentId", studentId);
+        data.put("email", email);
+        if (state != null) {
+            state.putInto(data);
+        }
+        return data;
+    }
+
+    public static StudentUpdatedPayload from(Map<String, Object> data) {
+        return StudentUpdatedPayload.builder()
+                .studentId(StudentEventPayload.toLong(data.get("studentId")))
+                .email(StudentEventPayload.toText(data.get("email")))
+                .state(StudentState.from(data))
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.distrischool.student.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas por lote dos listeners Kafka em modo batch.
+ *
+ * <ul>
+ *   <li>{@code kafka.consumer.batch.processing}: tempo para processar o lote, por tópico;</li>
+ *   <li>{@code kafka.consumer.batch.size}: registros por lote, por tópico;</li>
+ *   <li>{@code kafka.consumer.batch.lag}: registros ainda não lidos na partição após o lote;</li>
+ *   <li>{@code kafka.consumer.record.age}: idade do registro mais recente do lote (produção -> consumo).</li>
+ * </ul>
+ */
+@Component
+public class KafkaConsumerBatchMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TopicPartition, AtomicLong> lagByPartition = new ConcurrentHashMap<>();
+
+    public KafkaConsumerBatchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordBatch(String topic, List<? extends ConsumerRecord<?, ?>> records,
+                            long elapsedNanos, Consumer<?, ?> consumer) {
+        Timer.builder("kafka.consumer.batch.processing")
+                .description("Tempo de processamento de um lote de eventos")
+                .tag("topic", topic)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("kafka.consumer.batch.size")
+                .description("Registros por lote de eventos")
+                .tag("topic", topic)
+                .register(meterRegistry)
+                .record(records.size());
+
+        long newestTimestamp = -1;
+        Set<TopicPartition> partitions = new HashSet<>();
+        for (ConsumerRecord<?, ?> record : records) {
+            newestTimestamp = Math.max(newestTimestamp, record.timestamp());
+            partitions.add(new TopicPartition(record.topic(), record.partition()));
+        }
+        if (newestTimestamp >= 0) {
+            Timer.builder("kafka.consumer.record.age")
+                    .description("Tempo entre a produção do registro mais recente do lote e seu processamento")
+                    .tag("topic", topic)
+                    .register(meterRegistry)
+                    .record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - newestTimestamp)));
+        }
+        if (consumer != null) {
+            for (TopicPartition partition : partitions) {
+                OptionalLong lag = consumer.currentLag(partition);
+                if (lag.isPresent()) {
+                    lagGauge(partition).set(lag.getAsLong());
+                }
+            }
+        }
+    }
+
+    private AtomicLong lagGauge(TopicPartition partition) {
+        return lagByPartition.computeIfAbsent(partition, tp -> {
+            AtomicLong lag = new AtomicLong();
+            Gauge.builder("kafka.consumer.batch.lag", lag, AtomicLong::get)
+                    .description("Registros da partição ainda não lidos pelo listener")
+                    .tag("topic", tp.topic())
+                    .tag("partition", String.valueOf(tp.partition()))
+                    .register(meterRegistry);
+            return lag;
+        });
+    }
+}
@@ -1,6 +1,7 @@
 package com.distrischool.student.metrics;
 
 import com.distrischool.student.entity.Student.StudentStatus;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Component;
 
@@ -13,6 +14,9 @@ public class StudentMetricsRecorder {
     private static final String METRIC_STUDENT_OPERATIONS = "student_operations_total";
     private static final String METRIC_STUDENT_STATUS_CHANGES = "student_status_changes_total";
     private static final String METRIC_STUDENT_EVENTS = "student_events_total";
+    private static final String METRIC_STUDENT_CACHE_EVICTED_KEYS = "student_cache_evicted_keys";
+    private static final String METRIC_STUDENT_BATCH_CACHE_HIT_RATIO = "student_batch_cache_hit_ratio";
+    private static final String METRIC_STUDENT_BATCH_LOOKUP_KEYS = "student_batch_lookup_keys_total";
 
     private final MeterRegistry meterRegistry;
 
@@ -43,6 +47,27 @@ public void recordKafkaEvent(String direction, String eventType, String outcome)
             "outcome", outcome
         ).increment();
     }
-}
 
+    public void recordCacheEviction(String operation, int evictedKeys) {
+        DistributionSummary.builder(METRIC_STUDENT_CACHE_EVICTED_KEYS)
+            .description("Chaves removidas do cache de alunos por operação de escrita")
+            .tag("operation", operation)
+            .register(meterRegistry)
+            .record(evictedKeys);
+    }
 
+    /**
+     * Registra a taxa de acerto do cache de uma busca em lote e o total de chaves por resultado.
+     */
+    public void recordBatchCacheLookup(int requestedKeys, int cacheHits) {
+        if (requestedKeys == 0) {
+            return;
+        }
+        DistributionSummary.builder(METRIC_STUDENT_BATCH_CACHE_HIT_RATIO)
+            .description("Fração dos IDs de uma busca em lote atendidos pelo cache")
+            .register(meterRegistry)
+            .record((double) cacheHits / requestedKeys);
+        meterRegistry.counter(METRIC_STUDENT_BATCH_LOOKUP_KEYS, "result", "hit").increment(cacheHits);
+        meterRegistry.counter(METRIC_STUDENT_BATCH_LOOKUP_KEYS, "result", "miss").increment(requestedKeys - cacheHits);
+    }
+}
@@ -0,0 +1,136 @@
+package com.distrischool.student.readmodel;
+
+import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.dto.StudentStatisticsGroup;
+import com.distrischool.student.entity.Student.StudentStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Contadores de alunos não removidos por status, por curso e por status/curso/semestre.
+ *
+ * Usam {@link LongAdder} (células por thread, sem lock nem disputa por CAS): as escritas
+ * vêm do lock da projeção, mas as leituras das APIs e dos gauges não bloqueiam. Só os
+ * contadores por status são exportados no Prometheus, como {@code students.count{status}}
+ * (NaN enquanto a projeção não terminou a carga inicial): os cursos são texto livre do
+ * cadastro, e um gauge por curso teria cardinalidade sem limite. Por curso, só pela API.
+ */
+class StudentCounters {
+
+    private final Map<StudentStatus, LongAdder> byStatus = new EnumMap<>(StudentStatus.class);
+    private final Map<String, LongAdder> byCourse = new ConcurrentHashMap<>();
+    private final Map<GroupKey, LongAdder> byGroup = new ConcurrentHashMap<>();
+    private final BooleanSupplier ready;
+
+    StudentCounters(MeterRegistry meterRegistry, BooleanSupplier ready) {
+        this.ready = ready;
+        for (StudentStatus status : StudentStatus.values()) {
+            LongAdder count = new LongAdder();
+            byStatus.put(status, count);
+            Gauge.builder("students.count", count, this::gaugeValue)
+                    .tag("status", status.name())
+                    .description("Alunos não removidos por status (projeção local)")
+                    .register(meterRegistry);
+        }
+    }
+
+    void add(StudentResponseDTO student, long delta) {
+        if (student.getStatus() != null) {
+            byStatus.get(student.getStatus()).add(delta);
+        }
+        if (student.getCourse() != null) {
+            byCourse.computeIfAbsent(student.getCourse(), course -> new LongAdder()).add(delta);
+        }
+        byGroup.computeIfAbsent(GroupKey.of(student), key -> new LongAdder()).add(delta);
+    }
+
+    long byStatus(StudentStatus status) {
+        return byStatus.get(status).sum();
+    }
+
+    long byCourse(String course) {
+        LongAdder count = byCourse.get(course);
+        return count != null ? count.sum() : 0;
+    }
+
+    /**
+     * Grupos com alunos (grupos zerados são omitidos).
+     */
+    List<StudentStatisticsGroup> groups() {
+        List<StudentStatisticsGroup> groups = new ArrayList<>(byGroup.size());
+        byGroup.forEach((key, count) -> {
+            long total = count.sum();
+            if (total > 0) {
+                groups.add(new StudentStatisticsGroup(key.status(), key.course(), key.semester(), total));
+            }
+        });
+        return groups;
+    }
+
+    /**
+     * Diferenças entre os contadores e as contagens esperadas por grupo (valor esperado - contador).
+     */
+    Map<GroupKey, Long> differences(Map<GroupKey, Long> expected) {
+        Map<GroupKey, Long> differences = new HashMap<>();
+        expected.forEach((key, total) -> {
+            LongAdder count = byGroup.get(key);
+            long difference = total - (count != null ? count.sum() : 0);
+            if (difference != 0) {
+                differences.put(key, difference);
+            }
+        });
+        byGroup.forEach((key, count) -> {
+            long total = count.sum();
+            if (total != 0 && !expected.containsKey(key)) {
+                differences.put(key, -total);
+            }
+        });
+        return differences;
+    }
+
+    /**
+     * Recalcula todos os contadores a partir dos alunos informados. Deve ser chamado sob o
+     * lock da projeção, sem escritas concorrentes.
+     */
+    void rebuild(Collection<StudentResponseDTO> students) {
+        reset();
+        students.forEach(student -> add(student, 1));
+    }
+
+    void reset() {
+        // Os contadores de status são zerados, não removidos: os gauges apontam para eles
+        byStatus.values().forEach(LongAdder::reset);
+        byCourse.clear();
+        byGroup.clear();
+    }
+
+    static Map<GroupKey, Long> count(Collection<StudentResponseDTO> students) {
+        Map<GroupKey, Long> counts = new HashMap<>();
+        students.forEach(student -> counts.merge(GroupKey.of(student), 1L, Long::sum));
+        return counts;
+    }
+
+    private double gaugeValue(LongAdder count) {
+        return ready.getAsBoolean() ? count.sum() : Double.NaN;
+    }
+
+    record GroupKey(StudentStatus status, String course, Integer semester) {
+        static GroupKey of(StudentResponseDTO student) {
+            return new GroupKey(student.getStatus(), student.getCourse(), student.getSemester());
+        }
+
+        static GroupKey of(StudentStatisticsGroup group) {
+            return new GroupKey(group.status(), group.course(), group.semester());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.distrischool.student.readmodel;
+
+import com.distrischool.student.dto.StudentStatisticsGroup;
+import com.distrischool.student.entity.Student;
+import com.distrischool.student.repository.StudentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Confere periodicamente os contadores da projeção local ({@link StudentCounters}).
+ *
+ * Primeiro com os próprios alunos da projeção: uma divergência aí é erro de contagem e os
+ * contadores são recalculados. Depois com um GROUP BY no banco: a diferença é publicada em
+ * {@code student.read_model.counters.database_drift} (soma das diferenças absolutas por grupo).
+ * Uma diferença momentânea é esperada (atraso do outbox e do consumo); a mesma diferença em
+ * duas conferências seguidas indica uma projeção desatualizada, e os alunos dos grupos
+ * divergentes são recarregados do banco ({@link StudentReadModel#reload}). Cada réplica
+ * confere e corrige a sua própria projeção.
+ */
+@Component
+@Slf4j
+public class StudentCountersReconciler {
+
+    private final StudentReadModel readModel;
+    private final StudentRepository studentRepository;
+    private final Counter corrections;
+    private final Counter reloads;
+    private final AtomicLong databaseDrift = new AtomicLong();
+    private Map<StudentCounters.GroupKey, Long> previousDrift = Map.of();
+
+    public StudentCountersReconciler(StudentReadModel readModel,
+                                     StudentRepository studentRepository,
+                                     MeterRegistry meterRegistry) {
+        this.readModel = readModel;
+        this.studentRepository = studentRepository;
+        this.corrections = Counter.builder("student.read_model.counters.corrections")
+                .description("Grupos de contadores recalculados por divergirem da projeção local")
+                .register(meterRegistry);
+        this.reloads = Counter.builder("student.read_model.counters.reloads")
+                .description("Alunos recarregados do banco por divergência persistente dos contadores")
+                .register(meterRegistry);
+        Gauge.builder("student.read_model.counters.database_drift", databaseDrift, AtomicLong::get)
+                .description("Soma das diferenças por grupo entre os contadores da projeção e o banco")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${microservice.read-model.counters.reconcile-interval:10m}",
+            initialDelayString = "${microservice.read-model.counters.reconcile-interval:10m}")
+    public void reconcile() {
+        if (!readModel.isReady()) {
+            return;
+        }
+        int corrected = readModel.reconcileCounters();
+        corrections.increment(corrected);
+
+        List<StudentStatisticsGroup> database = studentRepository.countGroupedByStatusCourseAndSemester();
+        Map<StudentCounters.GroupKey, Long> drift = readModel.compareCounters(database);
+        databaseDrift.set(drift.values().stream().mapToLong(Math::abs).sum());
+        if (!drift.isEmpty() && drift.equals(previousDrift)) {
+            log.warn("Contadores da projeção local divergem do banco em {} grupo(s) há duas conferências: {}; "
+                    + "recarregando do banco", drift.size(), drift);
+            reloads.increment(reload(drift.keySet()));
+            drift = readModel.compareCounters(studentRepository.countGroupedByStatusCourseAndSemester());
+            databaseDrift.set(drift.values().stream().mapToLong(Math::abs).sum());
+        }
+        previousDrift = drift;
+    }
+
+    /**
+     * Lê do banco os alunos dos grupos, e também os que a projeção tem nesses grupos mas o banco
+     * não (mudaram de grupo ou foram removidos), e os recarrega na projeção.
+     */
+    private int reload(Set<StudentCounters.GroupKey> groups) {
+        List<Student> loaded = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+        for (StudentCounters.GroupKey group : groups) {
+            ids.addAll(readModel.idsInGroup(group));
+            loaded.addAll(studentRepository.findNotDeletedByGroup(group.status(), group.course(), group.semester()));
+        }
+        Set<Long> missing = new HashSet<>(ids);
+        loaded.forEach(student -> missing.remove(student.getId()));
+        if (!missing.isEmpty()) {
+            loaded.addAll(studentRepository.findByIdsNotDeleted(new ArrayList<>(missing)));
+        }
+        loaded.forEach(student -> ids.add(student.getId()));
+        return readModel.reload(ids, loaded);
+    }
+}
@@ -0,0 +1,481 @@
+package com.distrischool.student.readmodel;
+
+import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.dto.StudentStatisticsGroup;
+import com.distrischool.student.entity.Student;
+import com.distrischool.student.entity.Student.StudentStatus;
+import com.distrischool.student.kafka.DistriSchoolEvent;
+import com.distrischool.student.kafka.payload.StudentCreatedPayload;
+import com.distrischool.student.kafka.payload.StudentDeletedPayload;
+import com.distrischool.student.kafka.payload.StudentState;
+import com.distrischool.student.kafka.payload.StudentStatusChangedPayload;
+import com.distrischool.student.kafka.payload.StudentUpdatedPayload;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Projeção local dos alunos, mantida pelos eventos {@code student.*} (ver {@code StudentEventConsumer}).
+ *
+ * Guarda em memória a resposta da API de cada aluno não removido, indexada por ID e por
+ * matrícula, os contadores por status, curso e semestre ({@link StudentCounters}) e o
+ * índice da busca textual ({@link StudentSearchIndex}). Cada instância consome todas as partições em um
+ * grupo próprio, então a projeção é completa em todas as réplicas.
+ *
+ * Eventos de tópicos diferentes do mesmo aluno podem chegar fora de ordem: um evento só é
+ * aplicado se a versão do aluno for maior que a da projeção (ou que a da remoção, guardada
+ * como tombstone). Eventos gravados sem o estado completo (esquema v1) apenas descartam a
+ * entrada do aluno, que volta a ser lida do banco; uma mudança de status v1 sem entrada
+ * também guarda a sua versão como tombstone, para que eventos mais antigos não a desfaçam.
+ *
+ * A projeção é eventualmente consistente (atraso do outbox + consumo). Buscas que não a
+ * encontram recorrem ao cache/banco; contagens só são servidas depois da carga inicial
+ * ({@link #isReady()}), feita por {@link StudentReadModelBootstrap}.
+ */
+@Component
+@Slf4j
+public class StudentReadModel {
+
+    /** Versão usada para entradas sem versão conhecida: qualquer evento versionado as substitui */
+    private static final long UNKNOWN_VERSION = -1L;
+
+    private final boolean enabled;
+    private final Object lock = new Object();
+    private final Map<Long, Entry> students = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByRegistration = new ConcurrentHashMap<>();
+    private final Map<Long, Long> tombstones = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, Long> nextOffsets = new ConcurrentHashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+    private final StudentSearchIndex searchIndex = new StudentSearchIndex();
+    private final StudentCounters counters;
+    private volatile Instant lastChangeAt = Instant.now();
+    private volatile boolean ready;
+
+    public StudentReadModel(@Value("${microservice.read-model.enabled:true}") boolean enabled,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.counters = new StudentCounters(meterRegistry, this::isReady);
+        Gauge.builder("student.read_model.size", students, Map::size)
+                .description("Alunos na projeção local")
+                .register(meterRegistry);
+        Gauge.builder("student.read_model.ready", this, model -> model.isReady() ? 1 : 0)
+                .description("1 quando a projeção local terminou a carga inicial")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public Optional<StudentResponseDTO> findById(Long id) {
+        if (!enabled || id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(students.get(id)).map(Entry::student);
+    }
+
+    public Optional<StudentResponseDTO> findByRegistrationNumber(String registrationNumber) {
+        if (!enabled || registrationNumber == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(idsByRegistration.get(registrationNumber)).flatMap(this::findById);
+    }
+
+    /**
+     * Número de alunos não removidos com o status, se a projeção estiver completa.
+     */
+    public OptionalLong countByStatus(StudentStatus status) {
+        return isReady() ? OptionalLong.of(counters.byStatus(status)) : OptionalLong.empty();
+    }
+
+    /**
+     * Número de alunos não removidos no curso, se a projeção estiver completa.
+     */
+    public OptionalLong countByCourse(String course) {
+        return isReady() && course != null ? OptionalLong.of(counters.byCourse(course)) : OptionalLong.empty();
+    }
+
+    /**
+     * Contagens por status, curso e semestre (grupos sem alunos omitidos), se a projeção estiver completa.
+     */
+    public Optional<List<StudentStatisticsGroup>> countByGroup() {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+        return Optional.of(counters.groups());
+    }
+
+    /**
+     * Confere os contadores com os alunos da projeção e os recalcula se divergirem.
+     *
+     * @return número de grupos (status/curso/semestre) que estavam divergentes
+     */
+    int reconcileCounters() {
+        synchronized (lock) {
+            List<StudentResponseDTO> current = students.values().stream().map(Entry::student).toList();
+            Map<StudentCounters.GroupKey, Long> differences = counters.differences(StudentCounters.count(current));
+            if (!differences.isEmpty()) {
+                log.warn("Contadores da projeção local divergentes em {} grupo(s); recalculando", differences.size());
+                counters.rebuild(current);
+            }
+            return differences.size();
+        }
+    }
+
+    /**
+     * Diferenças (banco - projeção) entre as contagens agrupadas do banco e os contadores.
+     */
+    Map<StudentCounters.GroupKey, Long> compareCounters(List<StudentStatisticsGroup> database) {
+        Map<StudentCounters.GroupKey, Long> expected = new HashMap<>();
+        database.forEach(group -> expected.merge(StudentCounters.GroupKey.of(group), group.total(), Long::sum));
+        return counters.differences(expected);
+    }
+
+    /**
+     * IDs dos alunos da projeção no grupo (status/curso/semestre).
+     */
+    Set<Long> idsInGroup(StudentCounters.GroupKey group) {
+        synchronized (lock) {
+            Set<Long> ids = new HashSet<>();
+            students.forEach((id, entry) -> {
+                if (StudentCounters.GroupKey.of(entry.student()).equals(group)) {
+                    ids.add(id);
+                }
+            });
+            return ids;
+        }
+    }
+
+    /**
+     * Recarrega alunos a partir do banco, corrigindo a projeção e os contadores.
+     *
+     * Cada linha lida substitui a entrada do aluno, a menos que a projeção já tenha uma versão
+     * mais nova (evento aplicado depois da leitura, inclusive uma remoção). Os IDs conferidos
+     * que não vierem do banco (removidos) saem da projeção e voltam a ser lidos do cache/banco.
+     *
+     * @param ids    IDs conferidos
+     * @param loaded alunos não removidos lidos do banco, entre os IDs conferidos
+     * @return número de alunos recarregados ou retirados
+     */
+    int reload(Collection<Long> ids, List<Student> loaded) {
+        synchronized (lock) {
+            int changed = 0;
+            Set<Long> found = new HashSet<>();
+            for (Student student : loaded) {
+                found.add(student.getId());
+                long version = student.getVersion() != null ? student.getVersion() : UNKNOWN_VERSION;
+                Entry current = students.get(student.getId());
+                long known = current != null ? current.version()
+                        : tombstones.getOrDefault(student.getId(), UNKNOWN_VERSION);
+                if (version == UNKNOWN_VERSION || version >= known) {
+                    put(student.getId(), StudentResponseDTO.fromEntity(student), version);
+                    changed++;
+                }
+            }
+            for (Long id : ids) {
+                if (!found.contains(id) && students.containsKey(id)) {
+                    remove(id);
+                    changed++;
+                }
+            }
+            return changed;
+        }
+    }
+
+    /**
+     * Instante da última alteração aplicada à projeção (ou da sua criação).
+     */
+    public Instant lastChangeAt() {
+        return lastChangeAt;
+    }
+
+    /**
+     * Busca textual nos alunos da projeção (ver {@link StudentSearchIndex}), se ela estiver completa.
+     */
+    public Optional<StudentSearchIndex.Result> search(StudentSearchQuery query, Predicate<StudentResponseDTO> filter,
+                                                      int limit) {
+        return isReady() ? Optional.of(searchIndex.search(query, filter, limit)) : Optional.empty();
+    }
+
+    /**
+     * Próximo offset a consumir na partição, ou {@code null} se a projeção não o conhece.
+     */
+    public Long nextOffset(TopicPartition partition) {
+        return nextOffsets.get(partition);
+    }
+
+    /**
+     * Número de alterações aplicadas desde o início, para decidir se vale gravar um snapshot.
+     */
+    public long changeCount() {
+        return changes.get();
+    }
+
+    /**
+     * Aplica um registro consumido e avança o offset da sua partição.
+     */
+    public void apply(ConsumerRecord<String, DistriSchoolEvent> record) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (lock) {
+            if (record.value() != null) {
+                apply(record.value());
+            }
+            nextOffsets.put(new TopicPartition(record.topic(), record.partition()), record.offset() + 1);
+        }
+    }
+
+    /**
+     * Avança o offset da partição sem aplicar o registro (encaminhado para retry/DLT).
+     */
+    public void skip(ConsumerRecord<?, ?> record) {
+        if (enabled) {
+            nextOffsets.put(new TopicPartition(record.topic(), record.partition()), record.offset() + 1);
+        }
+    }
+
+    /**
+     * Aplica, após o commit, uma alteração feita por esta instância, para que ela leia as
+     * próprias escritas sem esperar o evento. As demais réplicas recebem a alteração pelo Kafka.
+     */
+    public void applyAfterCommit(Student student) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyCommitted(student);
+                }
+            });
+        } else {
+            applyCommitted(student);
+        }
+    }
+
+    private void applyCommitted(Student student) {
+        synchronized (lock) {
+            long version = student.getVersion() != null ? student.getVersion() : UNKNOWN_VERSION;
+            if (!isNewer(student.getId(), version)) {
+                return;
+            }
+            if (student.isDeleted()) {
+                remove(student.getId());
+                tombstones.put(student.getId(), version);
+            } else {
+                put(student.getId(), StudentResponseDTO.fromEntity(student), version);
+            }
+        }
+    }
+
+    /**
+     * Carrega um aluno lido do banco durante a carga inicial. A linha do banco com a mesma
+     * versão de um tombstone também entra: é o estado que o evento sem estado completo descartou.
+     */
+    public void load(StudentResponseDTO student, Long version) {
+        synchronized (lock) {
+            long loadedVersion = version != null ? version : UNKNOWN_VERSION;
+            boolean sameAsTombstone = !students.containsKey(student.getId())
+                    && tombstones.getOrDefault(student.getId(), UNKNOWN_VERSION) == loadedVersion;
+            if (isNewer(student.getId(), loadedVersion) || sameAsTombstone) {
+                put(student.getId(), student, loadedVersion);
+            }
+        }
+    }
+
+    /**
+     * Marca o fim da carga inicial; o consumo continua a partir dos offsets informados.
+     */
+    public void markReady(Map<TopicPartition, Long> startOffsets) {
+        startOffsets.forEach(nextOffsets::putIfAbsent);
+        ready = true;
+        log.info("Projeção local de alunos pronta: {} aluno(s)", students.size());
+    }
+
+    /**
+     * Cópia consistente da projeção (alunos, tombstones e offsets) para o snapshot em disco.
+     */
+    public Snapshot snapshot() {
+        synchronized (lock) {
+            Map<String, Long> offsets = new HashMap<>();
+            nextOffsets.forEach((partition, offset) -> offsets.put(partition.toString(), offset));
+            return new Snapshot(Instant.now(), offsets, new HashMap<>(tombstones), new ArrayList<>(students.values()));
+        }
+    }
+
+    /**
+     * Restaura a projeção a partir de um snapshot e a marca como pronta.
+     */
+    public void restore(Snapshot snapshot) {
+        synchronized (lock) {
+            clear();
+            tombstones.putAll(snapshot.tombstones());
+            for (Entry entry : snapshot.students()) {
+                put(entry.student().getId(), entry.student(), entry.version());
+            }
+            Map<TopicPartition, Long> offsets = new HashMap<>();
+            snapshot.offsets().forEach((partition, offset) -> offsets.put(parsePartition(partition), offset));
+            markReady(offsets);
+        }
+    }
+
+    private void apply(DistriSchoolEvent event) {
+        Map<String, Object> data = event.getData();
+        if (data == null || event.getEventType() == null) {
+            return;
+        }
+        long version = event.getVersion() != null ? event.getVersion() : UNKNOWN_VERSION;
+        switch (event.getEventType()) {
+            case StudentCreatedPayload.EVENT_TYPE -> {
+                StudentCreatedPayload payload = StudentCreatedPayload.from(data);
+                applyState(payload.getStudentId(), payload.getState(), version);
+            }
+            case StudentUpdatedPayload.EVENT_TYPE -> {
+                StudentUpdatedPayload payload = StudentUpdatedPayload.from(data);
+                applyState(payload.getStudentId(), payload.getState(), version);
+            }
+            case StudentStatusChangedPayload.EVENT_TYPE -> {
+                StudentStatusChangedPayload payload = StudentStatusChangedPayload.from(data);
+                if (payload.getState() != null) {
+                    applyState(payload.getStudentId(), payload.getState(), version);
+                } else {
+                    applyStatus(payload.getStudentId(), payload.getNewStatus(), version);
+                }
+            }
+            case StudentDeletedPayload.EVENT_TYPE -> {
+                Long id = StudentDeletedPayload.from(data).getStudentId();
+                if (id != null && isNewer(id, version)) {
+                    remove(id);
+                    tombstones.put(id, version);
+                }
+            }
+            default -> log.debug("Evento {} ignorado pela projeção local", event.getEventType());
+        }
+    }
+
+    private void applyState(Long id, StudentState state, long version) {
+        if (id == null || !isNewer(id, version)) {
+            return;
+        }
+        if (state == null) {
+            // Evento sem o estado completo: a entrada deixaria de refletir o banco
+            remove(id);
+            return;
+        }
+        put(id, state.toResponse(id), version);
+    }
+
+    /**
+     * Mudança de status sem o estado completo (esquema v1). Sem a entrada do aluno, a versão
+     * fica registrada como tombstone: eventos mais antigos (ex.: o created que chegou depois)
+     * são descartados e o aluno volta a ser lido do banco até o próximo estado completo.
+     */
+    private void applyStatus(Long id, StudentStatus newStatus, long version) {
+        if (id == null || !isNewer(id, version)) {
+            return;
+        }
+        Entry current = students.get(id);
+        if (current != null && newStatus != null) {
+            put(id, current.student().toBuilder().status(newStatus).build(), version);
+            return;
+        }
+        remove(id);
+        if (version != UNKNOWN_VERSION) {
+            tombstones.put(id, version);
+        }
+    }
+
+    private boolean isNewer(Long id, long version) {
+        if (version == UNKNOWN_VERSION) {
+            return true;
+        }
+        Entry current = students.get(id);
+        long currentVersion = current != null ? current.version() : tombstones.getOrDefault(id, UNKNOWN_VERSION);
+        return version > currentVersion;
+    }
+
+    private void put(Long id, StudentResponseDTO student, long version) {
+        Entry previous = students.put(id, new Entry(student, version));
+        tombstones.remove(id);
+        if (previous != null) {
+            unindex(id, previous.student());
+        }
+        if (student.getRegistrationNumber() != null) {
+            idsByRegistration.put(student.getRegistrationNumber(), id);
+        }
+        counters.add(student, 1);
+        searchIndex.put(id, student);
+        changes.incrementAndGet();
+        lastChangeAt = Instant.now();
+    }
+
+    private void remove(Long id) {
+        Entry previous = students.remove(id);
+        if (previous != null) {
+            unindex(id, previous.student());
+            searchIndex.remove(id);
+            changes.incrementAndGet();
+            lastChangeAt = Instant.now();
+        }
+    }
+
+    private void unindex(Long id, StudentResponseDTO student) {
+        if (student.getRegistrationNumber() != null) {
+            idsByRegistration.remove(student.getRegistrationNumber(), id);
+        }
+        counters.add(student, -1);
+    }
+
+    private void clear() {
+        students.clear();
+        idsByRegistration.clear();
+        tombstones.clear();
+        nextOffsets.clear();
+        counters.reset();
+        searchIndex.clear();
+    }
+
+    private static TopicPartition parsePartition(String value) {
+        int separator = value.lastIndexOf('-');
+        return new TopicPartition(value.substring(0, separator), Integer.parseInt(value.substring(separator + 1)));
+    }
+
+    /**
+     * Aluno na projeção com a versão do evento (ou da linha do banco) que o produziu.
+     */
+    public record Entry(StudentResponseDTO student, long version) {
+    }
+
+    /**
+     * Conteúdo do snapshot em disco. Offsets no formato {@code tópico-partição}.
+     */
+    public record Snapshot(Instant takenAt, Map<String, Long> offsets, Map<Long, Long> tombstones,
+                           List<Entry> students) {
+    }
+}
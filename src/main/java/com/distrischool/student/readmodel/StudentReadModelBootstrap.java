@@ -0,0 +1,155 @@
+package com.distrischool.student.readmodel;
+
+import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.entity.Student;
+import com.distrischool.student.kafka.StudentEventConsumer;
+import com.distrischool.student.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carga inicial e snapshots da {@link StudentReadModel}.
+ *
+ * Na subida, restaura o snapshot em disco, se houver um recente; senão, lê os offsets finais
+ * dos tópicos de alunos e em seguida todos os alunos do banco (páginas por ID). Eventos
+ * publicados durante a leitura são reaplicados a partir desses offsets e descartados pela
+ * versão quando já refletidos. Só então os listeners de {@link StudentEventConsumer} são
+ * iniciados. Se a carga falhar, os listeners sobem mesmo assim e as leituras continuam no
+ * cache/banco.
+ */
+@Component
+@Slf4j
+public class StudentReadModelBootstrap {
+
+    private final StudentReadModel readModel;
+    private final StudentReadModelSnapshotStore snapshotStore;
+    private final StudentRepository studentRepository;
+    private final ConsumerFactory<?, ?> consumerFactory;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final List<String> topics;
+    private final int pageSize;
+    private final Duration kafkaTimeout;
+    private long lastSnapshotChangeCount = -1;
+
+    public StudentReadModelBootstrap(StudentReadModel readModel,
+                                     StudentReadModelSnapshotStore snapshotStore,
+                                     StudentRepository studentRepository,
+                                     ConsumerFactory<?, ?> consumerFactory,
+                                     KafkaListenerEndpointRegistry listenerRegistry,
+                                     @Value("${microservice.kafka.topics.student-created}") String createdTopic,
+                                     @Value("${microservice.kafka.topics.student-updated}") String updatedTopic,
+                                     @Value("${microservice.kafka.topics.student-deleted}") String deletedTopic,
+                                     @Value("${microservice.kafka.topics.student-status-changed}") String statusChangedTopic,
+                                     @Value("${microservice.read-model.bootstrap.page-size:1000}") int pageSize,
+                                     @Value("${microservice.read-model.bootstrap.kafka-timeout:10s}") Duration kafkaTimeout) {
+        this.readModel = readModel;
+        this.snapshotStore = snapshotStore;
+        this.studentRepository = studentRepository;
+        this.consumerFactory = consumerFactory;
+        this.listenerRegistry = listenerRegistry;
+        this.topics = List.of(createdTopic, updatedTopic, deletedTopic, statusChangedTopic);
+        this.pageSize = Math.max(1, pageSize);
+        this.kafkaTimeout = kafkaTimeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (readModel.isEnabled()) {
+            try {
+                initialize();
+            } catch (RuntimeException e) {
+                log.warn("Falha na carga da projeção local de alunos; leituras seguem no cache/banco: {}",
+                        e.getMessage());
+            }
+        }
+        for (String id : StudentEventConsumer.LISTENER_IDS) {
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(id);
+            if (container != null && !container.isRunning()) {
+                container.start();
+            }
+        }
+    }
+
+    /**
+     * Grava um snapshot se a projeção mudou desde o último.
+     */
+    @Scheduled(fixedDelayString = "${microservice.read-model.snapshot.interval:5m}",
+               initialDelayString = "${microservice.read-model.snapshot.interval:5m}")
+    public synchronized void snapshot() {
+        if (!readModel.isReady() || !snapshotStore.isEnabled()) {
+            return;
+        }
+        long changeCount = readModel.changeCount();
+        if (changeCount == lastSnapshotChangeCount) {
+            return;
+        }
+        try {
+            snapshotStore.save(readModel.snapshot());
+            lastSnapshotChangeCount = changeCount;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao gravar o snapshot da projeção local: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    private void initialize() {
+        var snapshot = snapshotStore.load();
+        if (snapshot.isPresent()) {
+            readModel.restore(snapshot.get());
+            lastSnapshotChangeCount = readModel.changeCount();
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Map<TopicPartition, Long> endOffsets = endOffsets();
+        long loaded = 0;
+        long lastId = 0;
+        List<Student> page;
+        do {
+            page = studentRepository.findNotDeletedAfterId(lastId, PageRequest.of(0, pageSize));
+            for (Student student : page) {
+                readModel.load(StudentResponseDTO.fromEntity(student), student.getVersion());
+                lastId = student.getId();
+            }
+            loaded += page.size();
+        } while (page.size() == pageSize);
+
+        readModel.markReady(endOffsets);
+        log.info("Projeção local carregada do banco: {} aluno(s) em {} ms", loaded, System.currentTimeMillis() - start);
+    }
+
+    private Map<TopicPartition, Long> endOffsets() {
+        try (Consumer<?, ?> consumer = consumerFactory.createConsumer()) {
+            List<TopicPartition> partitions = new ArrayList<>();
+            for (String topic : topics) {
+                List<PartitionInfo> infos = consumer.partitionsFor(topic, kafkaTimeout);
+                if (infos != null) {
+                    infos.forEach(info -> partitions.add(new TopicPartition(info.topic(), info.partition())));
+                }
+            }
+            return consumer.endOffsets(partitions, kafkaTimeout);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.distrischool.student.readmodel;
+
+import com.distrischool.student.readmodel.StudentReadModel.Snapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshot da projeção local em disco (JSON comprimido com gzip), para reinícios rápidos.
+ *
+ * A gravação é feita em um arquivo temporário e movida para o destino, então um snapshot
+ * interrompido nunca substitui o anterior. Snapshots mais antigos que {@code max-age} são
+ * ignorados: os offsets que guardam podem já ter saído da retenção do Kafka.
+ */
+@Component
+@Slf4j
+public class StudentReadModelSnapshotStore {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final Duration maxAge;
+
+    public StudentReadModelSnapshotStore(ObjectMapper objectMapper,
+                                         @Value("${microservice.read-model.snapshot.path:}") String path,
+                                         @Value("${microservice.read-model.snapshot.max-age:24h}") Duration maxAge) {
+        this.objectMapper = objectMapper;
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+        this.maxAge = maxAge;
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    public Optional<Snapshot> load() {
+        if (path == null || !Files.exists(path)) {
+            return Optional.empty();
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            Snapshot snapshot = objectMapper.readValue(in, Snapshot.class);
+            if (snapshot.takenAt() == null || snapshot.takenAt().isBefore(Instant.now().minus(maxAge))) {
+                log.info("Snapshot da projeção local em {} é anterior a {} e será ignorado", path, maxAge);
+                return Optional.empty();
+            }
+            return Optional.of(snapshot);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao ler o snapshot da projeção local em {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void save(Snapshot snapshot) throws IOException {
+        if (path == null) {
+            return;
+        }
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary))) {
+                objectMapper.writeValue(out, snapshot);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        log.debug("Snapshot da projeção local gravado em {}: {} aluno(s)", path, snapshot.students().size());
+    }
+}
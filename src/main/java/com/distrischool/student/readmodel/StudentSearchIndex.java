@@ -0,0 +1,359 @@
+package com.distrischool.student.readmodel;
+
+import com.distrischool.student.dto.StudentResponseDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória dos alunos da projeção local, para a busca textual.
+ *
+ * Cada campo indexado é normalizado (minúsculas, sem acentos) e dividido em termos. O
+ * dicionário de termos é ordenado, então uma busca por prefixo é uma faixa do dicionário.
+ * Cada ocorrência guarda a posição do termo no campo (com um intervalo entre campos), o
+ * que permite buscar frases e restringir a busca a um campo. Em e-mail, CPF e matrícula o
+ * valor inteiro, sem pontuação, também é indexado como um termo ("12345678901").
+ *
+ * Mantido por {@link StudentReadModel} sob o seu lock de escrita; buscas rodam em paralelo
+ * com leitura consistente (read lock).
+ */
+public class StudentSearchIndex {
+
+    /** Intervalo de posições entre campos: frases não atravessam campos */
+    private static final int FIELD_GAP = 1 << 16;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final Field[] FIELDS = Field.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, int[]>> postings = new TreeMap<>();
+    private final Map<Long, String[]> termsByStudent = new HashMap<>();
+    private final Map<Long, StudentResponseDTO> students = new HashMap<>();
+
+    /**
+     * Campos indexados, com o nome usado nas consultas ({@code campo:termo}) e o peso na relevância.
+     */
+    public enum Field {
+        NAME("name", 3.0, false, StudentResponseDTO::getFullName),
+        EMAIL("email", 4.0, true, StudentResponseDTO::getEmail),
+        CPF("cpf", 5.0, true, StudentResponseDTO::getCpf),
+        REGISTRATION("registration", 5.0, true, StudentResponseDTO::getRegistrationNumber),
+        COURSE("course", 1.0, false, StudentResponseDTO::getCourse),
+        NOTES("notes", 0.5, false, StudentResponseDTO::getNotes);
+
+        private final String queryName;
+        private final double weight;
+        private final boolean identifier;
+        private final Function<StudentResponseDTO, String> accessor;
+
+        Field(String queryName, double weight, boolean identifier, Function<StudentResponseDTO, String> accessor) {
+            this.queryName = queryName;
+            this.weight = weight;
+            this.identifier = identifier;
+            this.accessor = accessor;
+        }
+
+        public String queryName() {
+            return queryName;
+        }
+    }
+
+    /**
+     * Normaliza e divide um texto em termos, do mesmo jeito na indexação e na consulta.
+     */
+    public static List<String> analyze(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("").toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(normalized)).filter(term -> !term.isEmpty()).toList();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return students.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(Long id, StudentResponseDTO student) {
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (Field field : FIELDS) {
+            List<String> terms = analyze(field.accessor.apply(student));
+            int base = field.ordinal() * FIELD_GAP;
+            for (int i = 0; i < terms.size() && i < FIELD_GAP; i++) {
+                positions.computeIfAbsent(terms.get(i), term -> new ArrayList<>()).add(base + i);
+            }
+            if (field.identifier && terms.size() > 1) {
+                positions.computeIfAbsent(String.join("", terms), term -> new ArrayList<>()).add(base);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeTerms(id);
+            positions.forEach((term, termPositions) -> postings.computeIfAbsent(term, key -> new HashMap<>())
+                    .put(id, termPositions.stream().mapToInt(Integer::intValue).sorted().toArray()));
+            termsByStudent.put(id, positions.keySet().toArray(String[]::new));
+            students.put(id, student);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(id);
+            students.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByStudent.clear();
+            students.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Alunos que atendem a todas as cláusulas da consulta e ao filtro, dos mais relevantes
+     * para os menos (empate: nome e ID), com as contagens por curso, status e semestre de
+     * todos os resultados (não só dos {@code limit} primeiros).
+     */
+    public Result search(StudentSearchQuery query, Predicate<StudentResponseDTO> filter, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (StudentSearchQuery.Clause clause : query.clauses()) {
+                Map<Long, Double> matches = match(clause, scores);
+                if (scores != null) {
+                    Map<Long, Double> previous = scores;
+                    matches.replaceAll((id, score) -> score + previous.get(id));
+                }
+                scores = matches;
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            if (scores == null) {
+                // Sem termos: navegação apenas pelos filtros (facetas)
+                scores = new HashMap<>();
+                for (Long id : students.keySet()) {
+                    scores.put(id, 0.0);
+                }
+            }
+
+            Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score)
+                    .thenComparing(hit -> hit.student().getFullName(), Comparator.nullsFirst(Comparator.reverseOrder()))
+                    .thenComparing(hit -> hit.student().getId(), Comparator.reverseOrder());
+            PriorityQueue<Hit> top = new PriorityQueue<>(ranking);
+            Facets facets = new Facets();
+            long total = 0;
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                StudentResponseDTO student = students.get(entry.getKey());
+                if (student == null || !filter.test(student)) {
+                    continue;
+                }
+                total++;
+                facets.add(student);
+                top.add(new Hit(student, entry.getValue()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<StudentResponseDTO> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                hits.add(top.poll().student());
+            }
+            Collections.reverse(hits);
+            return new Result(total, hits, facets.toMap());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Alunos que atendem à cláusula, com o peso do melhor campo em que o termo ocorre.
+     * Se {@code candidates} não for nulo, só eles são avaliados (interseção com as cláusulas anteriores).
+     */
+    private Map<Long, Double> match(StudentSearchQuery.Clause clause, Map<Long, Double> candidates) {
+        List<String> terms = clause.terms();
+        Map<Long, Double> matches = new HashMap<>();
+        if (terms.size() == 1) {
+            String term = terms.get(0);
+            Map<String, Map<Long, int[]>> range = clause.prefix()
+                    ? postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                    : single(term);
+            range.forEach((indexed, students) -> {
+                double weight = indexed.equals(term) ? 1.0 : PREFIX_WEIGHT;
+                collect(students, clause.field(), weight, candidates, matches);
+            });
+            return matches;
+        }
+
+        // Frase: termos em posições consecutivas do mesmo campo
+        List<Map<Long, int[]>> termPostings = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<Long, int[]> students = postings.get(term);
+            if (students == null) {
+                termPostings = null;
+                break;
+            }
+            termPostings.add(students);
+        }
+        if (termPostings != null) {
+            for (Map.Entry<Long, int[]> entry : termPostings.get(0).entrySet()) {
+                Long id = entry.getKey();
+                if (candidates != null && !candidates.containsKey(id)) {
+                    continue;
+                }
+                double weight = phraseWeight(id, entry.getValue(), termPostings, clause.field());
+                if (weight > 0) {
+                    matches.merge(id, weight, Math::max);
+                }
+            }
+        }
+        // "123.456.789-01" também encontra o CPF indexado como "12345678901"
+        Map<Long, int[]> compact = postings.get(String.join("", terms));
+        if (compact != null) {
+            collect(compact, clause.field(), 1.0, candidates, matches);
+        }
+        return matches;
+    }
+
+    private Map<String, Map<Long, int[]>> single(String term) {
+        Map<Long, int[]> students = postings.get(term);
+        return students != null ? Map.of(term, students) : Map.of();
+    }
+
+    private static void collect(Map<Long, int[]> students, Field field, double weight,
+                                Map<Long, Double> candidates, Map<Long, Double> matches) {
+        students.forEach((id, positions) -> {
+            if (candidates != null && !candidates.containsKey(id)) {
+                return;
+            }
+            double best = bestFieldWeight(positions, field);
+            if (best > 0) {
+                matches.merge(id, best * weight, Math::max);
+            }
+        });
+    }
+
+    private static double bestFieldWeight(int[] positions, Field field) {
+        double best = 0;
+        for (int position : positions) {
+            Field positionField = FIELDS[position / FIELD_GAP];
+            if (field == null || field == positionField) {
+                best = Math.max(best, positionField.weight);
+            }
+        }
+        return best;
+    }
+
+    private static double phraseWeight(Long id, int[] firstPositions, List<Map<Long, int[]>> termPostings, Field field) {
+        double best = 0;
+        for (int start : firstPositions) {
+            Field startField = FIELDS[start / FIELD_GAP];
+            if (field != null && field != startField) {
+                continue;
+            }
+            boolean matched = true;
+            for (int i = 1; i < termPostings.size() && matched; i++) {
+                int[] positions = termPostings.get(i).get(id);
+                int expected = start + i;
+                matched = positions != null && expected / FIELD_GAP == start / FIELD_GAP
+                        && Arrays.binarySearch(positions, expected) >= 0;
+            }
+            if (matched) {
+                best = Math.max(best, startField.weight);
+            }
+        }
+        return best;
+    }
+
+    private void removeTerms(Long id) {
+        String[] terms = termsByStudent.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, int[]> students = postings.get(term);
+            if (students != null) {
+                students.remove(id);
+                if (students.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private record Hit(StudentResponseDTO student, double score) {
+    }
+
+    /**
+     * Resultado da busca: total de alunos encontrados, os mais relevantes e as facetas.
+     */
+    public record Result(long totalHits, List<StudentResponseDTO> hits, Map<String, Map<String, Long>> facets) {
+    }
+
+    private static final class Facets {
+        private final Map<String, Long> courses = new HashMap<>();
+        private final Map<String, Long> statuses = new HashMap<>();
+        private final Map<String, Long> semesters = new HashMap<>();
+
+        void add(StudentResponseDTO student) {
+            increment(courses, student.getCourse());
+            increment(statuses, student.getStatus() != null ? student.getStatus().name() : null);
+            increment(semesters, student.getSemester() != null ? student.getSemester().toString() : null);
+        }
+
+        Map<String, Map<String, Long>> toMap() {
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            facets.put("course", sorted(courses));
+            facets.put("status", sorted(statuses));
+            facets.put("semester", sorted(semesters));
+            return facets;
+        }
+
+        private static void increment(Map<String, Long> counts, String value) {
+            if (value != null) {
+                counts.merge(value, 1L, Long::sum);
+            }
+        }
+
+        private static Map<String, Long> sorted(Map<String, Long> counts) {
+            Map<String, Long> sorted = new LinkedHashMap<>();
+            counts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .forEachOrdered(entry -> sorted.put(entry.getKey(), entry.getValue()));
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.distrischool.student.readmodel;
+
+import com.distrischool.student.exception.BusinessException;
+import com.distrischool.student.readmodel.StudentSearchIndex.Field;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Consulta da busca textual de alunos. Todas as cláusulas precisam ser atendidas.
+ *
+ * - {@code silva}: o termo em qualquer campo;
+ * - {@code silv*}: termos que começam com o prefixo (ao menos {@value #MIN_PREFIX_LENGTH} caracteres);
+ * - {@code "maria silva"}: frase, termos consecutivos no mesmo campo;
+ * - {@code email:gmail}, {@code course:"ciencia da computacao"}: restrito a um campo
+ *   (name, email, cpf, registration, course, notes).
+ *
+ * Acentos e maiúsculas são ignorados. Valores com pontuação ("123.456.789-01",
+ * "ana@faculdade.edu.br") são buscados como frase.
+ */
+public record StudentSearchQuery(List<Clause> clauses) {
+
+    public static final int MIN_PREFIX_LENGTH = 2;
+    public static final int MAX_CLAUSES = 10;
+
+    private static final Map<String, Field> FIELDS_BY_NAME = Arrays.stream(Field.values())
+            .collect(Collectors.toMap(Field::queryName, Function.identity()));
+
+    /**
+     * Uma cláusula: termos (mais de um = frase), campo opcional e se o último termo é prefixo.
+     */
+    public record Clause(Field field, List<String> terms, boolean prefix) {
+    }
+
+    /**
+     * @throws BusinessException se a consulta tiver cláusulas demais ou prefixos curtos demais
+     */
+    public static StudentSearchQuery parse(String text) {
+        List<Clause> clauses = new ArrayList<>();
+        if (text == null) {
+            return new StudentSearchQuery(clauses);
+        }
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            Field field = null;
+            int colon = fieldSeparator(text, i);
+            if (colon > 0) {
+                field = FIELDS_BY_NAME.get(text.substring(i, colon).toLowerCase());
+                if (field != null) {
+                    i = colon + 1;
+                }
+            }
+
+            String value;
+            boolean quoted = i < length && text.charAt(i) == '"';
+            if (quoted) {
+                int end = text.indexOf('"', i + 1);
+                end = end < 0 ? length : end;
+                value = text.substring(i + 1, end);
+                i = Math.min(length, end + 1);
+            } else {
+                int end = i;
+                while (end < length && !Character.isWhitespace(text.charAt(end))) {
+                    end++;
+                }
+                value = text.substring(i, end);
+                i = end;
+            }
+
+            boolean prefix = !quoted && value.endsWith("*");
+            List<String> terms = StudentSearchIndex.analyze(prefix ? value.substring(0, value.length() - 1) : value);
+            if (terms.isEmpty()) {
+                continue;
+            }
+            if (prefix && (terms.size() > 1 || terms.get(0).length() < MIN_PREFIX_LENGTH)) {
+                throw new BusinessException("Prefixos devem ser uma única palavra com ao menos "
+                        + MIN_PREFIX_LENGTH + " caracteres: " + value);
+            }
+            clauses.add(new Clause(field, terms, prefix));
+        }
+        if (clauses.size() > MAX_CLAUSES) {
+            throw new BusinessException("A busca aceita no máximo " + MAX_CLAUSES + " termos");
+        }
+        return new StudentSearchQuery(clauses);
+    }
+
+    /**
+     * Posição do ':' de um prefixo {@code campo:} iniciado em {@code start}, ou -1.
+     */
+    private static int fieldSeparator(String text, int start) {
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ':') {
+                return i;
+            }
+            if (!Character.isLetter(c)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,20 +1,28 @@
 package com.distrischool.student.repository;
 
+import com.distrischool.student.dto.StudentStatisticsGroup;
 import com.distrischool.student.entity.Student;
+import com.distrischool.student.entity.Student.AuthProvisioningStatus;
 import com.distrischool.student.entity.Student.StudentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student> {
 
     Optional<Student> findByRegistrationNumber(String registrationNumber);
     Optional<Student> findByCpf(String cpf);
@@ -40,16 +48,33 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     @Query("SELECT s FROM Student s WHERE s.deletedAt IS NULL")
     Page<Student> findAllNotDeleted(Pageable pageable);
 
-    @Query(value = "SELECT s FROM Student s WHERE s.deletedAt IS NULL " +
-           "AND (:name = '' OR LOWER(s.fullName) LIKE CONCAT('%', LOWER(:name), '%')) " +
-           "AND (:course IS NULL OR s.course = :course) " +
-           "AND (:semester IS NULL OR s.semester = :semester) " +
-           "AND (:status IS NULL OR s.status = :status)",
-           countQuery = "SELECT COUNT(s) FROM Student s WHERE s.deletedAt IS NULL " +
-           "AND (:name = '' OR LOWER(s.fullName) LIKE CONCAT('%', LOWER(:name), '%')) " +
+    /**
+     * Alunos não removidos agrupados por status, curso e semestre, em uma única consulta
+     */
+    @Query("SELECT new com.distrischool.student.dto.StudentStatisticsGroup(s.status, s.course, s.semester, COUNT(s)) " +
+           "FROM Student s WHERE s.deletedAt IS NULL GROUP BY s.status, s.course, s.semester")
+    List<StudentStatisticsGroup> countGroupedByStatusCourseAndSemester();
+
+    /**
+     * Alunos não removidos de um grupo (status, curso e semestre), para recarregar a projeção local
+     */
+    @Query("SELECT s FROM Student s WHERE s.deletedAt IS NULL AND s.status = :status " +
+           "AND s.course = :course AND s.semester = :semester")
+    List<Student> findNotDeletedByGroup(@Param("status") StudentStatus status,
+                                        @Param("course") String course,
+                                        @Param("semester") Integer semester);
+
+    /**
+     * Filtros da busca de alunos (nome vazio e demais filtros nulos são ignorados). O nome é
+     * comparado sem acentos e maiúsculas, pela expressão do índice de trigramas (V11).
+     */
+    String FILTERS = "FROM Student s WHERE s.deletedAt IS NULL " +
+           "AND (:name = '' OR student_name_normalize(s.fullName) LIKE CONCAT('%', student_name_normalize(:name), '%')) " +
            "AND (:course IS NULL OR s.course = :course) " +
            "AND (:semester IS NULL OR s.semester = :semester) " +
-           "AND (:status IS NULL OR s.status = :status)")
+           "AND (:status IS NULL OR s.status = :status)";
+
+    @Query(value = "SELECT s " + FILTERS, countQuery = "SELECT COUNT(s) " + FILTERS)
     Page<Student> findByFilters(
         @Param("name") String name,
         @Param("course") String course,
@@ -58,15 +83,140 @@ Page<Student> findByFilters(
         Pageable pageable
     );
 
+    /**
+     * Mesma busca de {@link #findByFilters}, sem o COUNT: lê uma linha a mais para saber se há próxima página
+     */
+    @Query("SELECT s " + FILTERS)
+    Slice<Student> findSliceByFilters(
+        @Param("name") String name,
+        @Param("course") String course,
+        @Param("semester") Integer semester,
+        @Param("status") StudentStatus status,
+        Pageable pageable
+    );
+
+    @Query("SELECT COUNT(s) " + FILTERS)
+    long countByFilters(
+        @Param("name") String name,
+        @Param("course") String course,
+        @Param("semester") Integer semester,
+        @Param("status") StudentStatus status
+    );
+
+    /**
+     * Busca por nome tolerante a acentos e erros de digitação (pg_trgm, índice de trigramas da V11).
+     * Retorna os alunos em que alguma parte do nome é parecida com o termo (operador {@code <%},
+     * limiar {@code pg_trgm.word_similarity_threshold}), dos mais parecidos para os menos.
+     */
+    @Query(value = "SELECT s.* FROM students s WHERE s.deleted_at IS NULL " +
+           "AND student_name_normalize(:name) <% student_name_normalize(s.full_name) " +
+           "ORDER BY word_similarity(student_name_normalize(:name), student_name_normalize(s.full_name)) DESC, " +
+           "similarity(student_name_normalize(:name), student_name_normalize(s.full_name)) DESC, s.full_name, s.id " +
+           "LIMIT :limit", nativeQuery = true)
+    List<Student> findBySimilarName(@Param("name") String name, @Param("limit") int limit);
+
+    /**
+     * Ajusta o limiar de similaridade do pg_trgm apenas até o fim da transação atual
+     */
+    @Query(value = "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)", nativeQuery = true)
+    String setWordSimilarityThreshold(@Param("threshold") String threshold);
+
     /**
      * Busca múltiplos estudantes por IDs, excluindo os deletados
      */
     @Query("SELECT s FROM Student s WHERE s.id IN :ids AND s.deletedAt IS NULL")
     List<Student> findByIdsNotDeleted(@Param("ids") List<Long> ids);
 
+    /**
+     * Próxima página (por ID) de estudantes não deletados, para a carga da projeção local
+     */
+    @Query("SELECT s FROM Student s WHERE s.id > :afterId AND s.deletedAt IS NULL ORDER BY s.id")
+    List<Student> findNotDeletedAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Resolve o ID de um estudante não deletado a partir do número de matrícula
+     */
+    @Query("SELECT s.id FROM Student s WHERE s.registrationNumber = :registrationNumber AND s.deletedAt IS NULL")
+    Optional<Long> findIdByRegistrationNumber(@Param("registrationNumber") String registrationNumber);
+
     /**
      * Busca estudante por Auth0 ID
      */
     Optional<Student> findByAuth0Id(String auth0Id);
-}
 
+    // ==================== PROVISIONAMENTO NO SERVIÇO DE AUTENTICAÇÃO ====================
+
+    /**
+     * Reserva um aluno recém-criado para o provisionamento (PENDING -> IN_PROGRESS).
+     * Retorna 0 se outro processo já o reservou.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Student s SET s.authProvisioningStatus = :inProgress, " +
+           "s.authProvisioningAttempts = s.authProvisioningAttempts + 1, s.authProvisioningUpdatedAt = :now " +
+           "WHERE s.id = :id AND s.authProvisioningStatus = :pending")
+    int claimPendingAuthProvisioning(@Param("id") Long id,
+                                     @Param("pending") AuthProvisioningStatus pending,
+                                     @Param("inProgress") AuthProvisioningStatus inProgress,
+                                     @Param("now") LocalDateTime now);
+
+    /**
+     * Reserva um aluno cujo provisionamento ficou parado (pendente, interrompido ou com falha)
+     * desde antes de {@code staleBefore}. Retorna 0 se outro processo já o reservou.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Student s SET s.authProvisioningStatus = :inProgress, " +
+           "s.authProvisioningAttempts = s.authProvisioningAttempts + 1, s.authProvisioningUpdatedAt = :now " +
+           "WHERE s.id = :id AND s.authProvisioningStatus IN :retryable " +
+           "AND s.authProvisioningUpdatedAt < :staleBefore AND s.authProvisioningAttempts < :maxAttempts")
+    int claimStaleAuthProvisioning(@Param("id") Long id,
+                                   @Param("retryable") Collection<AuthProvisioningStatus> retryable,
+                                   @Param("inProgress") AuthProvisioningStatus inProgress,
+                                   @Param("staleBefore") LocalDateTime staleBefore,
+                                   @Param("maxAttempts") int maxAttempts,
+                                   @Param("now") LocalDateTime now);
+
+    /**
+     * IDs dos alunos com provisionamento parado desde antes de {@code staleBefore}, mais antigos primeiro
+     */
+    @Query("SELECT s.id FROM Student s WHERE s.authProvisioningStatus IN :retryable " +
+           "AND s.authProvisioningUpdatedAt < :staleBefore AND s.authProvisioningAttempts < :maxAttempts " +
+           "AND s.deletedAt IS NULL ORDER BY s.authProvisioningUpdatedAt")
+    List<Long> findStaleAuthProvisioningIds(@Param("retryable") Collection<AuthProvisioningStatus> retryable,
+                                            @Param("staleBefore") LocalDateTime staleBefore,
+                                            @Param("maxAttempts") int maxAttempts,
+                                            Pageable pageable);
+
+    /**
+     * Renova a reserva do provisionamento (heartbeat) antes de cada tentativa, para que o sweeper
+     * não a considere parada. {@code attempts} identifica a reserva: retorna 0 se ela não é mais
+     * desta execução (o aluno foi retomado por outro processo).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Student s SET s.authProvisioningUpdatedAt = :now " +
+           "WHERE s.id = :id AND s.authProvisioningStatus = :inProgress AND s.authProvisioningAttempts = :attempts")
+    int renewAuthProvisioningClaim(@Param("id") Long id,
+                                   @Param("inProgress") AuthProvisioningStatus inProgress,
+                                   @Param("attempts") int attempts,
+                                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Student s SET s.auth0Id = :auth0Id, s.authProvisioningStatus = :status, " +
+           "s.authProvisioningError = NULL, s.authProvisioningUpdatedAt = :now WHERE s.id = :id")
+    int completeAuthProvisioning(@Param("id") Long id,
+                                 @Param("auth0Id") String auth0Id,
+                                 @Param("status") AuthProvisioningStatus status,
+                                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Student s SET s.authProvisioningStatus = :status, s.authProvisioningError = :error, " +
+           "s.authProvisioningUpdatedAt = :now WHERE s.id = :id")
+    int failAuthProvisioning(@Param("id") Long id,
+                             @Param("status") AuthProvisioningStatus status,
+                             @Param("error") String error,
+                             @Param("now") LocalDateTime now);
+}
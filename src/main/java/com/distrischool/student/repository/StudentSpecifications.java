@@ -0,0 +1,52 @@
+package com.distrischool.student.repository;
+
+import com.distrischool.student.entity.Student;
+import com.distrischool.student.entity.Student.StudentStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import static com.distrischool.student.config.StudentSearchFunctionContributor.NAME_NORMALIZE;
+
+/**
+ * Filtros das listagens de alunos, para as consultas paginadas por keyset
+ * ({@link StudentRepository#findBy(Specification, java.util.function.Function)}).
+ * Todos excluem os alunos removidos (soft delete).
+ */
+public final class StudentSpecifications {
+
+    private StudentSpecifications() {
+    }
+
+    public static Specification<Student> notDeleted() {
+        return (root, query, cb) -> cb.isNull(root.get("deletedAt"));
+    }
+
+    public static Specification<Student> byCourse(String course) {
+        return notDeleted().and((root, query, cb) -> cb.equal(root.get("course"), course));
+    }
+
+    public static Specification<Student> byCourseAndSemester(String course, Integer semester) {
+        return byCourse(course).and((root, query, cb) -> cb.equal(root.get("semester"), semester));
+    }
+
+    /**
+     * Mesmos filtros de {@link StudentRepository#findByFilters}; filtros nulos ou vazios são ignorados.
+     */
+    public static Specification<Student> byFilters(String name, String course, Integer semester, StudentStatus status) {
+        Specification<Student> specification = notDeleted();
+        if (name != null && !name.isBlank()) {
+            specification = specification.and((root, query, cb) -> cb.like(
+                    cb.function(NAME_NORMALIZE, String.class, root.get("fullName")),
+                    cb.concat(cb.concat("%", cb.function(NAME_NORMALIZE, String.class, cb.literal(name))), "%")));
+        }
+        if (course != null && !course.isBlank()) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("course"), course));
+        }
+        if (semester != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("semester"), semester));
+        }
+        if (status != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,271 @@
+package com.distrischool.student.service;
+
+import com.distrischool.student.dto.auth.ApiResponse;
+import com.distrischool.student.dto.auth.AuthResponse;
+import com.distrischool.student.dto.auth.RegisterUserRequest;
+import com.distrischool.student.entity.Student;
+import com.distrischool.student.entity.Student.AuthProvisioningStatus;
+import com.distrischool.student.exception.BusinessException;
+import com.distrischool.student.feign.AuthServiceClient;
+import com.distrischool.student.metrics.StudentMetricsRecorder;
+import com.distrischool.student.repository.StudentRepository;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Provisionamento assíncrono do usuário do aluno no serviço de autenticação (Auth0).
+ *
+ * O cadastro do aluno é salvo com {@code auth_provisioning_status = PENDING} e, após
+ * o commit, o registro no serviço de autenticação roda em um pool próprio, com retry
+ * e backoff exponencial (Resilience4j, instância {@code authProvisioning}). Assim
+ * nenhuma conexão do banco fica presa esperando o serviço de autenticação.
+ *
+ * Cada execução reserva o aluno (PENDING/FAILED -> IN_PROGRESS) com um UPDATE
+ * condicional, para que o worker e o sweeper de instâncias diferentes não registrem
+ * o mesmo aluno em paralelo. O sweeper retoma alunos parados: pendentes cujo
+ * disparo se perdeu (ex: pod reiniciado), execuções interrompidas e falhas. Ele só
+ * seleciona os alunos; a reserva e o registro rodam no pool, fora da thread do agendador.
+ *
+ * A reserva é renovada antes de cada tentativa do retry ({@code auth_provisioning_updated_at}),
+ * então uma execução em andamento só parece parada se uma única tentativa (timeouts do
+ * Feign) mais o backoff passarem de {@code stale-after}. Se mesmo assim o aluno for
+ * retomado, a renovação seguinte falha e a execução antiga desiste sem registrar de novo.
+ */
+@Service
+@Slf4j
+public class AuthProvisioningService {
+
+    private static final String RETRY_INSTANCE = "authProvisioning";
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final List<AuthProvisioningStatus> RETRYABLE_STATUSES = List.of(
+            AuthProvisioningStatus.PENDING, AuthProvisioningStatus.IN_PROGRESS, AuthProvisioningStatus.FAILED);
+
+    private final StudentRepository studentRepository;
+    private final AuthServiceClient authServiceClient;
+    private final StudentMetricsRecorder metricsRecorder;
+    private final TaskExecutor executor;
+    private final Retry retry;
+
+    @Value("${microservice.auth-provisioning.stale-after:5m}")
+    private Duration staleAfter;
+
+    @Value("${microservice.auth-provisioning.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${microservice.auth-provisioning.sweep-batch-size:50}")
+    private int sweepBatchSize;
+
+    public AuthProvisioningService(StudentRepository studentRepository,
+                                   AuthServiceClient authServiceClient,
+                                   StudentMetricsRecorder metricsRecorder,
+                                   @Qualifier("authProvisioningExecutor") TaskExecutor executor,
+                                   RetryRegistry retryRegistry) {
+        this.studentRepository = studentRepository;
+        this.authServiceClient = authServiceClient;
+        this.metricsRecorder = metricsRecorder;
+        this.executor = executor;
+        this.retry = retryRegistry.retry(RETRY_INSTANCE);
+    }
+
+    /**
+     * Agenda o provisionamento para depois do commit da transação atual.
+     * Fora de uma transação, o provisionamento é disparado imediatamente.
+     *
+     * @param authorizationHeader repassado ao serviço de autenticação apenas nesta execução
+     */
+    public void provisionAfterCommit(Long studentId, String authorizationHeader) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(studentId, authorizationHeader);
+                }
+            });
+        } else {
+            submit(studentId, authorizationHeader);
+        }
+    }
+
+    /**
+     * Retoma provisionamentos parados há mais de {@code stale-after}, enviando-os ao pool.
+     *
+     * O token da requisição original não é guardado, então o registro retomado vai sem o
+     * header Authorization, como no registro feito pelos próprios usuários finais.
+     */
+    @Scheduled(fixedDelayString = "${microservice.auth-provisioning.sweep-interval:60s}",
+               initialDelayString = "${microservice.auth-provisioning.sweep-interval:60s}")
+    public void sweep() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(staleAfter);
+        List<Long> studentIds = studentRepository.findStaleAuthProvisioningIds(
+                RETRYABLE_STATUSES, staleBefore, maxAttempts, PageRequest.of(0, sweepBatchSize));
+        if (studentIds.isEmpty()) {
+            return;
+        }
+
+        log.info("Retomando provisionamento no serviço de autenticação de {} aluno(s)", studentIds.size());
+        for (int i = 0; i < studentIds.size(); i++) {
+            Long studentId = studentIds.get(i);
+            try {
+                executor.execute(() -> resume(studentId, staleBefore));
+            } catch (TaskRejectedException e) {
+                // Os alunos não reservados continuam parados e voltam na próxima varredura
+                log.warn("Fila de provisionamento cheia; {} aluno(s) ficam para a próxima varredura",
+                        studentIds.size() - i);
+                return;
+            }
+        }
+    }
+
+    private void submit(Long studentId, String authorizationHeader) {
+        try {
+            executor.execute(() -> provision(studentId, authorizationHeader));
+        } catch (TaskRejectedException e) {
+            // O aluno continua PENDING e será retomado pelo sweeper
+            log.warn("Fila de provisionamento cheia; aluno ID={} será provisionado pelo sweeper", studentId);
+        }
+    }
+
+    void provision(Long studentId, String authorizationHeader) {
+        int claimed = studentRepository.claimPendingAuthProvisioning(studentId,
+                AuthProvisioningStatus.PENDING, AuthProvisioningStatus.IN_PROGRESS, LocalDateTime.now());
+        if (claimed == 1) {
+            provisionClaimed(studentId, authorizationHeader);
+        }
+    }
+
+    void resume(Long studentId, LocalDateTime staleBefore) {
+        int claimed = studentRepository.claimStaleAuthProvisioning(studentId, RETRYABLE_STATUSES,
+                AuthProvisioningStatus.IN_PROGRESS, staleBefore, maxAttempts, LocalDateTime.now());
+        if (claimed == 1) {
+            provisionClaimed(studentId, null);
+        }
+    }
+
+    private void provisionClaimed(Long studentId, String authorizationHeader) {
+        Student student = studentRepository.findById(studentId).orElse(null);
+        if (student == null || student.isDeleted()) {
+            log.warn("Aluno ID={} não encontrado ou removido; provisionamento ignorado", studentId);
+            studentRepository.failAuthProvisioning(studentId, AuthProvisioningStatus.FAILED,
+                    "Aluno não encontrado ou removido", LocalDateTime.now());
+            return;
+        }
+
+        // A reserva desta execução é a que incrementou o contador de tentativas
+        int claimedAttempt = student.getAuthProvisioningAttempts() != null ? student.getAuthProvisioningAttempts() : 0;
+        try {
+            String auth0Id = retry.executeSupplier(() -> {
+                renewClaim(studentId, claimedAttempt);
+                return registerAuthUser(student, authorizationHeader);
+            });
+            studentRepository.completeAuthProvisioning(studentId, auth0Id,
+                    AuthProvisioningStatus.COMPLETED, LocalDateTime.now());
+            metricsRecorder.recordOperation("auth_provisioning", "success");
+            log.info("Usuário Auth0 provisionado para o aluno ID={} - auth0Id={}", studentId, auth0Id);
+        } catch (ClaimLostException e) {
+            // O estado agora pertence à outra execução: nada a gravar
+            log.warn("Provisionamento do aluno ID={} retomado por outro processo; execução abandonada", studentId);
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            studentRepository.failAuthProvisioning(studentId, AuthProvisioningStatus.FAILED,
+                    error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                    LocalDateTime.now());
+            metricsRecorder.recordOperation("auth_provisioning", "failure");
+            log.error("Falha ao provisionar usuário Auth0 para o aluno ID={}: {}", studentId, error);
+        }
+    }
+
+    private void renewClaim(Long studentId, int claimedAttempt) {
+        int renewed = studentRepository.renewAuthProvisioningClaim(studentId,
+                AuthProvisioningStatus.IN_PROGRESS, claimedAttempt, LocalDateTime.now());
+        if (renewed != 1) {
+            throw new ClaimLostException(studentId);
+        }
+    }
+
+    private String registerAuthUser(Student student, String authorizationHeader) {
+        String password = PasswordGenerator.generateSecurePassword();
+
+        RegisterUserRequest registerUserRequest = RegisterUserRequest.builder()
+                .email(student.getEmail())
+                .password(password)
+                .confirmPassword(password)
+                .firstName(extractFirstName(student.getFullName()))
+                .lastName(extractLastName(student.getFullName()))
+                .phone(student.getPhone())
+                .documentNumber(student.getCpf())
+                .roles(Set.of("STUDENT"))
+                .build();
+
+        ApiResponse<AuthResponse> response = authServiceClient.registerUser(authorizationHeader, registerUserRequest);
+
+        if (response == null) {
+            throw new IllegalStateException("Serviço de autenticação não respondeu ao registrar o usuário do aluno");
+        }
+
+        if (!Boolean.TRUE.equals(response.getSuccess())) {
+            String message = response.getMessage() != null ? response.getMessage() : "Resposta sem sucesso do serviço de autenticação";
+            throw new BusinessException("Falha ao registrar usuário no Auth0: " + message);
+        }
+
+        AuthResponse data = response.getData();
+        if (data == null || data.getUser() == null) {
+            throw new BusinessException("Serviço de autenticação não retornou os dados do usuário registrado");
+        }
+
+        String auth0Id = data.getUser().getAuth0Id();
+        if (auth0Id == null || auth0Id.isBlank()) {
+            throw new BusinessException("Serviço de autenticação não retornou o Auth0 ID do usuário");
+        }
+        return auth0Id;
+    }
+
+    private String extractFirstName(String fullName) {
+        if (fullName == null || fullName.isBlank()) {
+            return "Student";
+        }
+        String trimmed = fullName.trim();
+        int spaceIndex = trimmed.indexOf(' ');
+        if (spaceIndex == -1) {
+            return trimmed;
+        }
+        return trimmed.substring(0, spaceIndex);
+    }
+
+    private String extractLastName(String fullName) {
+        if (fullName == null || fullName.isBlank()) {
+            return "User";
+        }
+        String trimmed = fullName.trim();
+        int spaceIndex = trimmed.indexOf(' ');
+        if (spaceIndex == -1) {
+            return trimmed;
+        }
+        return trimmed.substring(spaceIndex + 1);
+    }
+
+    /**
+     * A reserva do aluno passou para outra execução. Subclasse de {@link BusinessException}
+     * para não ser repetida pelo retry ({@code ignore-exceptions}).
+     */
+    static class ClaimLostException extends BusinessException {
+
+        ClaimLostException(Long studentId) {
+            super("Reserva do provisionamento do aluno ID=" + studentId + " retomada por outro processo");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.distrischool.student.service;
+
+/**
+ * Validação de CPF pelos dígitos verificadores.
+ */
+public final class CpfValidator {
+
+    private CpfValidator() {
+    }
+
+    /**
+     * Valida CPF considerando os dígitos verificadores.
+     * Aceita apenas 11 dígitos (com ou sem pontuação) e rejeita sequências repetidas.
+     */
+    public static boolean isValid(String cpf) {
+        if (cpf == null) return false;
+        String digits = cpf.replaceAll("\\D", "");
+        if (digits.length() != 11) return false;
+
+        // Rejeita sequências do mesmo dígito (ex: 000..., 111..., etc)
+        if (digits.chars().distinct().count() == 1) return false;
+
+        try {
+            int d1 = 0, d2 = 0;
+            for (int i = 0; i < 9; i++) {
+                int num = digits.charAt(i) - '0';
+                d1 += num * (10 - i);
+                d2 += num * (11 - i);
+            }
+            int check1 = d1 % 11;
+            check1 = check1 < 2 ? 0 : 11 - check1;
+
+            d2 += check1 * 2;
+            int check2 = d2 % 11;
+            check2 = check2 < 2 ? 0 : 11 - check2;
+
+            return (digits.charAt(9) - '0') == check1 && (digits.charAt(10) - '0') == check2;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
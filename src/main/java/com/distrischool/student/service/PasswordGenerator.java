@@ -0,0 +1,47 @@
+package com.distrischool.student.service;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Senhas iniciais dos usuários de alunos provisionados no serviço de autenticação.
+ */
+public final class PasswordGenerator {
+
+    private static final String LOWER = "abcdefghijklmnopqrstuvwxyz";
+    private static final String UPPER = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String DIGITS = "0123456789";
+    private static final String SPECIAL = "@$!%*?&";
+    private static final String ALL_CHARS = LOWER + UPPER + DIGITS + SPECIAL;
+    private static final int LENGTH = 12;
+
+    private PasswordGenerator() {
+    }
+
+    /**
+     * Senha de {@value #LENGTH} caracteres com ao menos uma minúscula, uma maiúscula,
+     * um dígito e um caractere especial.
+     */
+    public static String generateSecurePassword() {
+        SecureRandom random = new SecureRandom();
+        ArrayList<Character> passwordChars = new ArrayList<>();
+
+        passwordChars.add(LOWER.charAt(random.nextInt(LOWER.length())));
+        passwordChars.add(UPPER.charAt(random.nextInt(UPPER.length())));
+        passwordChars.add(DIGITS.charAt(random.nextInt(DIGITS.length())));
+        passwordChars.add(SPECIAL.charAt(random.nextInt(SPECIAL.length())));
+
+        while (passwordChars.size() < LENGTH) {
+            passwordChars.add(ALL_CHARS.charAt(random.nextInt(ALL_CHARS.length())));
+        }
+
+        Collections.shuffle(passwordChars, random);
+
+        StringBuilder password = new StringBuilder();
+        for (Character c : passwordChars) {
+            password.append(c);
+        }
+        return password.toString();
+    }
+}
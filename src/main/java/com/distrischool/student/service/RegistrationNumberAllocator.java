@@ -0,0 +1,131 @@
+package com.distrischool.student.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Gera números de matrícula no formato YYYYMM + sufixo sequencial de 6 dígitos.
+ *
+ * Cada instância reserva blocos de sufixos na tabela {@code registration_sequences}
+ * com um único UPSERT em autocommit (o bloqueio da linha do período dura só essa
+ * instrução, não a transação de cadastro). As matrículas do bloco são entregues
+ * em memória, sem consulta ao banco.
+ *
+ * A reserva usa uma conexão própria (pool de uma conexão, fora do pool da aplicação):
+ * quem chama já está na transação do cadastro, segurando uma conexão do pool principal.
+ * Se a reserva também dependesse desse pool, cadastros concorrentes em número igual ao
+ * tamanho do pool o esgotariam, e quem segura o lock esperaria por uma conexão que
+ * nunca é liberada.
+ *
+ * Os números nunca se repetem e crescem dentro de cada instância; entre instâncias,
+ * blocos diferentes podem ser consumidos em paralelo. Sufixos não usados de um bloco
+ * (ex: reinício do pod) são descartados, gerando lacunas na numeração.
+ */
+@Component
+@Slf4j
+public class RegistrationNumberAllocator {
+
+    private static final DateTimeFormatter PERIOD_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String RESERVE_BLOCK_SQL = """
+            INSERT INTO registration_sequences (period, last_value, updated_at)
+            VALUES (?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (period) DO UPDATE
+               SET last_value = registration_sequences.last_value + EXCLUDED.last_value,
+                   updated_at = CURRENT_TIMESTAMP
+            RETURNING last_value
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HikariDataSource dataSource;
+    private final int blockSize;
+    private final Clock clock;
+
+    /** Próximo sufixo e limite (inclusivo) do bloco reservado para cada período */
+    private final Map<String, Block> blocks = new HashMap<>();
+
+    // Vários construtores: o Spring precisa saber qual usar
+    @Autowired
+    public RegistrationNumberAllocator(DataSourceProperties dataSourceProperties,
+                                       @Value("${microservice.registration.block-size:50}") int blockSize) {
+        this(dedicatedDataSource(dataSourceProperties), blockSize, Clock.systemDefaultZone());
+    }
+
+    private RegistrationNumberAllocator(HikariDataSource dataSource, int blockSize, Clock clock) {
+        this(new JdbcTemplate(dataSource), dataSource, blockSize, clock);
+    }
+
+    RegistrationNumberAllocator(JdbcTemplate jdbcTemplate, HikariDataSource dataSource, int blockSize, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.blockSize = Math.max(1, blockSize);
+        this.clock = clock;
+    }
+
+    /**
+     * Pool de uma conexão, com as credenciais do datasource da aplicação. Só quem segura
+     * o lock do alocador o usa, então nunca há espera por conexão.
+     */
+    static HikariDataSource dedicatedDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("registration-sequences");
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setMinimumIdle(1);
+        dataSource.setAutoCommit(true);
+        return dataSource;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    /**
+     * Retorna o próximo número de matrícula do período atual.
+     */
+    public synchronized String nextRegistrationNumber() {
+        String period = YearMonth.now(clock).format(PERIOD_FORMAT);
+        Block block = blocks.get(period);
+        if (block == null || block.next > block.last) {
+            block = reserveBlock(period);
+            // Períodos anteriores não voltam a ser usados
+            blocks.clear();
+            blocks.put(period, block);
+        }
+        return String.format("%s%06d", period, block.next++);
+    }
+
+    private Block reserveBlock(String period) {
+        Long last = jdbcTemplate.queryForObject(RESERVE_BLOCK_SQL, Long.class, period, blockSize);
+        if (last == null) {
+            throw new IllegalStateException("Falha ao reservar bloco de matrículas para o período " + period);
+        }
+        long first = last - blockSize + 1;
+        log.debug("Bloco de matrículas reservado: período={}, sufixos {}..{}", period, first, last);
+        return new Block(first, last);
+    }
+
+    private static final class Block {
+        private long next;
+        private final long last;
+
+        private Block(long next, long last) {
+            this.next = next;
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.distrischool.student.service;
+
+import com.distrischool.student.exception.BusinessException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Posição de uma listagem paginada por keyset (seek): ordenação e valores da chave de
+ * ordenação e do ID do último aluno entregue.
+ *
+ * Trafega como um token opaco (Base64 URL-safe). A ordenação vem no próprio token: nas
+ * páginas seguintes à primeira, os parâmetros de ordenação da requisição são ignorados.
+ * Só são aceitos campos com índice e não nulos; o ID desempata registros com o mesmo valor.
+ *
+ * @param property  campo de ordenação
+ * @param direction direção da ordenação
+ * @param lastValue valor do campo de ordenação no último aluno entregue (nulo na primeira página)
+ * @param lastId    ID do último aluno entregue (nulo na primeira página)
+ */
+public record StudentCursor(String property, Sort.Direction direction, String lastValue, Long lastId) {
+
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "fullName", "registrationNumber");
+
+    private static final String ID = "id";
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * Primeira página de uma listagem ordenada por {@code property}.
+     *
+     * @throws BusinessException se o campo não pode ser usado na paginação por cursor
+     */
+    public static StudentCursor first(String property, Sort.Direction direction) {
+        if (!SORTABLE_PROPERTIES.contains(property)) {
+            throw new BusinessException("Ordenação não suportada na paginação por cursor: " + property
+                    + " (use " + String.join(", ", SORTABLE_PROPERTIES) + ")");
+        }
+        return new StudentCursor(property, direction, null, null);
+    }
+
+    /**
+     * Decodifica o token recebido ou, se ele estiver vazio, inicia pela primeira página.
+     */
+    public static StudentCursor resolve(String token, String property, Sort.Direction direction) {
+        return token == null || token.isBlank() ? first(property, direction) : decode(token);
+    }
+
+    /**
+     * @throws BusinessException se o token não foi gerado por {@link #encode()}
+     */
+    public static StudentCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // O valor fica por último: pode conter qualquer caractere, inclusive o separador
+            String[] parts = decoded.split(SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Campos ausentes");
+            }
+            StudentCursor cursor = first(parts[0], Sort.Direction.fromString(parts[1]));
+            return new StudentCursor(cursor.property(), cursor.direction(),
+                    ID.equals(cursor.property()) ? null : parts[3], Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+
+    public String encode() {
+        String value = String.join(SEPARATOR, property, direction.name(), String.valueOf(lastId),
+                lastValue != null ? lastValue : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cursor que continua depois do aluno na posição informada pela consulta.
+     */
+    public StudentCursor after(KeysetScrollPosition position) {
+        Map<String, ?> keys = position.getKeys();
+        Object value = keys.get(property);
+        return new StudentCursor(property, direction, ID.equals(property) || value == null ? null : value.toString(),
+                ((Number) keys.get(ID)).longValue());
+    }
+
+    public Sort sort() {
+        Sort sort = Sort.by(direction, property);
+        return ID.equals(property) ? sort : sort.and(Sort.by(direction, ID));
+    }
+
+    public ScrollPosition position() {
+        if (lastId == null) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (!ID.equals(property)) {
+            keys.put(property, lastValue);
+        }
+        keys.put(ID, lastId);
+        return ScrollPosition.forward(keys);
+    }
+}
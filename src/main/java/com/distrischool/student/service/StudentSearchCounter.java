@@ -0,0 +1,107 @@
+package com.distrischool.student.service;
+
+import com.distrischool.student.entity.Student.StudentStatus;
+import com.distrischool.student.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Totais da busca de alunos ({@link StudentRepository#findByFilters}) calculados de três formas:
+ *
+ * - exato: {@code COUNT} com todos os filtros, inclusive o {@code LIKE} com curinga no início,
+ *   que percorre todos os alunos não removidos;
+ * - em cache: o mesmo {@code COUNT}, reaproveitado por instância durante {@code cache-ttl}
+ *   para os mesmos filtros (dashboards que navegam páginas da mesma busca);
+ * - estimado: linhas previstas pelo planejador do PostgreSQL ({@code EXPLAIN}), a partir das
+ *   estatísticas da tabela, sem ler os dados. Só os filtros informados entram na consulta,
+ *   para que o planejador use a seletividade de cada um.
+ */
+@Component
+@Slf4j
+public class StudentSearchCounter {
+
+    static final String CACHE_NAME = "student-search-counts";
+
+    private final StudentRepository studentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<Filters, Long> cachedCounts;
+
+    public StudentSearchCounter(StudentRepository studentRepository,
+                                JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${microservice.pagination.count.cache-ttl:30s}") Duration cacheTtl,
+                                @Value("${microservice.pagination.count.cache-maximum-size:1000}") long cacheMaximumSize) {
+        this.studentRepository = studentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.cachedCounts = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheMaximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cachedCounts, CACHE_NAME);
+    }
+
+    public long exact(String name, String course, Integer semester, StudentStatus status) {
+        long total = studentRepository.countByFilters(name, course, semester, status);
+        cachedCounts.put(new Filters(name, course, semester, status), total);
+        return total;
+    }
+
+    public long cached(String name, String course, Integer semester, StudentStatus status) {
+        return cachedCounts.get(new Filters(name, course, semester, status),
+                filters -> studentRepository.countByFilters(name, course, semester, status));
+    }
+
+    /**
+     * Estimativa do planejador; vazio se o banco não suporta {@code EXPLAIN (FORMAT JSON)}.
+     */
+    public OptionalLong estimate(String name, String course, Integer semester, StudentStatus status) {
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM students s WHERE s.deleted_at IS NULL");
+        List<Object> args = new ArrayList<>();
+        if (!name.isEmpty()) {
+            sql.append(" AND student_name_normalize(s.full_name) LIKE '%' || student_name_normalize(?) || '%'");
+            args.add(name);
+        }
+        if (course != null) {
+            sql.append(" AND s.course = ?");
+            args.add(course);
+        }
+        if (semester != null) {
+            sql.append(" AND s.semester = ?");
+            args.add(semester);
+        }
+        if (status != null) {
+            sql.append(" AND s.status = ?");
+            args.add(status.name());
+        }
+        try {
+            String plan = jdbcTemplate.queryForObject(sql.toString(), String.class, args.toArray());
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? OptionalLong.of(Math.round(rows.asDouble())) : OptionalLong.empty();
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.debug("Estimativa do planejador indisponível para a busca de alunos: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    private record Filters(String name, String course, Integer semester, StudentStatus status) {
+    }
+}
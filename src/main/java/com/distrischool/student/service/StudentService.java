@@ -1,37 +1,61 @@
 package com.distrischool.student.service;
 
+import com.distrischool.student.cache.StudentCacheEvictor;
+import com.distrischool.student.cache.StudentLookupCache;
+import com.distrischool.student.dto.CountedPage;
+import com.distrischool.student.dto.CountedPage.CountMode;
+import com.distrischool.student.dto.CursorPage;
 import com.distrischool.student.dto.StudentRequestDTO;
 import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.dto.StudentSearchResultDTO;
+import com.distrischool.student.dto.StudentStatisticsDTO;
+import com.distrischool.student.dto.StudentStatisticsGroup;
 import com.distrischool.student.dto.StudentSummaryDTO;
 import com.distrischool.student.entity.Student;
 import com.distrischool.student.entity.Student.StudentStatus;
 import com.distrischool.student.exception.BusinessException;
 import com.distrischool.student.exception.ResourceNotFoundException;
-import com.distrischool.student.feign.AuthServiceClient;
+import com.distrischool.student.exception.ServiceUnavailableException;
 import com.distrischool.student.kafka.DistriSchoolEvent;
 import com.distrischool.student.kafka.EventProducer;
+import com.distrischool.student.kafka.payload.StudentCreatedPayload;
+import com.distrischool.student.kafka.payload.StudentDeletedPayload;
+import com.distrischool.student.kafka.payload.StudentState;
+import com.distrischool.student.kafka.payload.StudentStatusChangedPayload;
+import com.distrischool.student.kafka.payload.StudentUpdatedPayload;
+import com.distrischool.student.readmodel.StudentReadModel;
+import com.distrischool.student.readmodel.StudentSearchIndex;
+import com.distrischool.student.readmodel.StudentSearchQuery;
 import com.distrischool.student.repository.StudentRepository;
-import com.distrischool.student.dto.auth.ApiResponse;
-import com.distrischool.student.dto.auth.AuthResponse;
-import com.distrischool.student.dto.auth.RegisterUserRequest;
+import com.distrischool.student.repository.StudentSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.security.SecureRandom;
 
 /**
  * Service para gerenciamento de alunos
@@ -42,9 +66,19 @@
 @Transactional(readOnly = true)
 public class StudentService {
 
+    private static final String EVENT_SOURCE = "student-management-service";
+
+    /** Termos mais curtos não formam trigramas suficientes para a busca por similaridade */
+    private static final int FUZZY_SEARCH_MIN_LENGTH = 3;
+
     private final StudentRepository studentRepository;
     private final EventProducer eventProducer;
-    private final AuthServiceClient authServiceClient;
+    private final StudentCacheEvictor studentCacheEvictor;
+    private final StudentLookupCache studentLookupCache;
+    private final RegistrationNumberAllocator registrationNumberAllocator;
+    private final AuthProvisioningService authProvisioningService;
+    private final StudentReadModel studentReadModel;
+    private final StudentSearchCounter studentSearchCounter;
 
     @Value("${microservice.kafka.topics.student-created}")
     private String studentCreatedTopic;
@@ -58,11 +92,28 @@ public class StudentService {
     @Value("${microservice.kafka.topics.student-status-changed}")
     private String studentStatusChangedTopic;
 
+    @Value("${microservice.batch.stream.chunk-size:500}")
+    private int batchStreamChunkSize;
+
+    @Value("${microservice.batch.stream.max-ids:20000}")
+    private int batchStreamMaxIds;
+
+    @Value("${microservice.pagination.cursor.max-size:100}")
+    private int cursorMaxPageSize;
+
+    @Value("${microservice.search.fuzzy.threshold:0.4}")
+    private double fuzzySearchThreshold;
+
+    @Value("${microservice.search.fuzzy.max-results:50}")
+    private int fuzzySearchMaxResults;
+
+    @Value("${microservice.search.fulltext.max-results:100}")
+    private int fullTextSearchMaxResults;
+
     /**
      * Cria um novo aluno
      */
     @Transactional
-    @CacheEvict(value = "students", allEntries = true)
     public StudentResponseDTO createStudent(StudentRequestDTO request, String createdBy, String authorizationHeader) {
         log.info("Criando novo aluno: {}", request.getEmail());
 
@@ -72,10 +123,9 @@ public StudentResponseDTO createStudent(StudentRequestDTO request, String create
         
         // Cria a entidade
         Student student = buildStudentFromRequest(request);
-        student.setRegistrationNumber(generateRegistrationNumber());
-        // auth0Id será definido após criar o usuário no serviço de auth
-        String auth0Id = createAuthUserForStudent(student, authorizationHeader);
-        student.setAuth0Id(auth0Id);
+        student.setRegistrationNumber(registrationNumberAllocator.nextRegistrationNumber());
+        // auth0Id é preenchido pelo provisionamento assíncrono, após o commit
+        student.setAuthProvisioningStatus(Student.AuthProvisioningStatus.PENDING);
         student.setCreatedBy(createdBy);
         student.setUpdatedBy(createdBy);
 
@@ -84,6 +134,9 @@ public StudentResponseDTO createStudent(StudentRequestDTO request, String create
         log.info("Aluno criado com sucesso: ID={}, Matrícula={}",
                  savedStudent.getId(), savedStudent.getRegistrationNumber());
 
+        authProvisioningService.provisionAfterCommit(savedStudent.getId(), authorizationHeader);
+        studentReadModel.applyAfterCommit(savedStudent);
+
         // Publica evento Kafka
         publishStudentCreatedEvent(savedStudent);
 
@@ -92,25 +145,33 @@ public StudentResponseDTO createStudent(StudentRequestDTO request, String create
 
     /**
      * Busca aluno por ID
+     * Consulta a projeção local antes do cache; alunos ausentes nela (projeção ainda
+     * carregando, eventos antigos sem o estado completo) seguem pelo cache/banco.
+     * O que vem da projeção não é gravado no cache, que só guarda leituras do banco
      */
-    @Cacheable(value = "students", key = "#id")
     public StudentResponseDTO getStudentById(Long id) {
         log.debug("Buscando aluno por ID: {}", id);
-        Student student = findStudentByIdOrThrow(id);
-        return StudentResponseDTO.fromEntity(student);
+        return studentReadModel.findById(id)
+                .orElseGet(() -> studentLookupCache.getById(id,
+                        () -> StudentResponseDTO.fromEntity(findStudentByIdOrThrow(id))));
     }
 
     /**
      * Busca aluno por número de matrícula
+     * Usa a projeção local quando ela tem o aluno; senão resolve o ID pelo índice de
+     * matrículas e reaproveita a entrada do cache por ID
      */
-    @Cacheable(value = "students", key = "#registrationNumber")
     public StudentResponseDTO getStudentByRegistrationNumber(String registrationNumber) {
         log.debug("Buscando aluno por matrícula: {}", registrationNumber);
-        Student student = studentRepository.findByRegistrationNumber(registrationNumber)
-                .filter(s -> !s.isDeleted())
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Aluno não encontrado com matrícula: " + registrationNumber));
-        return StudentResponseDTO.fromEntity(student);
+        var projected = studentReadModel.findByRegistrationNumber(registrationNumber);
+        if (projected.isPresent()) {
+            return projected.get();
+        }
+        Long id = studentLookupCache.resolveId(registrationNumber, () ->
+                studentRepository.findIdByRegistrationNumber(registrationNumber)
+                        .orElseThrow(() -> new ResourceNotFoundException(
+                                "Aluno não encontrado com matrícula: " + registrationNumber)));
+        return studentLookupCache.getById(id, () -> StudentResponseDTO.fromEntity(findStudentByIdOrThrow(id)));
     }
 
     /**
@@ -151,11 +212,108 @@ public Page<StudentSummaryDTO> searchStudents(
                 .map(StudentSummaryDTO::fromEntity);
     }
 
+    /**
+     * Busca alunos com filtros, calculando o total conforme o modo pedido.
+     *
+     * A página é lida sem COUNT (uma linha a mais indica se há próxima página). Quando a busca
+     * termina nesta página o total é conhecido sem consulta e é sempre exato. Se o banco não
+     * fornece a estimativa, usa-se o total em cache.
+     */
+    public CountedPage<StudentSummaryDTO> searchStudents(String name, String course, Integer semester,
+                                                         StudentStatus status, Pageable pageable, CountMode countMode) {
+        log.debug("Buscando alunos com filtros - Nome: {}, Curso: {}, Semestre: {}, Status: {}, Total: {}",
+                  name, course, semester, status, countMode);
+
+        String normalizedName = (name == null || name.trim().isEmpty()) ? "" : name;
+        String normalizedCourse = (course != null && course.trim().isEmpty()) ? null : course;
+
+        Slice<StudentSummaryDTO> slice = studentRepository
+                .findSliceByFilters(normalizedName, normalizedCourse, semester, status, pageable)
+                .map(StudentSummaryDTO::fromEntity);
+
+        Long total = null;
+        CountMode effectiveMode = countMode;
+        boolean exact = false;
+        if (!slice.hasNext() && (slice.hasContent() || pageable.getPageNumber() == 0)) {
+            total = pageable.getOffset() + slice.getNumberOfElements();
+            exact = true;
+        } else if (countMode == CountMode.EXACT) {
+            total = studentSearchCounter.exact(normalizedName, normalizedCourse, semester, status);
+            exact = true;
+        } else if (countMode == CountMode.ESTIMATE) {
+            OptionalLong estimate = studentSearchCounter.estimate(normalizedName, normalizedCourse, semester, status);
+            if (estimate.isPresent()) {
+                // A estimativa nunca fica abaixo do que já se sabe existir
+                total = Math.max(estimate.getAsLong(), pageable.getOffset() + slice.getNumberOfElements() + 1);
+            } else {
+                effectiveMode = CountMode.CACHED;
+            }
+        }
+        if (total == null && effectiveMode == CountMode.CACHED) {
+            total = studentSearchCounter.cached(normalizedName, normalizedCourse, semester, status);
+        }
+
+        return CountedPage.<StudentSummaryDTO>builder()
+                .content(slice.getContent())
+                .number(slice.getNumber())
+                .size(slice.getSize())
+                .numberOfElements(slice.getNumberOfElements())
+                .hasNext(slice.hasNext())
+                .totalElements(total)
+                .totalPages(total != null ? (int) Math.ceil((double) total / slice.getSize()) : null)
+                .countMode(effectiveMode)
+                .totalExact(exact)
+                .build();
+    }
+
+    /**
+     * Busca alunos pelo nome com tolerância a acentos e erros de digitação, ordenados por relevância
+     */
+    public List<StudentSummaryDTO> searchStudentsBySimilarName(String name, int limit) {
+        String term = name != null ? name.trim() : "";
+        if (term.length() < FUZZY_SEARCH_MIN_LENGTH) {
+            throw new BusinessException("Informe ao menos " + FUZZY_SEARCH_MIN_LENGTH + " caracteres para a busca por nome");
+        }
+        int effectiveLimit = Math.max(1, Math.min(limit, fuzzySearchMaxResults));
+        log.debug("Buscando alunos por nome aproximado: {} (limite {})", term, effectiveLimit);
+
+        studentRepository.setWordSimilarityThreshold(String.valueOf(fuzzySearchThreshold));
+        return studentRepository.findBySimilarName(term, effectiveLimit).stream()
+                .map(StudentSummaryDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Busca textual (nome, e-mail, CPF, matrícula, curso e observações) no índice em memória
+     * da projeção local, com filtros opcionais por curso, status e semestre.
+     *
+     * @throws ServiceUnavailableException se a projeção local ainda não terminou a carga inicial
+     */
+    public StudentSearchResultDTO fullTextSearch(String query, String course, StudentStatus status,
+                                                 Integer semester, int limit) {
+        StudentSearchQuery parsed = StudentSearchQuery.parse(query);
+        int effectiveLimit = Math.max(1, Math.min(limit, fullTextSearchMaxResults));
+        log.debug("Busca textual de alunos: {} (curso={}, status={}, semestre={})", query, course, status, semester);
+
+        Predicate<StudentResponseDTO> filter = student ->
+                (course == null || course.isBlank() || course.equalsIgnoreCase(student.getCourse()))
+                        && (status == null || status == student.getStatus())
+                        && (semester == null || semester.equals(student.getSemester()));
+        StudentSearchIndex.Result result = studentReadModel.search(parsed, filter, effectiveLimit)
+                .orElseThrow(() -> new ServiceUnavailableException(
+                        "Busca textual indisponível: índice de alunos em carregamento"));
+
+        return StudentSearchResultDTO.builder()
+                .content(result.hits().stream().map(StudentSummaryDTO::fromResponse).toList())
+                .totalHits(result.totalHits())
+                .facets(result.facets())
+                .build();
+    }
+
     /**
      * Atualiza um aluno
      */
     @Transactional
-    @CacheEvict(value = "students", allEntries = true)
     public StudentResponseDTO updateStudent(Long id, StudentRequestDTO request, String updatedBy) {
         log.info("Atualizando aluno: ID={}", id);
 
@@ -169,8 +327,11 @@ public StudentResponseDTO updateStudent(Long id, StudentRequestDTO request, Stri
         updateStudentFields(student, request);
         student.setUpdatedBy(updatedBy);
 
-        Student updatedStudent = studentRepository.save(student);
+        // flush para que a versão incrementada acompanhe o evento
+        Student updatedStudent = studentRepository.saveAndFlush(student);
         log.info("Aluno atualizado com sucesso: ID={}", updatedStudent.getId());
+        studentCacheEvictor.evictAfterCommit("update", id, updatedStudent.getRegistrationNumber());
+        studentReadModel.applyAfterCommit(updatedStudent);
 
         // Publica evento Kafka
         publishStudentUpdatedEvent(updatedStudent);
@@ -182,7 +343,6 @@ public StudentResponseDTO updateStudent(Long id, StudentRequestDTO request, Stri
      * Atualiza o status do aluno
      */
     @Transactional
-    @CacheEvict(value = "students", allEntries = true)
     public StudentResponseDTO updateStudentStatus(Long id, StudentStatus newStatus, String updatedBy) {
         log.info("Atualizando status do aluno: ID={}, Novo Status={}", id, newStatus);
 
@@ -192,9 +352,11 @@ public StudentResponseDTO updateStudentStatus(Long id, StudentStatus newStatus,
         student.setStatus(newStatus);
         student.setUpdatedBy(updatedBy);
 
-        Student updatedStudent = studentRepository.save(student);
+        Student updatedStudent = studentRepository.saveAndFlush(student);
         log.info("Status do aluno atualizado: ID={}, Status: {} -> {}",
                  id, oldStatus, newStatus);
+        studentCacheEvictor.evictAfterCommit("status_change", id, updatedStudent.getRegistrationNumber());
+        studentReadModel.applyAfterCommit(updatedStudent);
 
         // Publica evento Kafka
         publishStudentStatusChangedEvent(updatedStudent, oldStatus, newStatus);
@@ -206,7 +368,6 @@ public StudentResponseDTO updateStudentStatus(Long id, StudentStatus newStatus,
      * Deleta um aluno (soft delete)
      */
     @Transactional
-    @CacheEvict(value = "students", allEntries = true)
     public void deleteStudent(Long id, String deletedBy) {
         log.info("Deletando aluno (soft delete): ID={}", id);
 
@@ -217,9 +378,11 @@ public void deleteStudent(Long id, String deletedBy) {
         }
 
         student.markAsDeleted(deletedBy);
-        studentRepository.save(student);
+        studentRepository.saveAndFlush(student);
 
         log.info("Aluno deletado com sucesso: ID={}", id);
+        studentCacheEvictor.evictAfterCommit("delete", id, student.getRegistrationNumber());
+        studentReadModel.applyAfterCommit(student);
 
         // Publica evento Kafka
         publishStudentDeletedEvent(student);
@@ -229,7 +392,6 @@ public void deleteStudent(Long id, String deletedBy) {
      * Restaura um aluno deletado
      */
     @Transactional
-    @CacheEvict(value = "students", allEntries = true)
     public StudentResponseDTO restoreStudent(Long id, String updatedBy) {
         log.info("Restaurando aluno: ID={}", id);
 
@@ -243,8 +405,14 @@ public StudentResponseDTO restoreStudent(Long id, String updatedBy) {
         student.restore();
         student.setUpdatedBy(updatedBy);
 
-        Student restoredStudent = studentRepository.save(student);
+        // flush para que a versão incrementada acompanhe o evento
+        Student restoredStudent = studentRepository.saveAndFlush(student);
         log.info("Aluno restaurado com sucesso: ID={}", id);
+        studentCacheEvictor.evictAfterCommit("restore", id, restoredStudent.getRegistrationNumber());
+        studentReadModel.applyAfterCommit(restoredStudent);
+
+        // Publica evento Kafka (estado completo: as demais réplicas recolocam o aluno na projeção)
+        publishStudentUpdatedEvent(restoredStudent);
 
         return StudentResponseDTO.fromEntity(restoredStudent);
     }
@@ -268,23 +436,130 @@ public Page<StudentSummaryDTO> getStudentsByCourseAndSemester(
                 .map(StudentSummaryDTO::fromEntity);
     }
 
+    /**
+     * Lista os alunos não removidos paginando por cursor (keyset), sem OFFSET nem COUNT
+     */
+    public CursorPage<StudentSummaryDTO> scrollStudents(StudentCursor cursor, int size) {
+        log.debug("Listando alunos por cursor - Ordenação: {} {}", cursor.property(), cursor.direction());
+        return scroll(StudentSpecifications.notDeleted(), cursor, size);
+    }
+
+    /**
+     * Busca alunos com filtros paginando por cursor (keyset)
+     */
+    public CursorPage<StudentSummaryDTO> scrollSearchStudents(
+            String name, String course, Integer semester, StudentStatus status, StudentCursor cursor, int size) {
+        log.debug("Buscando alunos por cursor - Nome: {}, Curso: {}, Semestre: {}, Status: {}",
+                  name, course, semester, status);
+        return scroll(StudentSpecifications.byFilters(name, course, semester, status), cursor, size);
+    }
+
+    /**
+     * Busca alunos por curso paginando por cursor (keyset)
+     */
+    public CursorPage<StudentSummaryDTO> scrollStudentsByCourse(String course, StudentCursor cursor, int size) {
+        log.debug("Buscando alunos por curso (cursor): {}", course);
+        return scroll(StudentSpecifications.byCourse(course), cursor, size);
+    }
+
+    /**
+     * Busca alunos por curso e semestre paginando por cursor (keyset)
+     */
+    public CursorPage<StudentSummaryDTO> scrollStudentsByCourseAndSemester(
+            String course, Integer semester, StudentCursor cursor, int size) {
+        log.debug("Buscando alunos por cursor - Curso: {}, Semestre: {}", course, semester);
+        return scroll(StudentSpecifications.byCourseAndSemester(course, semester), cursor, size);
+    }
+
+    /**
+     * Lê uma página a partir da posição do cursor: o banco busca a partir da última chave
+     * entregue (WHERE (campo, id) > (valor, último id)) e uma linha a mais indica se há próxima página.
+     */
+    private CursorPage<StudentSummaryDTO> scroll(Specification<Student> specification, StudentCursor cursor, int size) {
+        int limit = Math.max(1, Math.min(size, cursorMaxPageSize));
+        Window<Student> window = studentRepository.findBy(specification,
+                query -> query.sortBy(cursor.sort()).limit(limit).scroll(cursor.position()));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = cursor.after((KeysetScrollPosition) window.positionAt(window.size() - 1)).encode();
+        }
+        List<StudentSummaryDTO> content = window.map(StudentSummaryDTO::fromEntity).getContent();
+        return CursorPage.<StudentSummaryDTO>builder()
+                .content(content)
+                .size(limit)
+                .numberOfElements(content.size())
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     /**
      * Conta alunos por status
+     * Servido pela projeção local (alunos não removidos) quando ela está carregada
      */
     public long countStudentsByStatus(StudentStatus status) {
-        return studentRepository.countByStatus(status);
+        return studentReadModel.countByStatus(status)
+                .orElseGet(() -> studentRepository.countByStatus(status));
+    }
+
+    /**
+     * Estatísticas dos alunos não removidos por status, curso e semestre, em uma única leitura:
+     * dos contadores da projeção local, ou de um único GROUP BY no banco enquanto ela carrega
+     */
+    public StudentStatisticsDTO getStatistics() {
+        Optional<List<StudentStatisticsGroup>> fromReadModel = studentReadModel.countByGroup();
+        StudentStatisticsDTO.Source source = fromReadModel.isPresent()
+                ? StudentStatisticsDTO.Source.READ_MODEL : StudentStatisticsDTO.Source.DATABASE;
+        Instant asOf = fromReadModel.isPresent() ? studentReadModel.lastChangeAt() : Instant.now();
+        List<StudentStatisticsGroup> groups = fromReadModel
+                .orElseGet(studentRepository::countGroupedByStatusCourseAndSemester);
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (StudentStatus status : StudentStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        Map<String, Long> byCourse = new TreeMap<>();
+        long total = 0;
+        for (StudentStatisticsGroup group : groups) {
+            byStatus.merge(group.status().name(), group.total(), Long::sum);
+            if (group.course() != null) {
+                byCourse.merge(group.course(), group.total(), Long::sum);
+            }
+            total += group.total();
+        }
+
+        return StudentStatisticsDTO.builder()
+                .active(byStatus.get(StudentStatus.ACTIVE.name()))
+                .inactive(byStatus.get(StudentStatus.INACTIVE.name()))
+                .graduated(byStatus.get(StudentStatus.GRADUATED.name()))
+                .suspended(byStatus.get(StudentStatus.SUSPENDED.name()))
+                .total(total)
+                .byStatus(byStatus)
+                .byCourse(byCourse)
+                .groups(groups.stream()
+                        .sorted(Comparator.comparing(StudentStatisticsGroup::status)
+                                .thenComparing(StudentStatisticsGroup::course, Comparator.nullsLast(Comparator.naturalOrder()))
+                                .thenComparing(StudentStatisticsGroup::semester, Comparator.nullsLast(Comparator.naturalOrder())))
+                        .toList())
+                .source(source)
+                .asOf(asOf)
+                .build();
     }
 
     /**
      * Conta alunos por curso
+     * Servido pelos contadores da projeção local (alunos não removidos) quando ela está carregada
      */
     public long countStudentsByCourse(String course) {
-        return studentRepository.countByCourse(course);
+        return studentReadModel.countByCourse(course)
+                .orElseGet(() -> studentRepository.countByCourse(course));
     }
 
     /**
      * Busca múltiplos alunos por IDs (validação em lote)
-     * Retorna uma lista de Maps com os dados dos estudantes
+     * Retorna uma lista de Maps com os dados dos estudantes, na ordem dos IDs solicitados.
+     * Os alunos em cache são lidos em lote; apenas os ausentes são buscados no banco.
      */
     public List<Map<String, Object>> getStudentsByIds(List<Long> studentIds) {
         log.debug("Buscando múltiplos alunos por IDs: {}", studentIds);
@@ -293,49 +568,69 @@ public List<Map<String, Object>> getStudentsByIds(List<Long> studentIds) {
             return List.of();
         }
         
-        List<Student> students = studentRepository.findByIdsNotDeleted(studentIds);
+        Set<Long> uniqueIds = new LinkedHashSet<>(studentIds);
+        uniqueIds.remove(null);
+        Map<Long, StudentResponseDTO> students = studentLookupCache.getAllByIds(uniqueIds,
+                missingIds -> studentRepository.findByIdsNotDeleted(missingIds).stream()
+                        .map(StudentResponseDTO::fromEntity)
+                        .toList());
         
-        return students.stream()
-                .map(student -> {
-                    StudentResponseDTO dto = StudentResponseDTO.fromEntity(student);
-                    return convertDtoToMap(dto);
-                })
+        return uniqueIds.stream()
+                .map(students::get)
+                .filter(Objects::nonNull)
+                .map(StudentResponseDTO::toMap)
                 .toList();
     }
 
     /**
-     * Converte StudentResponseDTO para Map<String, Object>
+     * Busca múltiplos alunos por IDs em blocos, entregando cada aluno ao consumidor
+     * assim que seu bloco é carregado (modo streaming do endpoint de lote).
+     *
+     * Não monta a lista completa nem os Maps intermediários: no máximo um bloco de
+     * alunos fica em memória por vez. Os alunos são entregues na ordem dos IDs
+     * solicitados; IDs inexistentes ou removidos são ignorados.
+     *
+     * Roda fora de transação: é chamado enquanto a resposta é escrita, e cada bloco pega e
+     * devolve sua própria conexão, em vez de um cliente lento prender uma conexão do pool.
+     *
+     * @throws BusinessException se forem solicitados mais IDs do que o limite configurado
      */
-    private Map<String, Object> convertDtoToMap(StudentResponseDTO dto) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("id", dto.getId());
-        map.put("fullName", dto.getFullName());
-        map.put("cpf", dto.getCpf());
-        map.put("email", dto.getEmail());
-        map.put("phone", dto.getPhone());
-        map.put("birthDate", dto.getBirthDate());
-        map.put("age", dto.getAge());
-        map.put("registrationNumber", dto.getRegistrationNumber());
-        map.put("course", dto.getCourse());
-        map.put("semester", dto.getSemester());
-        map.put("enrollmentDate", dto.getEnrollmentDate());
-        map.put("status", dto.getStatus() != null ? dto.getStatus().toString() : null);
-        map.put("addressStreet", dto.getAddressStreet());
-        map.put("addressNumber", dto.getAddressNumber());
-        map.put("addressComplement", dto.getAddressComplement());
-        map.put("addressNeighborhood", dto.getAddressNeighborhood());
-        map.put("addressCity", dto.getAddressCity());
-        map.put("addressState", dto.getAddressState());
-        map.put("addressZipcode", dto.getAddressZipcode());
-        map.put("emergencyContactName", dto.getEmergencyContactName());
-        map.put("emergencyContactPhone", dto.getEmergencyContactPhone());
-        map.put("emergencyContactRelationship", dto.getEmergencyContactRelationship());
-        map.put("notes", dto.getNotes());
-        map.put("createdAt", dto.getCreatedAt());
-        map.put("updatedAt", dto.getUpdatedAt());
-        map.put("createdBy", dto.getCreatedBy());
-        map.put("updatedBy", dto.getUpdatedBy());
-        return map;
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamStudentsByIds(List<Long> studentIds, Consumer<StudentResponseDTO> consumer) {
+        validateBatchStreamSize(studentIds);
+        if (studentIds == null || studentIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> uniqueIds = new LinkedHashSet<>(studentIds);
+        uniqueIds.remove(null);
+        List<Long> ids = new ArrayList<>(uniqueIds);
+        int chunkSize = Math.max(1, batchStreamChunkSize);
+        log.debug("Streaming de {} alunos em blocos de {}", ids.size(), chunkSize);
+
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            Map<Long, StudentResponseDTO> students = studentLookupCache.getAllByIds(chunk,
+                    missingIds -> studentRepository.findByIdsNotDeleted(missingIds).stream()
+                            .map(StudentResponseDTO::fromEntity)
+                            .toList());
+            for (Long id : chunk) {
+                StudentResponseDTO student = students.get(id);
+                if (student != null) {
+                    consumer.accept(student);
+                }
+            }
+        }
+    }
+
+    /**
+     * Valida o número de IDs do modo streaming antes de a resposta começar a ser escrita.
+     */
+    public void validateBatchStreamSize(List<Long> studentIds) {
+        if (studentIds != null && studentIds.size() > batchStreamMaxIds) {
+            throw new BusinessException("Número máximo de IDs por requisição excedido: "
+                    + studentIds.size() + " (máximo " + batchStreamMaxIds + ")");
+        }
     }
 
     /**
@@ -360,105 +655,6 @@ private Student findStudentByIdOrThrow(Long id) {
                 .orElseThrow(() -> new ResourceNotFoundException("Aluno não encontrado com ID: " + id));
     }
 
-    private String createAuthUserForStudent(Student student, String authorizationHeader) {
-        try {
-            String password = generateSecurePassword();
-
-            RegisterUserRequest registerUserRequest = RegisterUserRequest.builder()
-                    .email(student.getEmail())
-                    .password(password)
-                    .confirmPassword(password)
-                    .firstName(extractFirstName(student.getFullName()))
-                    .lastName(extractLastName(student.getFullName()))
-                    .phone(student.getPhone())
-                    .documentNumber(student.getCpf())
-                    .roles(Set.of("STUDENT"))
-                    .build();
-
-            ApiResponse<AuthResponse> response = authServiceClient.registerUser(authorizationHeader, registerUserRequest);
-
-            if (response == null) {
-                throw new BusinessException("Serviço de autenticação não respondeu ao registrar o usuário do aluno");
-            }
-
-            if (!Boolean.TRUE.equals(response.getSuccess())) {
-                String message = response.getMessage() != null ? response.getMessage() : "Resposta sem sucesso do serviço de autenticação";
-                throw new BusinessException("Falha ao registrar usuário no Auth0: " + message);
-            }
-
-            AuthResponse data = response.getData();
-            if (data == null || data.getUser() == null) {
-                throw new BusinessException("Serviço de autenticação não retornou os dados do usuário registrado");
-            }
-
-            String auth0Id = data.getUser().getAuth0Id();
-            if (auth0Id == null || auth0Id.isBlank()) {
-                throw new BusinessException("Serviço de autenticação não retornou o Auth0 ID do usuário");
-            }
-
-            log.info("Usuário Auth0 registrado com sucesso para {} - auth0Id={}", student.getEmail(), auth0Id);
-            return auth0Id;
-        } catch (BusinessException ex) {
-            throw ex;
-        } catch (Exception ex) {
-            log.error("Falha ao registrar usuário Auth0 para {}: {}", student.getEmail(), ex.getMessage(), ex);
-            throw new BusinessException("Erro ao registrar usuário no Auth0: " + ex.getMessage());
-        }
-    }
-
-    private String generateSecurePassword() {
-        final String lower = "abcdefghijklmnopqrstuvwxyz";
-        final String upper = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-        final String digits = "0123456789";
-        final String special = "@$!%*?&";
-        final String allChars = lower + upper + digits + special;
-        final int length = 12;
-
-        SecureRandom random = new SecureRandom();
-        ArrayList<Character> passwordChars = new ArrayList<>();
-
-        passwordChars.add(lower.charAt(random.nextInt(lower.length())));
-        passwordChars.add(upper.charAt(random.nextInt(upper.length())));
-        passwordChars.add(digits.charAt(random.nextInt(digits.length())));
-        passwordChars.add(special.charAt(random.nextInt(special.length())));
-
-        while (passwordChars.size() < length) {
-            passwordChars.add(allChars.charAt(random.nextInt(allChars.length())));
-        }
-
-        Collections.shuffle(passwordChars, random);
-
-        StringBuilder password = new StringBuilder();
-        for (Character c : passwordChars) {
-            password.append(c);
-        }
-        return password.toString();
-    }
-
-    private String extractFirstName(String fullName) {
-        if (fullName == null || fullName.isBlank()) {
-            return "Student";
-        }
-        String trimmed = fullName.trim();
-        int spaceIndex = trimmed.indexOf(' ');
-        if (spaceIndex == -1) {
-            return trimmed;
-        }
-        return trimmed.substring(0, spaceIndex);
-    }
-
-    private String extractLastName(String fullName) {
-        if (fullName == null || fullName.isBlank()) {
-            return "User";
-        }
-        String trimmed = fullName.trim();
-        int spaceIndex = trimmed.indexOf(' ');
-        if (spaceIndex == -1) {
-            return trimmed;
-        }
-        return trimmed.substring(spaceIndex + 1);
-    }
-
     private void validateStudentUniqueness(String cpf, String email, Long excludeId) {
         // Valida CPF
         studentRepository.findByCpf(cpf).ifPresent(existing -> {
@@ -482,43 +678,11 @@ private void validateStudentData(StudentRequestDTO request) {
         }
 
         // CPF válido pelo algoritmo oficial
-        if (request.getCpf() != null && !isValidCpf(request.getCpf())) {
+        if (request.getCpf() != null && !CpfValidator.isValid(request.getCpf())) {
             throw new BusinessException("CPF inválido");
         }
     }
 
-    /**
-     * Valida CPF considerando os dígitos verificadores.
-     * Aceita apenas 11 dígitos e rejeita sequências repetidas.
-     */
-    private boolean isValidCpf(String cpf) {
-        if (cpf == null) return false;
-        String digits = cpf.replaceAll("\\D", "");
-        if (digits.length() != 11) return false;
-
-        // Rejeita sequências do mesmo dígito (ex: 000..., 111..., etc)
-        if (digits.chars().distinct().count() == 1) return false;
-
-        try {
-            int d1 = 0, d2 = 0;
-            for (int i = 0; i < 9; i++) {
-                int num = digits.charAt(i) - '0';
-                d1 += num * (10 - i);
-                d2 += num * (11 - i);
-            }
-            int check1 = d1 % 11;
-            check1 = check1 < 2 ? 0 : 11 - check1;
-
-            d2 += check1 * 2;
-            int check2 = d2 % 11;
-            check2 = check2 < 2 ? 0 : 11 - check2;
-
-            return (digits.charAt(9) - '0') == check1 && (digits.charAt(10) - '0') == check2;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
     private Student buildStudentFromRequest(StudentRequestDTO request) {
         return Student.builder()
                 .fullName(request.getFullName())
@@ -551,60 +715,46 @@ private void updateStudentFields(Student student, StudentRequestDTO request) {
         student.setNotes(request.getNotes());
     }
 
-    private String generateRegistrationNumber() {
-        // Formato: YYYYMM + 6 dígitos sequenciais
-        int year = LocalDate.now().getYear();
-        int month = LocalDate.now().getMonthValue();
-        long count = studentRepository.count() + 1;
-        return String.format("%d%02d%06d", year, month, count);
-    }
-
     // ==================== KAFKA EVENTS ====================
 
     private void publishStudentCreatedEvent(Student student) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("studentId", student.getId());
-        data.put("fullName", student.getFullName());
-        data.put("email", student.getEmail());
-        data.put("registrationNumber", student.getRegistrationNumber());
-        data.put("course", student.getCourse());
-
-        DistriSchoolEvent event = DistriSchoolEvent.of(
-                "student.created", "student-management-service", data);
-        eventProducer.send(studentCreatedTopic, event);
+        StudentCreatedPayload payload = StudentCreatedPayload.builder()
+                .studentId(student.getId())
+                .fullName(student.getFullName())
+                .email(student.getEmail())
+                .registrationNumber(student.getRegistrationNumber())
+                .course(student.getCourse())
+                .state(StudentState.of(StudentResponseDTO.fromEntity(student)))
+                .build();
+        eventProducer.send(studentCreatedTopic, DistriSchoolEvent.of(EVENT_SOURCE, payload, student.getVersion()));
     }
 
     private void publishStudentUpdatedEvent(Student student) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("studentId", student.getId());
-        data.put("email", student.getEmail());
-        // Adicione outros campos relevantes que foram atualizados
-
-        DistriSchoolEvent event = DistriSchoolEvent.of(
-                "student.updated", "student-management-service", data);
-        eventProducer.send(studentUpdatedTopic, event);
+        StudentUpdatedPayload payload = StudentUpdatedPayload.builder()
+                .studentId(student.getId())
+                .email(student.getEmail())
+                .state(StudentState.of(StudentResponseDTO.fromEntity(student)))
+                .build();
+        eventProducer.send(studentUpdatedTopic, DistriSchoolEvent.of(EVENT_SOURCE, payload, student.getVersion()));
     }
 
     private void publishStudentDeletedEvent(Student student) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("studentId", student.getId());
-        data.put("fullName", student.getFullName());
-        data.put("registrationNumber", student.getRegistrationNumber());
-
-        DistriSchoolEvent event = DistriSchoolEvent.of(
-                "student.deleted", "student-management-service", data);
-        eventProducer.send(studentDeletedTopic, event);
+        StudentDeletedPayload payload = StudentDeletedPayload.builder()
+                .studentId(student.getId())
+                .fullName(student.getFullName())
+                .registrationNumber(student.getRegistrationNumber())
+                .build();
+        eventProducer.send(studentDeletedTopic, DistriSchoolEvent.of(EVENT_SOURCE, payload, student.getVersion()));
     }
 
     private void publishStudentStatusChangedEvent(Student student, StudentStatus oldStatus, StudentStatus newStatus) {
-        Map<String, Object> data = new HashMap<>();
-        data.put("studentId", student.getId());
-        data.put("oldStatus", oldStatus.toString());
-        data.put("newStatus", newStatus.toString());
-        data.put("registrationNumber", student.getRegistrationNumber());
-
-        DistriSchoolEvent event = DistriSchoolEvent.of(
-                "student.status.changed", "student-management-service", data);
-        eventProducer.send(studentStatusChangedTopic, event);
+        StudentStatusChangedPayload payload = StudentStatusChangedPayload.builder()
+                .studentId(student.getId())
+                .oldStatus(oldStatus)
+                .newStatus(newStatus)
+                .registrationNumber(student.getRegistrationNumber())
+                .state(StudentState.of(StudentResponseDTO.fromEntity(student)))
+                .build();
+        eventProducer.send(studentStatusChangedTopic, DistriSchoolEvent.of(EVENT_SOURCE, payload, student.getVersion()));
     }
 }
@@ -0,0 +1,7 @@
+-- Índices para a paginação por cursor (keyset) das listagens de alunos.
+-- A consulta busca a partir da última chave entregue (campo de ordenação + id), apenas
+-- entre os alunos não removidos; com o id no índice, a busca e a ordenação saem do índice.
+CREATE INDEX idx_student_keyset_full_name ON students(full_name, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_student_keyset_course_full_name ON students(course, full_name, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_student_keyset_course_semester_full_name ON students(course, semester, full_name, id)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,21 @@
+-- Busca de alunos por nome sem diferenciar acentos e maiúsculas, com índice de trigramas.
+--
+-- LOWER(full_name) LIKE '%termo%' não usa o índice B-tree de full_name e percorre a tabela.
+-- Um índice GIN de trigramas atende LIKE com curinga nos dois lados e os operadores de
+-- similaridade (<%) do pg_trgm, usados na busca tolerante a erros de digitação.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() é STABLE (depende do dicionário configurado); para indexar a expressão, o
+-- dicionário é fixado e a função declarada IMMUTABLE
+CREATE OR REPLACE FUNCTION student_name_normalize(value TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+AS $$
+    SELECT lower(public.unaccent('public.unaccent'::regdictionary, value))
+$$;
+
+CREATE INDEX idx_student_full_name_trgm ON students
+    USING gin (student_name_normalize(full_name) gin_trgm_ops)
+    WHERE deleted_at IS NULL;
+
+COMMENT ON FUNCTION student_name_normalize(TEXT) IS 'Nome em minúsculas e sem acentos, usado nas buscas por nome de alunos';
@@ -0,0 +1,21 @@
+-- ===============================================
+-- Migração V12: Falhas permanentes no outbox de eventos
+-- Eventos que nunca poderão ser publicados (payload ilegível, rejeitado pelo broker)
+-- saem da fila do relay em vez de serem reenviados para sempre
+-- ===============================================
+
+ALTER TABLE event_outbox
+ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE event_outbox
+ADD COLUMN last_error VARCHAR(500);
+
+ALTER TABLE event_outbox
+ADD COLUMN failed_at TIMESTAMP;
+
+-- Índice parcial: o relay só lê os eventos pendentes
+CREATE INDEX idx_event_outbox_pending ON event_outbox(id) WHERE failed_at IS NULL;
+
+COMMENT ON COLUMN event_outbox.attempts IS 'Falhas não transitórias na publicação do evento (indisponibilidade do broker não conta)';
+COMMENT ON COLUMN event_outbox.last_error IS 'Última falha na publicação do evento, se houver';
+COMMENT ON COLUMN event_outbox.failed_at IS 'Quando o evento foi retirado da fila do relay por falha permanente; NULL enquanto pendente';
@@ -0,0 +1,23 @@
+-- ===============================================
+-- Migração V6: Sequência de matrículas por período (ano e mês)
+-- Substitui o COUNT(*) + 1 usado na geração do número de matrícula
+-- ===============================================
+
+-- Último valor já reservado de cada período (YYYYMM). As instâncias reservam blocos
+-- de valores com um único UPSERT e distribuem as matrículas do bloco em memória.
+CREATE TABLE registration_sequences (
+    period CHAR(6) PRIMARY KEY,
+    last_value BIGINT NOT NULL CHECK (last_value >= 0),
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Parte do maior sufixo já usado em cada período, para não colidir com matrículas existentes
+INSERT INTO registration_sequences (period, last_value)
+SELECT SUBSTRING(registration_number FROM 1 FOR 6),
+       MAX(CAST(SUBSTRING(registration_number FROM 7) AS BIGINT))
+FROM students
+WHERE registration_number ~ '^[0-9]{7,18}$'
+GROUP BY SUBSTRING(registration_number FROM 1 FOR 6);
+
+COMMENT ON TABLE registration_sequences IS 'Sequência de números de matrícula por período (YYYYMM), reservada em blocos';
+COMMENT ON COLUMN registration_sequences.last_value IS 'Último sufixo de matrícula já reservado no período';
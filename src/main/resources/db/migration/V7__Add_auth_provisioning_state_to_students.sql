@@ -0,0 +1,31 @@
+-- ===============================================
+-- Migração V7: Estado do provisionamento do usuário no serviço de autenticação
+-- O usuário Auth0 passa a ser criado de forma assíncrona, após o commit do cadastro
+-- ===============================================
+
+-- Alunos existentes já passaram pelo registro síncrono (ou são anteriores à integração)
+ALTER TABLE students
+ADD COLUMN auth_provisioning_status VARCHAR(20) NOT NULL DEFAULT 'COMPLETED';
+
+ALTER TABLE students
+ADD COLUMN auth_provisioning_attempts INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE students
+ADD COLUMN auth_provisioning_error VARCHAR(500);
+
+ALTER TABLE students
+ADD COLUMN auth_provisioning_updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+ALTER TABLE students
+ADD CONSTRAINT chk_student_auth_provisioning_status
+CHECK (auth_provisioning_status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED', 'FAILED'));
+
+-- Índice parcial: o sweeper só procura alunos com provisionamento não concluído
+CREATE INDEX idx_student_auth_provisioning_pending
+ON students(auth_provisioning_updated_at)
+WHERE auth_provisioning_status <> 'COMPLETED';
+
+COMMENT ON COLUMN students.auth_provisioning_status IS 'Estado da criação do usuário no serviço de autenticação: PENDING, IN_PROGRESS, COMPLETED ou FAILED';
+COMMENT ON COLUMN students.auth_provisioning_attempts IS 'Número de execuções do provisionamento (cada uma com suas próprias tentativas e backoff)';
+COMMENT ON COLUMN students.auth_provisioning_error IS 'Última falha do provisionamento, se houver';
+COMMENT ON COLUMN students.auth_provisioning_updated_at IS 'Última mudança de estado do provisionamento';
@@ -0,0 +1,22 @@
+-- ===============================================
+-- Migração V8: Outbox transacional de eventos Kafka
+-- Os eventos são gravados na mesma transação da alteração do aluno e
+-- publicados depois pelo relay (OutboxRelay)
+-- ===============================================
+
+CREATE TABLE event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_id VARCHAR(64) NOT NULL,
+    topic VARCHAR(255) NOT NULL,
+    event_id VARCHAR(64) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- O relay lê os eventos em ordem de inserção; a ordem por aluno segue o id
+CREATE INDEX idx_event_outbox_aggregate ON event_outbox(aggregate_id, id);
+
+COMMENT ON TABLE event_outbox IS 'Eventos Kafka pendentes de publicação (outbox transacional); removidos após confirmação do broker';
+COMMENT ON COLUMN event_outbox.aggregate_id IS 'Agregado do evento (ID do aluno); eventos do mesmo agregado são publicados em ordem';
+COMMENT ON COLUMN event_outbox.payload IS 'DistriSchoolEvent serializado em JSON';
@@ -0,0 +1,9 @@
+-- ===============================================
+-- Migração V9: Versão dos alunos (lock otimista)
+-- Também usada como versão crescente por aluno nos eventos Kafka
+-- ===============================================
+
+ALTER TABLE students
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN students.version IS 'Versão do registro, incrementada a cada alteração (lock otimista e ordem dos eventos do aluno)';
@@ -0,0 +1,127 @@
+package com.distrischool.student.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para a troca entre Redis e cache em memória
+ */
+@DisplayName("FailoverCacheManager - Testes Unitários")
+class FailoverCacheManagerTest {
+
+    private ConcurrentMapCache primaryCache;
+    private CacheManager primaryCacheManager;
+    private BoundedLocalCacheManager fallbackCacheManager;
+    private RedisConnectionFactory connectionFactory;
+    private MeterRegistry meterRegistry;
+    private FailoverCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        primaryCache = spy(new ConcurrentMapCache(CacheNames.STUDENTS, false));
+        primaryCacheManager = mock(CacheManager.class);
+        when(primaryCacheManager.getCacheNames()).thenReturn(List.of(CacheNames.STUDENTS));
+        when(primaryCacheManager.getCache(CacheNames.STUDENTS)).thenReturn(primaryCache);
+
+        CacheSettings cacheSettings = new CacheSettings();
+        ReflectionTestUtils.setField(cacheSettings, "studentsTimeToLive", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(cacheSettings, "studentsMaximumSize", 100L);
+        ReflectionTestUtils.setField(cacheSettings, "registrationsTimeToLive", Duration.ofHours(1));
+        ReflectionTestUtils.setField(cacheSettings, "registrationsMaximumSize", 100L);
+
+        meterRegistry = new SimpleMeterRegistry();
+        fallbackCacheManager = new BoundedLocalCacheManager(cacheSettings, meterRegistry);
+        connectionFactory = mock(RedisConnectionFactory.class);
+        cacheManager = new FailoverCacheManager(primaryCacheManager, fallbackCacheManager,
+                connectionFactory, Duration.ofHours(1), meterRegistry);
+        cacheManager.initializeCaches();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.destroy();
+    }
+
+    @Test
+    @DisplayName("Deve usar o cache em memória quando o Redis falhar por conexão")
+    void shouldSwitchToFallbackOnConnectionFailure() {
+        doThrow(new RedisConnectionFailureException("redis down")).when(primaryCache).get(1L);
+        Cache cache = cacheManager.getCache(CacheNames.STUDENTS);
+
+        assertThat(cache.get(1L)).isNull();
+        cache.put(1L, "aluno-1");
+
+        assertThat(cacheManager.isPrimaryAvailable()).isFalse();
+        assertThat(cache.get(1L).get()).isEqualTo("aluno-1");
+        assertThat(fallbackCacheManager.getCache(CacheNames.STUDENTS).get(1L).get()).isEqualTo("aluno-1");
+        assertThat(meterRegistry.get("cache.failover.active").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Não deve carregar de novo quando o Redis cair ao gravar o valor carregado")
+    void shouldNotReloadWhenRedisFailsAfterLoading() {
+        doAnswer(invocation -> {
+            Callable<?> loader = invocation.getArgument(1);
+            loader.call();
+            throw new RedisConnectionFailureException("redis down");
+        }).when(primaryCache).get(eq(1L), any(Callable.class));
+        AtomicInteger loads = new AtomicInteger();
+
+        String value = cacheManager.getCache(CacheNames.STUDENTS).get(1L, () -> "aluno-" + loads.incrementAndGet());
+
+        assertThat(value).isEqualTo("aluno-1");
+        assertThat(loads).hasValue(1);
+        assertThat(cacheManager.isPrimaryAvailable()).isFalse();
+        assertThat(fallbackCacheManager.getCache(CacheNames.STUDENTS).get(1L).get()).isEqualTo("aluno-1");
+    }
+
+    @Test
+    @DisplayName("Deve voltar ao Redis e limpar os caches quando a conexão for restabelecida")
+    void shouldSwitchBackToPrimaryWhenRedisRecovers() {
+        doThrow(new RedisConnectionFailureException("redis down")).when(primaryCache).get(1L);
+        Cache cache = cacheManager.getCache(CacheNames.STUDENTS);
+        cache.get(1L);
+        cache.put(1L, "aluno-1");
+        when(connectionFactory.getConnection()).thenReturn(mock(RedisConnection.class));
+
+        cacheManager.checkPrimary();
+
+        assertThat(cacheManager.isPrimaryAvailable()).isTrue();
+        verify(primaryCache).clear();
+        assertThat(fallbackCacheManager.getCache(CacheNames.STUDENTS).get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve continuar no cache em memória enquanto o Redis não responder")
+    void shouldStayOnFallbackWhileRedisIsDown() {
+        doThrow(new RedisConnectionFailureException("redis down")).when(primaryCache).get(1L);
+        cacheManager.getCache(CacheNames.STUDENTS).get(1L);
+        when(connectionFactory.getConnection()).thenThrow(new RedisConnectionFailureException("redis down"));
+
+        cacheManager.checkPrimary();
+
+        assertThat(cacheManager.isPrimaryAvailable()).isFalse();
+        verify(primaryCache, never()).clear();
+    }
+}
@@ -0,0 +1,108 @@
+package com.distrischool.student.cache;
+
+import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.entity.Student.StudentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o serializador binário do cache de alunos
+ */
+@DisplayName("StudentBinarySerializer - Testes Unitários")
+class StudentBinarySerializerTest {
+
+    private RedisSerializer<Object> jsonSerializer;
+    private StudentBinarySerializer serializer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jsonSerializer = mock(RedisSerializer.class);
+        serializer = new StudentBinarySerializer(jsonSerializer, 1024);
+    }
+
+    @Test
+    @DisplayName("Deve preservar todos os campos, inclusive nulos, na ida e volta")
+    void shouldRoundTripStudent() {
+        StudentResponseDTO student = student("Observações curtas");
+
+        byte[] bytes = serializer.serialize(student);
+
+        assertThat(bytes[0]).isEqualTo(StudentBinarySerializer.MAGIC);
+        assertThat(bytes[2] & StudentBinarySerializer.FLAG_DEFLATED).isZero();
+        assertThat(serializer.deserialize(bytes)).isEqualTo(student);
+        verifyNoInteractions(jsonSerializer);
+    }
+
+    @Test
+    @DisplayName("Deve comprimir payloads acima do limite")
+    void shouldCompressLargePayloads() {
+        StudentResponseDTO student = student("observação ".repeat(500));
+
+        byte[] bytes = serializer.serialize(student);
+
+        assertThat(bytes[2] & StudentBinarySerializer.FLAG_DEFLATED).isNotZero();
+        assertThat(bytes.length).isLessThan(student.getNotes().getBytes(StandardCharsets.UTF_8).length);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(student);
+    }
+
+    @Test
+    @DisplayName("Deve ler entradas JSON antigas pelo serializador de fallback")
+    void shouldDelegateLegacyJsonToFallback() {
+        byte[] json = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        StudentResponseDTO legacy = StudentResponseDTO.builder().id(1L).build();
+        when(jsonSerializer.deserialize(json)).thenReturn(legacy);
+
+        assertThat(serializer.deserialize(json)).isSameAs(legacy);
+    }
+
+    @Test
+    @DisplayName("No modo jsonWriter deve gravar JSON e ainda ler entradas binárias")
+    void shouldWriteJsonButReadBinaryInJsonWriterMode() {
+        StudentBinarySerializer jsonWriter = StudentBinarySerializer.jsonWriter(jsonSerializer);
+        StudentResponseDTO student = student(null);
+        byte[] json = "{\"id\":42}".getBytes(StandardCharsets.UTF_8);
+        when(jsonSerializer.serialize(student)).thenReturn(json);
+
+        assertThat(jsonWriter.serialize(student)).isSameAs(json);
+        assertThat(jsonWriter.deserialize(serializer.serialize(student))).isEqualTo(student);
+    }
+
+    @Test
+    @DisplayName("Deve tratar versão desconhecida do formato como cache miss")
+    void shouldTreatUnknownVersionAsMiss() {
+        byte[] bytes = serializer.serialize(student(null));
+        bytes[1] = (byte) (StudentBinarySerializer.VERSION + 1);
+
+        assertThat(serializer.deserialize(bytes)).isNull();
+    }
+
+    private static StudentResponseDTO student(String notes) {
+        return StudentResponseDTO.builder()
+                .id(42L)
+                .fullName("João da Silva")
+                .cpf("52998224725")
+                .email("joao@example.com")
+                .birthDate(LocalDate.of(2001, 3, 15))
+                .age(25)
+                .registrationNumber("2026000042")
+                .course("Engenharia de Computação")
+                .semester(3)
+                .enrollmentDate(LocalDate.of(2024, 2, 1))
+                .status(StudentStatus.ACTIVE)
+                .notes(notes)
+                .createdAt(LocalDateTime.of(2024, 2, 1, 10, 30, 15, 123_456_789))
+                .updatedAt(LocalDateTime.of(2026, 1, 5, 8, 0))
+                .createdBy("admin")
+                .build();
+    }
+}
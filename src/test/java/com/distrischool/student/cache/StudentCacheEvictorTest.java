@@ -0,0 +1,68 @@
+package com.distrischool.student.cache;
+
+import com.distrischool.student.metrics.StudentMetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para a remoção direcionada de alunos do cache
+ */
+@DisplayName("StudentCacheEvictor - Testes Unitários")
+class StudentCacheEvictorTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private StudentCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheNames.STUDENTS, CacheNames.STUDENT_REGISTRATIONS);
+        meterRegistry = new SimpleMeterRegistry();
+        evictor = new StudentCacheEvictor(cacheManager, new StudentMetricsRecorder(meterRegistry));
+
+        var students = cacheManager.getCache(CacheNames.STUDENTS);
+        students.put(1L, "aluno-1");
+        students.put(2L, "aluno-2");
+        cacheManager.getCache(CacheNames.STUDENT_REGISTRATIONS).put("202401000001", 1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve remover apenas as chaves do aluno alterado")
+    void shouldEvictOnlyKeysOfChangedStudent() {
+        evictor.evictAfterCommit("update", 1L, "202401000001");
+
+        var students = cacheManager.getCache(CacheNames.STUDENTS);
+        assertThat(students.get(1L)).isNull();
+        assertThat(students.get(2L)).isNotNull();
+        assertThat(cacheManager.getCache(CacheNames.STUDENT_REGISTRATIONS).get("202401000001")).isNull();
+        assertThat(meterRegistry.get("student_cache_evicted_keys").tag("operation", "update")
+                .summary().totalAmount()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Deve adiar a remoção até o commit da transação")
+    void shouldDeferEvictionUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        evictor.evictAfterCommit("status_change", 1L, "202401000001");
+        assertThat(cacheManager.getCache(CacheNames.STUDENTS).get(1L)).isNotNull();
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertThat(cacheManager.getCache(CacheNames.STUDENTS).get(1L)).isNull();
+    }
+}
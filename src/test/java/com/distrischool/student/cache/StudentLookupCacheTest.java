@@ -0,0 +1,93 @@
+package com.distrischool.student.cache;
+
+import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.exception.ResourceNotFoundException;
+import com.distrischool.student.metrics.StudentMetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para as consultas de alunos em cache
+ */
+@DisplayName("StudentLookupCache - Testes Unitários")
+class StudentLookupCacheTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private StudentLookupCache lookupCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheNames.STUDENTS, CacheNames.STUDENT_REGISTRATIONS);
+        meterRegistry = new SimpleMeterRegistry();
+        lookupCache = new StudentLookupCache(cacheManager, new StudentMetricsRecorder(meterRegistry));
+    }
+
+    @Test
+    @DisplayName("Matrícula deve resolver o ID e reaproveitar a entrada do cache por ID")
+    void shouldReuseIdKeyedEntryForRegistrationLookup() {
+        StudentResponseDTO cached = StudentResponseDTO.builder().id(1L).registrationNumber("202401000001").build();
+        cacheManager.getCache(CacheNames.STUDENTS).put(1L, cached);
+
+        Long id = lookupCache.resolveId("202401000001", () -> 1L);
+        StudentResponseDTO result = lookupCache.getById(id, () -> {
+            throw new AssertionError("Não deveria consultar o banco");
+        });
+
+        assertThat(result).isSameAs(cached);
+        assertThat(cacheManager.getCache(CacheNames.STUDENT_REGISTRATIONS).get("202401000001").get()).isEqualTo(1L);
+        assertThat(cacheManager.getCache(CacheNames.STUDENTS).get("202401000001")).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve carregar o ID apenas uma vez")
+    void shouldLoadRegistrationOnlyOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        lookupCache.resolveId("202401000001", () -> (long) loads.incrementAndGet());
+        lookupCache.resolveId("202401000001", () -> (long) loads.incrementAndGet());
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Deve propagar exceções de negócio do loader sem guardar no cache")
+    void shouldPropagateLoaderExceptions() {
+        assertThatThrownBy(() -> lookupCache.resolveId("inexistente", () -> {
+            throw new ResourceNotFoundException("Aluno não encontrado com matrícula: inexistente");
+        })).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(cacheManager.getCache(CacheNames.STUDENT_REGISTRATIONS).get("inexistente")).isNull();
+    }
+
+    @Test
+    @DisplayName("Busca em lote deve consultar o banco apenas para os IDs ausentes do cache")
+    void shouldLoadOnlyMissingIdsInBatch() {
+        StudentResponseDTO cached = StudentResponseDTO.builder().id(1L).build();
+        cacheManager.getCache(CacheNames.STUDENTS).put(1L, cached);
+        List<List<Long>> loaderCalls = new ArrayList<>();
+
+        Map<Long, StudentResponseDTO> result = lookupCache.getAllByIds(List.of(1L, 2L, 3L), missing -> {
+            loaderCalls.add(missing);
+            return List.of(StudentResponseDTO.builder().id(2L).build());
+        });
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        assertThat(result.get(1L)).isSameAs(cached);
+        assertThat(loaderCalls).containsExactly(List.of(2L, 3L));
+        assertThat(cacheManager.getCache(CacheNames.STUDENTS).get(2L)).isNotNull();
+        assertThat(meterRegistry.get("student_batch_cache_hit_ratio").summary().mean())
+                .isEqualTo(1.0 / 3);
+    }
+}
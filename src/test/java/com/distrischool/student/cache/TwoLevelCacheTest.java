@@ -0,0 +1,199 @@
+package com.distrischool.student.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o cache de dois níveis (L1 Caffeine + L2 remoto)
+ */
+@DisplayName("TwoLevelCache - Testes Unitários")
+class TwoLevelCacheTest {
+
+    private static final String CHANNEL = "test.cache.invalidation";
+
+    private ConcurrentMapCache remote;
+    private StringRedisTemplate redisTemplate;
+    private CacheInvalidationBus bus;
+    private MeterRegistry meterRegistry;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = spy(new ConcurrentMapCache("students", false));
+        redisTemplate = mock(StringRedisTemplate.class);
+        bus = new CacheInvalidationBus(redisTemplate, CHANNEL);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoLevelCache("students", remote, Duration.ofMinutes(10),
+                Caffeine.newBuilder().maximumSize(100).recordStats().build(), bus,
+                CacheLoadCoordinator.singleFlightOnly(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve servir leituras repetidas a partir do L1")
+    void shouldServeRepeatedReadsFromLocalTier() {
+        remote.put(1L, "aluno-1");
+
+        assertThat(cache.get(1L).get()).isEqualTo("aluno-1");
+        assertThat(cache.get(1L).get()).isEqualTo("aluno-1");
+
+        verify(remote, times(1)).get(1L);
+        assertThat(meterRegistry.get("cache.gets").tags("tier", "l2", "result", "hit").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve carregar o valor uma única vez e gravá-lo no L2")
+    void shouldLoadOnceAndWriteThroughToRemote() {
+        AtomicInteger loads = new AtomicInteger();
+
+        String first = cache.get(1L, () -> "aluno-" + loads.incrementAndGet());
+        String second = cache.get(1L, () -> "aluno-" + loads.incrementAndGet());
+
+        assertThat(first).isEqualTo("aluno-1");
+        assertThat(second).isEqualTo("aluno-1");
+        assertThat(loads).hasValue(1);
+        assertThat(remote.get(1L).get()).isEqualTo("aluno-1");
+    }
+
+    @Test
+    @DisplayName("Leituras concorrentes de uma chave ausente devem disparar uma única carga")
+    void shouldCoalesceConcurrentLoadsForSameKey() throws Exception {
+        int threads = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(1L, () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(100);
+                        return "aluno-1";
+                    });
+                }));
+            }
+            start.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("aluno-1");
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Sem o lease, deve aguardar o valor publicado por outro pod em vez de carregar")
+    void shouldWaitForValuePublishedByLeaseOwner() {
+        CacheLoadCoordinator coordinator = spy(CacheLoadCoordinator.singleFlightOnly());
+        doReturn(false).when(coordinator).tryAcquireLease(anyString());
+        doAnswer(invocation -> {
+            remote.put(1L, "aluno-1-outro-pod");
+            return "aluno-1-outro-pod";
+        }).when(coordinator).awaitValue(any());
+        TwoLevelCache leased = new TwoLevelCache("students", remote, Duration.ofMinutes(10),
+                Caffeine.newBuilder().maximumSize(100).recordStats().build(), null, coordinator, meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+
+        String value = leased.get(1L, () -> "aluno-" + loads.incrementAndGet());
+
+        assertThat(value).isEqualTo("aluno-1-outro-pod");
+        assertThat(loads).hasValue(0);
+        verify(coordinator, never()).releaseLease(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve remover dos dois níveis e publicar invalidação")
+    void shouldEvictBothTiersAndPublishInvalidation() {
+        cache.put(1L, "aluno-1");
+
+        cache.evict(1L);
+
+        assertThat(remote.get(1L)).isNull();
+        assertThat(cache.get(1L)).isNull();
+        var messages = forClass(String.class);
+        verify(redisTemplate, atLeastOnce()).convertAndSend(eq(CHANNEL), messages.capture());
+        assertThat(messages.getValue()).contains("|students|E|1");
+    }
+
+    @Test
+    @DisplayName("Deve contar remoções condicionais só quando a chave existia no L2")
+    void shouldCountConditionalEvictionsOnlyWhenKeyWasPresent() {
+        cache.put(1L, "aluno-1");
+
+        assertThat(cache.evictIfPresent(1L)).isTrue();
+        assertThat(cache.evictIfPresent(1L)).isFalse();
+        assertThat(cache.evictIfPresent(2L)).isFalse();
+
+        assertThat(meterRegistry.get("cache.evictions").tags("tier", "l2").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve remover do L1 ao receber invalidação de outra instância")
+    void shouldEvictLocalTierOnRemoteInvalidation() {
+        remote.put(1L, "aluno-1");
+        cache.get(1L);
+        remote.put(1L, "aluno-1-atualizado");
+
+        bus.onMessage(message("outra-instancia|students|E|1"), null);
+
+        assertThat(cache.get(1L).get()).isEqualTo("aluno-1-atualizado");
+    }
+
+    @Test
+    @DisplayName("Deve ignorar invalidações publicadas pela própria instância")
+    void shouldIgnoreOwnInvalidations() {
+        cache.put(1L, "aluno-1");
+        var messages = forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), messages.capture());
+        Cache.ValueWrapper before = cache.get(1L);
+
+        bus.onMessage(message(messages.getValue()), null);
+
+        assertThat(cache.get(1L).get()).isEqualTo(before.get());
+        verify(remote, never()).get(1L);
+    }
+
+    @Test
+    @DisplayName("Falha ao publicar invalidação não deve quebrar a escrita")
+    void shouldNotFailWriteWhenPublishFails() {
+        doThrow(new RuntimeException("redis down")).when(redisTemplate).convertAndSend(anyString(), anyString());
+
+        cache.put(1L, "aluno-1");
+
+        assertThat(remote.get(1L).get()).isEqualTo("aluno-1");
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -10,13 +10,14 @@
 /**
  * Configuration for integration tests using Testcontainers.
  * Provides a PostgreSQL container that starts before tests and stops after.
+ * The container is public so the load tests (src/loadtest/java) boot against the same database image.
  */
 @Testcontainers
 @TestConfiguration
 public class TestContainersConfiguration {
 
     @Container
-    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+    public static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
             .withDatabaseName("test_students")
             .withUsername("test")
             .withPassword("test")
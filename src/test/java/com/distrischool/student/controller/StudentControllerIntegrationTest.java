@@ -558,7 +558,10 @@ void shouldGetStatistics() throws Exception {
                 .andExpect(jsonPath("$.data.inactive").value(1))
                 .andExpect(jsonPath("$.data.graduated").value(1))
                 .andExpect(jsonPath("$.data.suspended").value(1))
-                .andExpect(jsonPath("$.data.total").value(5));
+                .andExpect(jsonPath("$.data.total").value(5))
+                .andExpect(jsonPath("$.data.byStatus.ACTIVE").value(2))
+                .andExpect(jsonPath("$.data.byStatus.DROPPED").value(0))
+                .andExpect(jsonPath("$.data.source").exists());
     }
 
     @Test
@@ -0,0 +1,105 @@
+package com.distrischool.student.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("FailedEventForwarder - Testes Unitários")
+class FailedEventForwarderTest {
+
+    private static final String TOPIC = "distrischool.student.updated";
+    private static final String GROUP = "student-management-service-read-model-pod-1";
+
+    private KafkaTemplate<String, DistriSchoolEvent> kafkaTemplate;
+    private FailedEventForwarder forwarder;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        StudentEventRetryTopics retryTopics = new StudentEventRetryTopics("distrischool.student.created", TOPIC,
+                "distrischool.student.deleted", "distrischool.student.status.changed", Duration.ofSeconds(2), 5);
+        forwarder = new FailedEventForwarder(kafkaTemplate, new KafkaProperties(), retryTopics,
+                new SimpleMeterRegistry(), GROUP, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        forwarder.destroy();
+    }
+
+    @Test
+    @DisplayName("Deve encaminhar a primeira falha para o primeiro nível de retry, com a origem nos headers")
+    void shouldForwardFirstFailureToFirstRetryTopic() {
+        ConsumerRecord<String, DistriSchoolEvent> record = new ConsumerRecord<>(TOPIC, 2, 40L, "7", event());
+
+        forwarder.forward(record, new IllegalStateException("falha"));
+
+        ProducerRecord<String, DistriSchoolEvent> sent = sentRecord();
+        assertThat(sent.topic()).isEqualTo(TOPIC + ".retry-0");
+        assertThat(sent.key()).isEqualTo("7");
+        assertThat(header(sent, FailedEventForwarder.ATTEMPT_HEADER)).isEqualTo("0");
+        assertThat(header(sent, FailedEventForwarder.ORIGINAL_OFFSET_HEADER)).isEqualTo("40");
+        assertThat(header(sent, FailedEventForwarder.ORIGIN_GROUP_HEADER)).isEqualTo(GROUP);
+        assertThat(Long.parseLong(header(sent, FailedEventForwarder.DUE_AT_HEADER)))
+                .isGreaterThan(System.currentTimeMillis() + 1000);
+    }
+
+    @Test
+    @DisplayName("Deve encaminhar para o DLT após o último nível, mantendo a origem do primeiro erro")
+    void shouldForwardToDltAfterLastAttempt() {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(FailedEventForwarder.ATTEMPT_HEADER, bytes("2"));
+        headers.add(FailedEventForwarder.ORIGINAL_TOPIC_HEADER, bytes(TOPIC));
+        headers.add(FailedEventForwarder.ORIGINAL_OFFSET_HEADER, bytes("40"));
+        ConsumerRecord<String, DistriSchoolEvent> record = new ConsumerRecord<>(TOPIC + ".retry-2", 0, 3L,
+                0L, null, 0, 0, "7", event(), headers, Optional.empty());
+
+        forwarder.forward(record, new IllegalStateException("falha"));
+
+        ProducerRecord<String, DistriSchoolEvent> sent = sentRecord();
+        assertThat(sent.topic()).isEqualTo(TOPIC + ".dlt");
+        assertThat(header(sent, FailedEventForwarder.ORIGINAL_OFFSET_HEADER)).isEqualTo("40");
+        assertThat(sent.headers().lastHeader(FailedEventForwarder.ATTEMPT_HEADER)).isNull();
+        assertThat(sent.headers().headers(FailedEventForwarder.ORIGINAL_TOPIC_HEADER)).hasSize(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, DistriSchoolEvent> sentRecord() {
+        ArgumentCaptor<ProducerRecord<String, DistriSchoolEvent>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        return captor.getValue();
+    }
+
+    private static String header(ProducerRecord<?, ?> record, String name) {
+        return new String(record.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static DistriSchoolEvent event() {
+        return DistriSchoolEvent.of("student.updated", "student-management-service",
+                Map.of("studentId", 7L, "email", "aluno@faculdade.edu.br"));
+    }
+}
@@ -1,72 +1,141 @@
 package com.distrischool.student.kafka;
 
+import com.distrischool.student.config.TestContainersConfiguration;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
 import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
-
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
- * Testes de integração para Kafka no serviço de alunos
+ * Testes de integração para Kafka no serviço de alunos.
+ *
+ * O {@link EventProducer} grava no outbox ({@code event_outbox}, JSONB), então o banco é o
+ * Postgres dos Testcontainers com as migrações do Flyway; o {@link OutboxRelay} publica no
+ * broker embutido.
  */
 @SpringBootTest(properties = {
     "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
-    "spring.kafka.consumer.auto-offset-reset=earliest"
+    "spring.kafka.consumer.auto-offset-reset=earliest",
+    "spring.flyway.enabled=true",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+    "microservice.outbox.relay.interval=100ms"
 })
 @EmbeddedKafka(partitions = 1, topics = {"distrischool.student.created", "distrischool.student.updated"})
 @ActiveProfiles("test")
+@Testcontainers
 @DirtiesContext
 class KafkaIntegrationTest {
 
-    @Autowired(required = false)
+    private static final String CREATED_TOPIC = "distrischool.student.created";
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = TestContainersConfiguration.postgres;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
     private KafkaTemplate<String, DistriSchoolEvent> kafkaTemplate;
 
-    @Autowired(required = false)
+    @Autowired
     private EventProducer eventProducer;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
     @Test
     void contextLoads() {
         assertThat(kafkaTemplate).isNotNull();
+        assertThat(eventProducer).isNotNull();
     }
 
     @Test
-    void shouldPublishStudentCreatedEvent() {
-        if (eventProducer == null || kafkaTemplate == null) {
-            return;
-        }
-
-        Map<String, Object> eventData = Map.of(
-            "studentId", 1L,
-            "name", "Test Student",
-            "email", "test@example.com"
-        );
-
-        DistriSchoolEvent event = DistriSchoolEvent.of(
-            "student.created",
-            "student-management-service",
-            eventData
-        );
-
-        // Publica evento via EventProducer
-        eventProducer.send("distrischool.student.created", event);
-
-        // Verifica se o evento foi publicado (sem exceção)
-        assertThat(event).isNotNull();
-        assertThat(event.getEventType()).isEqualTo("student.created");
+    void shouldWriteEventToOutboxOnlyWhenTransactionCommits() {
+        DistriSchoolEvent event = createdEvent(1L);
+
+        // Dentro da transação o evento já está no outbox; o relay ainda não o enxerga
+        Long pendingInTransaction = transactionTemplate.execute(status -> {
+            eventProducer.send(CREATED_TOPIC, event);
+            Long count = outboxRows(event.getEventId());
+            status.setRollbackOnly();
+            return count;
+        });
+
+        assertThat(pendingInTransaction).isEqualTo(1L);
+        assertThat(outboxRows(event.getEventId())).isZero();
     }
 
     @Test
-    void shouldPublishStudentUpdatedEvent() {
-        if (kafkaTemplate == null) {
-            return;
+    void shouldRelayOutboxEventToKafka() throws Exception {
+        DistriSchoolEvent event = createdEvent(2L);
+
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(
+                KafkaTestUtils.consumerProps("kafka-integration-test", "false", embeddedKafka),
+                new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            embeddedKafka.consumeFromAnEmbeddedTopic(consumer, CREATED_TOPIC);
+
+            eventProducer.send(CREATED_TOPIC, event);
+
+            ConsumerRecord<String, String> record = null;
+            long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+            while (record == null && System.nanoTime() < deadline) {
+                for (ConsumerRecord<String, String> candidate
+                        : KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(1))) {
+                    if (candidate.value().contains(event.getEventId())) {
+                        record = candidate;
+                    }
+                }
+            }
+
+            assertThat(record).as("evento publicado pelo relay").isNotNull();
+            // Chave = ID do aluno (ordem por aluno)
+            assertThat(record.key()).isEqualTo("2");
+        }
+
+        // Removido do outbox depois da confirmação do broker
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (outboxRows(event.getEventId()) > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
         }
+        assertThat(outboxRows(event.getEventId())).isZero();
+    }
 
+    @Test
+    void shouldPublishStudentUpdatedEvent() throws Exception {
         Map<String, Object> eventData = Map.of(
             "studentId", 1L,
             "name", "Updated Student"
@@ -78,10 +147,28 @@ void shouldPublishStudentUpdatedEvent() {
             eventData
         );
 
-        // Publica evento diretamente via KafkaTemplate
-        kafkaTemplate.send("distrischool.student.updated", event.getEventId(), event);
+        // Publica evento diretamente via KafkaTemplate e aguarda a confirmação do broker
+        var result = kafkaTemplate.send("distrischool.student.updated", event.getEventId(), event)
+                .get(10, TimeUnit.SECONDS);
 
-        assertThat(event).isNotNull();
+        assertThat(result.getRecordMetadata().topic()).isEqualTo("distrischool.student.updated");
         assertThat(event.getEventType()).isEqualTo("student.updated");
     }
+
+    private Long outboxRows(String eventId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox WHERE event_id = ?",
+                Long.class, eventId);
+    }
+
+    private static DistriSchoolEvent createdEvent(Long studentId) {
+        return DistriSchoolEvent.of(
+            "student.created",
+            "student-management-service",
+            Map.of(
+                "studentId", studentId,
+                "name", "Test Student",
+                "email", "test@example.com"
+            )
+        );
+    }
 }
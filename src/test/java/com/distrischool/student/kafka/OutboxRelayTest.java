@@ -0,0 +1,172 @@
+package com.distrischool.student.kafka;
+
+import com.distrischool.student.kafka.OutboxRelay.OutboxRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay - Testes Unitários")
+class OutboxRelayTest {
+
+    private static final String TOPIC = "distrischool.student.updated";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private KafkaTemplate<String, DistriSchoolEvent> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(jdbcTemplate, kafkaTemplate, objectMapper, transactionManager,
+                new SimpleMeterRegistry(), 10, Duration.ofSeconds(1), 3);
+    }
+
+    @Test
+    @DisplayName("Deve remover apenas eventos confirmados, sem enviar os eventos seguintes de um aluno com falha")
+    @SuppressWarnings("unchecked")
+    void shouldKeepEventsAfterFailureOfSameStudent() throws Exception {
+        DistriSchoolEvent first = event(1L);
+        DistriSchoolEvent second = event(1L);
+        DistriSchoolEvent other = event(2L);
+        List<OutboxRecord> batch = List.of(
+                record(10L, first), record(11L, second), record(12L, other));
+
+        when(jdbcTemplate.queryForObject(OutboxRelay.LOCK_SQL, Boolean.class, OutboxRelay.RELAY_LOCK_KEY))
+                .thenReturn(true);
+        when(jdbcTemplate.query(eq(OutboxRelay.SELECT_BATCH_SQL), ArgumentMatchers.<RowMapper<OutboxRecord>>any(), eq(10)))
+                .thenReturn(batch);
+        CompletableFuture<SendResult<String, DistriSchoolEvent>> ok = CompletableFuture.completedFuture(null);
+        when(kafkaTemplate.send(eq(TOPIC), eq("1"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker indisponível")))
+                .thenReturn(ok);
+        when(kafkaTemplate.send(eq(TOPIC), eq("2"), any())).thenReturn(ok);
+
+        int confirmed = relay.relayBatch();
+
+        ArgumentCaptor<Collection<Long>> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(eq(OutboxRelay.DELETE_SQL), deleted.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(confirmed).isEqualTo(1);
+        assertThat(deleted.getValue()).containsExactly(12L);
+        // O segundo evento do aluno 1 não chega a ser enviado; a falha do broker é transitória
+        verify(kafkaTemplate, times(1)).send(eq(TOPIC), eq("1"), any());
+        verify(jdbcTemplate, never()).update(eq(OutboxRelay.FAILURE_SQL), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Deve retirar da fila o evento ilegível e liberar os eventos seguintes do aluno")
+    void shouldParkUnreadableEvent() throws Exception {
+        DistriSchoolEvent next = event(1L);
+        List<OutboxRecord> batch = List.of(
+                new OutboxRecord(10L, "1", TOPIC, "{não é json", 0), record(11L, next));
+
+        when(jdbcTemplate.queryForObject(OutboxRelay.LOCK_SQL, Boolean.class, OutboxRelay.RELAY_LOCK_KEY))
+                .thenReturn(true);
+        when(jdbcTemplate.query(eq(OutboxRelay.SELECT_BATCH_SQL), ArgumentMatchers.<RowMapper<OutboxRecord>>any(), eq(10)))
+                .thenReturn(batch);
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verify(jdbcTemplate).update(eq(OutboxRelay.FAILURE_SQL), anyString(), eq(true), eq(10L));
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve contar rejeições não transitórias do broker e retirar o evento após o limite")
+    void shouldParkEventAfterMaxPermanentFailures() throws Exception {
+        List<OutboxRecord> batch = List.of(
+                withAttempts(record(10L, event(1L)), 1), withAttempts(record(11L, event(2L)), 2));
+
+        when(jdbcTemplate.queryForObject(OutboxRelay.LOCK_SQL, Boolean.class, OutboxRelay.RELAY_LOCK_KEY))
+                .thenReturn(true);
+        when(jdbcTemplate.query(eq(OutboxRelay.SELECT_BATCH_SQL), ArgumentMatchers.<RowMapper<OutboxRecord>>any(), eq(10)))
+                .thenReturn(batch);
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RecordTooLargeException("evento grande demais")));
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verify(jdbcTemplate).update(eq(OutboxRelay.FAILURE_SQL), anyString(), eq(false), eq(10L));
+        verify(jdbcTemplate).update(eq(OutboxRelay.FAILURE_SQL), anyString(), eq(true), eq(11L));
+    }
+
+    @Test
+    @DisplayName("Deve parar de drenar quando um lote cheio não é inteiramente confirmado")
+    void shouldStopDrainingAfterFailedSend() throws Exception {
+        relay = new OutboxRelay(jdbcTemplate, kafkaTemplate, objectMapper, transactionManager,
+                new SimpleMeterRegistry(), 2, Duration.ofSeconds(1), 3);
+        List<OutboxRecord> batch = List.of(record(10L, event(1L)), record(11L, event(2L)));
+
+        when(jdbcTemplate.queryForObject(OutboxRelay.LOCK_SQL, Boolean.class, OutboxRelay.RELAY_LOCK_KEY))
+                .thenReturn(true);
+        when(jdbcTemplate.query(eq(OutboxRelay.SELECT_BATCH_SQL), ArgumentMatchers.<RowMapper<OutboxRecord>>any(), eq(2)))
+                .thenReturn(batch);
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker indisponível")));
+
+        relay.relay();
+
+        verify(jdbcTemplate, times(1)).query(eq(OutboxRelay.SELECT_BATCH_SQL),
+                ArgumentMatchers.<RowMapper<OutboxRecord>>any(), eq(2));
+    }
+
+    @Test
+    @DisplayName("Não deve ler o outbox enquanto outra instância estiver drenando")
+    void shouldSkipWhenLockNotAcquired() {
+        when(jdbcTemplate.queryForObject(OutboxRelay.LOCK_SQL, Boolean.class, OutboxRelay.RELAY_LOCK_KEY))
+                .thenReturn(false);
+
+        assertThat(relay.relayBatch()).isZero();
+
+        verify(jdbcTemplate, never()).query(anyString(), ArgumentMatchers.<RowMapper<OutboxRecord>>any(), any(Object[].class));
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    private DistriSchoolEvent event(Long studentId) {
+        return DistriSchoolEvent.of("student.updated", "student-management-service", Map.of("studentId", studentId));
+    }
+
+    private OutboxRecord record(long id, DistriSchoolEvent event) throws Exception {
+        return new OutboxRecord(id, EventProducer.aggregateId(event), TOPIC, objectMapper.writeValueAsString(event), 0);
+    }
+
+    private static OutboxRecord withAttempts(OutboxRecord record, int attempts) {
+        return new OutboxRecord(record.id(), record.aggregateId(), record.topic(), record.payload(), attempts);
+    }
+}
@@ -0,0 +1,111 @@
+package com.distrischool.student.kafka;
+
+import com.distrischool.student.metrics.KafkaConsumerBatchMetrics;
+import com.distrischool.student.readmodel.StudentReadModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("StudentEventConsumer - Testes Unitários")
+class StudentEventConsumerTest {
+
+    private static final String TOPIC = "distrischool.student.status.changed";
+
+    private SimpleMeterRegistry meterRegistry;
+    private StudentEventConsumer eventConsumer;
+    private Acknowledgment acknowledgment;
+    private Consumer<?, ?> kafkaConsumer;
+    private FailedEventForwarder forwarder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        forwarder = mock(FailedEventForwarder.class);
+        eventConsumer = new StudentEventConsumer(new KafkaConsumerBatchMetrics(meterRegistry),
+                new StudentReadModel(true, meterRegistry), forwarder);
+        acknowledgment = mock(Acknowledgment.class);
+        kafkaConsumer = mock(Consumer.class);
+    }
+
+    @Test
+    @DisplayName("Deve confirmar o lote e registrar as métricas do lote")
+    void shouldAcknowledgeBatchAndRecordMetrics() {
+        when(kafkaConsumer.currentLag(new TopicPartition(TOPIC, 0))).thenReturn(OptionalLong.of(42));
+
+        eventConsumer.handleStudentStatusChanged(
+                List.of(record(0, "ACTIVE", "GRADUATED"), record(1, "ACTIVE", "SUSPENDED")),
+                acknowledgment, kafkaConsumer);
+
+        verify(acknowledgment).acknowledge();
+        assertThat(meterRegistry.get("kafka.consumer.batch.size").tag("topic", TOPIC).summary().totalAmount())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("kafka.consumer.batch.lag").tag("partition", "0").gauge().value())
+                .isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("Deve encaminhar o registro com falha para retry e seguir com o lote")
+    void shouldForwardFailedRecordWithoutBlocking() {
+        List<ConsumerRecord<String, DistriSchoolEvent>> records = List.of(
+                record(0, "ACTIVE", "GRADUATED"), record(1, "ACTIVE", "INVALIDO"), record(2, "ACTIVE", "SUSPENDED"));
+
+        eventConsumer.handleStudentStatusChanged(records, acknowledgment, kafkaConsumer);
+
+        verify(forwarder).forward(eq(records.get(1)), any(IllegalArgumentException.class));
+        verifyNoMoreInteractions(forwarder);
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Deve indicar o índice do registro com falha quando o encaminhamento falhar")
+    void shouldReportFailedRecordIndexWhenForwardFails() {
+        List<ConsumerRecord<String, DistriSchoolEvent>> records =
+                List.of(record(0, "ACTIVE", "GRADUATED"), record(1, "ACTIVE", "INVALIDO"));
+        doThrow(new IllegalStateException("broker indisponível")).when(forwarder).forward(any(), any());
+
+        assertThatThrownBy(() -> eventConsumer.handleStudentStatusChanged(records, acknowledgment, kafkaConsumer))
+                .isInstanceOf(BatchListenerFailedException.class)
+                .satisfies(e -> assertThat(((BatchListenerFailedException) e).getIndex()).isEqualTo(1));
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Deve pausar o nível de retry até o registro atingir o atraso, confirmando os anteriores")
+    void shouldNackRetryRecordNotYetDue() {
+        List<ConsumerRecord<String, DistriSchoolEvent>> records =
+                List.of(record(0, "ACTIVE", "GRADUATED"), record(1, "ACTIVE", "SUSPENDED"));
+        ReflectionTestUtils.setField(eventConsumer, "studentStatusChangedTopic", TOPIC);
+        when(forwarder.isOwnFailure(any())).thenReturn(true);
+        when(forwarder.remainingDelayMillis(records.get(0))).thenReturn(0L);
+        when(forwarder.remainingDelayMillis(records.get(1))).thenReturn(1500L);
+
+        eventConsumer.handleRetry1(records, acknowledgment, kafkaConsumer);
+
+        verify(acknowledgment).nack(1, Duration.ofMillis(1500));
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    private static ConsumerRecord<String, DistriSchoolEvent> record(long offset, String oldStatus, String newStatus) {
+        DistriSchoolEvent event = DistriSchoolEvent.of("student.status.changed", "student-management-service",
+                Map.of("studentId", offset + 1, "oldStatus", oldStatus, "newStatus", newStatus));
+        return new ConsumerRecord<>(TOPIC, 0, offset, String.valueOf(offset + 1), event);
+    }
+}
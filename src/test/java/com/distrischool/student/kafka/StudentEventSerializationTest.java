@@ -0,0 +1,105 @@
+package com.distrischool.student.kafka;
+
+import com.distrischool.student.entity.Student.StudentStatus;
+import com.distrischool.student.kafka.EventSchemaRegistry.EventSchema;
+import com.distrischool.student.kafka.EventSchemaRegistry.Field;
+import com.distrischool.student.kafka.EventSchemaRegistry.FieldType;
+import com.distrischool.student.kafka.payload.StudentCreatedPayload;
+import com.distrischool.student.kafka.payload.StudentStatusChangedPayload;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StudentEventSerializer/Deserializer - Testes Unitários")
+class StudentEventSerializationTest {
+
+    private static final String TOPIC = "distrischool.student.created";
+
+    @Test
+    @DisplayName("Deve codificar em binário, sinalizar no header e decodificar o mesmo evento")
+    void shouldRoundTripBinaryEvent() {
+        DistriSchoolEvent event = createdEvent();
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] binary = serializer("binary").serialize(TOPIC, headers, event);
+        byte[] json = serializer("json").serialize(TOPIC, new RecordHeaders(), event);
+        DistriSchoolEvent decoded = new StudentEventDeserializer().deserialize(TOPIC, headers, binary);
+
+        assertThat(contentType(headers)).isEqualTo(StudentEventSerializer.CONTENT_TYPE_BINARY);
+        assertThat(binary.length).isLessThan(json.length / 2);
+        assertThat(decoded.getEventId()).isEqualTo(event.getEventId());
+        assertThat(decoded.getEventType()).isEqualTo("student.created");
+        assertThat(decoded.getVersion()).isEqualTo(3L);
+        assertThat(StudentCreatedPayload.from(decoded.getData()))
+                .isEqualTo(StudentCreatedPayload.from(event.getData()));
+    }
+
+    @Test
+    @DisplayName("Deve ler JSON com header e registros antigos sem header")
+    void shouldReadJsonWithAndWithoutHeader() {
+        DistriSchoolEvent event = DistriSchoolEvent.of("student-management-service",
+                StudentStatusChangedPayload.builder()
+                        .studentId(7L)
+                        .oldStatus(StudentStatus.ACTIVE)
+                        .newStatus(StudentStatus.GRADUATED)
+                        .build(), 1L);
+        RecordHeaders headers = new RecordHeaders();
+        byte[] json = serializer("json").serialize(TOPIC, headers, event);
+        StudentEventDeserializer deserializer = new StudentEventDeserializer();
+
+        DistriSchoolEvent withHeader = deserializer.deserialize(TOPIC, headers, json);
+        DistriSchoolEvent legacy = deserializer.deserialize(TOPIC, new RecordHeaders(), json);
+
+        assertThat(contentType(headers)).isEqualTo(StudentEventSerializer.CONTENT_TYPE_JSON);
+        assertThat(StudentStatusChangedPayload.from(withHeader.getData()).getNewStatus())
+                .isEqualTo(StudentStatus.GRADUATED);
+        assertThat(StudentStatusChangedPayload.from(legacy.getData()).getStudentId()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Deve decodificar eventos gravados com versão anterior do esquema")
+    void shouldDecodePreviousSchemaVersion() {
+        EventSchema v1 = new EventSchema("student.updated", 2, 1, List.of(
+                new Field("studentId", FieldType.LONG), new Field("email", FieldType.STRING)));
+        EventSchema v2 = new EventSchema("student.updated", 2, 2, List.of(
+                new Field("studentId", FieldType.LONG), new Field("email", FieldType.STRING),
+                new Field("phone", FieldType.STRING)));
+        BinaryEventCodec oldProducer = new BinaryEventCodec(new EventSchemaRegistry(List.of(v1)));
+        BinaryEventCodec newConsumer = new BinaryEventCodec(new EventSchemaRegistry(List.of(v1, v2)));
+        DistriSchoolEvent event = DistriSchoolEvent.of("student.updated", "student-management-service",
+                Map.of("studentId", 5L, "email", "aluno@faculdade.edu.br"));
+
+        DistriSchoolEvent decoded = newConsumer.decode(oldProducer.encode(event).orElseThrow());
+
+        assertThat(decoded.getData()).containsEntry("studentId", 5L)
+                .containsEntry("email", "aluno@faculdade.edu.br")
+                .doesNotContainKey("phone");
+    }
+
+    private static StudentEventSerializer serializer(String format) {
+        StudentEventSerializer serializer = new StudentEventSerializer();
+        serializer.configure(Map.of(StudentEventSerializer.FORMAT_CONFIG, format), false);
+        return serializer;
+    }
+
+    private static DistriSchoolEvent createdEvent() {
+        return DistriSchoolEvent.of("student-management-service", StudentCreatedPayload.builder()
+                .studentId(42L)
+                .fullName("João Silva Santos")
+                .email("joao.silva@faculdade.edu.br")
+                .registrationNumber("202410000042")
+                .course("Ciência da Computação")
+                .build(), 3L);
+    }
+
+    private static String contentType(RecordHeaders headers) {
+        return new String(headers.lastHeader(StudentEventSerializer.CONTENT_TYPE_HEADER).value(),
+                StandardCharsets.UTF_8);
+    }
+}
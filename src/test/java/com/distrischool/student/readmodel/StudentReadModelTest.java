@@ -0,0 +1,226 @@
+package com.distrischool.student.readmodel;
+
+import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.dto.StudentStatisticsGroup;
+import com.distrischool.student.entity.Student;
+import com.distrischool.student.entity.Student.StudentStatus;
+import com.distrischool.student.kafka.DistriSchoolEvent;
+import com.distrischool.student.kafka.payload.StudentCreatedPayload;
+import com.distrischool.student.kafka.payload.StudentDeletedPayload;
+import com.distrischool.student.kafka.payload.StudentEventPayload;
+import com.distrischool.student.kafka.payload.StudentState;
+import com.distrischool.student.kafka.payload.StudentStatusChangedPayload;
+import com.distrischool.student.kafka.payload.StudentUpdatedPayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StudentReadModel - Testes Unitários")
+class StudentReadModelTest {
+
+    private static final String TOPIC = "distrischool.student.events";
+
+    private StudentReadModel readModel;
+    private long offset;
+
+    @BeforeEach
+    void setUp() {
+        readModel = new StudentReadModel(true, new SimpleMeterRegistry());
+        offset = 0;
+    }
+
+    @Test
+    @DisplayName("Deve aplicar eventos por versão, ignorando eventos atrasados e alunos removidos")
+    void shouldApplyEventsByVersion() {
+        apply(StudentCreatedPayload.builder().studentId(1L).state(state("Ana", StudentStatus.ACTIVE)).build(), 0L);
+        apply(StudentUpdatedPayload.builder().studentId(1L).state(state("Ana Maria", StudentStatus.ACTIVE)).build(), 2L);
+        // Evento da versão 1, consumido depois da versão 2 (tópicos diferentes)
+        apply(StudentStatusChangedPayload.builder().studentId(1L)
+                .oldStatus(StudentStatus.ACTIVE).newStatus(StudentStatus.SUSPENDED).build(), 1L);
+        readModel.markReady(Map.of());
+
+        assertThat(readModel.findById(1L)).map(StudentResponseDTO::getFullName).contains("Ana Maria");
+        assertThat(readModel.findByRegistrationNumber("2024100001")).map(StudentResponseDTO::getId).contains(1L);
+        assertThat(readModel.countByStatus(StudentStatus.ACTIVE)).isEqualTo(OptionalLong.of(1));
+
+        apply(StudentDeletedPayload.builder().studentId(1L).build(), 3L);
+        apply(StudentUpdatedPayload.builder().studentId(1L).state(state("Ana", StudentStatus.ACTIVE)).build(), 2L);
+
+        assertThat(readModel.findById(1L)).isEmpty();
+        assertThat(readModel.findByRegistrationNumber("2024100001")).isEmpty();
+        assertThat(readModel.countByStatus(StudentStatus.ACTIVE)).isEqualTo(OptionalLong.of(0));
+        assertThat(readModel.nextOffset(new TopicPartition(TOPIC, 0))).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Deve descartar o created consumido depois de uma mudança de status mais nova")
+    void shouldIgnoreCreatedConsumedAfterStatusChange() {
+        // Estado completo (esquema v2): a mudança de status cria a entrada
+        apply(StudentStatusChangedPayload.builder().studentId(1L).oldStatus(StudentStatus.ACTIVE)
+                .newStatus(StudentStatus.SUSPENDED).state(state("Ana", StudentStatus.SUSPENDED)).build(), 1L);
+        apply(StudentCreatedPayload.builder().studentId(1L).state(state("Ana", StudentStatus.ACTIVE)).build(), 0L);
+        // Sem estado (esquema v1): a versão fica como tombstone e o aluno é lido do banco
+        apply(StudentStatusChangedPayload.builder().studentId(2L)
+                .oldStatus(StudentStatus.ACTIVE).newStatus(StudentStatus.SUSPENDED).build(), 1L);
+        apply(StudentCreatedPayload.builder().studentId(2L).state(state("Bruno", StudentStatus.ACTIVE)).build(), 0L);
+        readModel.markReady(Map.of());
+
+        assertThat(readModel.findById(1L)).map(StudentResponseDTO::getStatus).contains(StudentStatus.SUSPENDED);
+        assertThat(readModel.findById(2L)).isEmpty();
+        assertThat(readModel.countByStatus(StudentStatus.ACTIVE)).isEqualTo(OptionalLong.of(0));
+        assertThat(readModel.countByStatus(StudentStatus.SUSPENDED)).isEqualTo(OptionalLong.of(1));
+
+        // A linha do banco com a mesma versão volta a entrar na projeção
+        readModel.load(state("Bruno", StudentStatus.SUSPENDED).toResponse(2L), 1L);
+
+        assertThat(readModel.findById(2L)).map(StudentResponseDTO::getStatus).contains(StudentStatus.SUSPENDED);
+    }
+
+    @Test
+    @DisplayName("Deve servir contagens apenas depois da carga inicial")
+    void shouldCountOnlyWhenReady() {
+        readModel.load(state("Bruno", StudentStatus.GRADUATED).toResponse(2L), 4L);
+
+        assertThat(readModel.findById(2L)).isPresent();
+        assertThat(readModel.countByStatus(StudentStatus.GRADUATED)).isEmpty();
+
+        readModel.markReady(Map.of());
+
+        assertThat(readModel.countByStatus(StudentStatus.GRADUATED)).isEqualTo(OptionalLong.of(1));
+    }
+
+    @Test
+    @DisplayName("Deve manter as contagens por status, curso e semestre a cada alteração")
+    void shouldKeepGroupedCounts() {
+        apply(StudentCreatedPayload.builder().studentId(1L).state(state("Ana", StudentStatus.ACTIVE)).build(), 0L);
+        apply(StudentCreatedPayload.builder().studentId(2L).state(state("Bruno", StudentStatus.ACTIVE)).build(), 0L);
+        apply(StudentStatusChangedPayload.builder().studentId(2L)
+                .oldStatus(StudentStatus.ACTIVE).newStatus(StudentStatus.TRANSFERRED).build(), 1L);
+        apply(StudentCreatedPayload.builder().studentId(3L).state(state("Carla", StudentStatus.DROPPED)).build(), 0L);
+        apply(StudentDeletedPayload.builder().studentId(3L).build(), 1L);
+        assertThat(readModel.countByGroup()).isEmpty();
+
+        readModel.markReady(Map.of());
+
+        assertThat(readModel.countByGroup().orElseThrow()).containsExactlyInAnyOrder(
+                new StudentStatisticsGroup(StudentStatus.ACTIVE, "Ciência da Computação", 3, 1L),
+                new StudentStatisticsGroup(StudentStatus.TRANSFERRED, "Ciência da Computação", 3, 1L));
+    }
+
+    @Test
+    @DisplayName("Deve exportar os contadores como gauges e comparar com as contagens do banco")
+    void shouldExportCountersAndCompareWithDatabase() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        readModel = new StudentReadModel(true, meterRegistry);
+        apply(StudentCreatedPayload.builder().studentId(1L).state(state("Ana", StudentStatus.ACTIVE)).build(), 0L);
+        apply(StudentCreatedPayload.builder().studentId(2L).state(state("Bruno", StudentStatus.ACTIVE)).build(), 0L);
+
+        assertThat(meterRegistry.get("students.count").tag("status", "ACTIVE").gauge().value()).isNaN();
+        readModel.markReady(Map.of());
+
+        assertThat(readModel.countByCourse("Ciência da Computação")).isEqualTo(OptionalLong.of(2));
+        assertThat(meterRegistry.get("students.count").tag("status", "ACTIVE").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.find("students.count.by_course").gauge()).isNull();
+        assertThat(readModel.reconcileCounters()).isZero();
+        assertThat(readModel.compareCounters(List.of(
+                new StudentStatisticsGroup(StudentStatus.ACTIVE, "Ciência da Computação", 3, 3L))).values())
+                .containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar do banco os alunos de um grupo divergente")
+    void shouldReloadDriftingGroupFromDatabase() {
+        apply(StudentCreatedPayload.builder().studentId(1L).state(state("Ana", StudentStatus.ACTIVE)).build(), 0L);
+        apply(StudentCreatedPayload.builder().studentId(2L).state(state("Bruno", StudentStatus.ACTIVE)).build(), 0L);
+        // Mudança de status sem estado e sem entrada: o aluno 3 fica fora da projeção
+        apply(StudentStatusChangedPayload.builder().studentId(3L)
+                .oldStatus(StudentStatus.SUSPENDED).newStatus(StudentStatus.ACTIVE).build(), 1L);
+        readModel.markReady(Map.of());
+        // No banco, o aluno 2 foi removido, o 3 está ativo e o created do 4 ainda não foi consumido
+        List<StudentStatisticsGroup> database = List.of(
+                new StudentStatisticsGroup(StudentStatus.ACTIVE, "Ciência da Computação", 3, 3L));
+        StudentCounters.GroupKey group = StudentCounters.GroupKey.of(database.get(0));
+        assertThat(readModel.compareCounters(database)).containsEntry(group, 1L);
+
+        Set<Long> ids = new HashSet<>(readModel.idsInGroup(group));
+        List<Student> loaded = List.of(student(1L, "Ana", 0L), student(3L, "Carla", 1L), student(4L, "Davi", 0L));
+        loaded.forEach(student -> ids.add(student.getId()));
+        int reloaded = readModel.reload(ids, loaded);
+
+        assertThat(reloaded).isEqualTo(4);
+        assertThat(readModel.findById(2L)).isEmpty();
+        assertThat(readModel.findById(3L)).map(StudentResponseDTO::getFullName).contains("Carla");
+        assertThat(readModel.countByStatus(StudentStatus.ACTIVE)).isEqualTo(OptionalLong.of(3));
+        assertThat(readModel.compareCounters(database)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve restaurar alunos, tombstones e offsets do snapshot em disco")
+    void shouldRestoreFromSnapshot(@TempDir Path directory) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        StudentReadModelSnapshotStore store = new StudentReadModelSnapshotStore(objectMapper,
+                directory.resolve("students.json.gz").toString(), Duration.ofHours(1));
+        apply(StudentCreatedPayload.builder().studentId(1L).state(state("Ana", StudentStatus.ACTIVE)).build(), 0L);
+        apply(StudentDeletedPayload.builder().studentId(2L).build(), 5L);
+
+        store.save(readModel.snapshot());
+        StudentReadModel restored = new StudentReadModel(true, new SimpleMeterRegistry());
+        restored.restore(store.load().orElseThrow());
+
+        assertThat(restored.isReady()).isTrue();
+        assertThat(restored.findById(1L)).map(StudentResponseDTO::getBirthDate).contains(LocalDate.of(2005, 3, 14));
+        assertThat(restored.nextOffset(new TopicPartition(TOPIC, 0))).isEqualTo(2L);
+        restored.load(state("Carlos", StudentStatus.ACTIVE).toResponse(2L), 4L);
+        assertThat(restored.findById(2L)).isEmpty();
+    }
+
+    private void apply(StudentEventPayload payload, Long version) {
+        // Mesmo caminho dos listeners: o payload trafega como mapa no envelope
+        DistriSchoolEvent event = DistriSchoolEvent.of("student-management-service", payload, version);
+        readModel.apply(new ConsumerRecord<>(TOPIC, 0, offset++, payload.getStudentId().toString(), event));
+    }
+
+    private static Student student(Long id, String name, Long version) {
+        return Student.builder()
+                .id(id)
+                .fullName(name)
+                .email(name.toLowerCase() + "@faculdade.edu.br")
+                .registrationNumber("202410000" + id)
+                .course("Ciência da Computação")
+                .semester(3)
+                .status(StudentStatus.ACTIVE)
+                .version(version)
+                .build();
+    }
+
+    private static StudentState state(String name, StudentStatus status) {
+        return StudentState.builder()
+                .fullName(name)
+                .email(name.toLowerCase().replace(' ', '.') + "@faculdade.edu.br")
+                .birthDate(LocalDate.of(2005, 3, 14))
+                .registrationNumber("2024100001")
+                .course("Ciência da Computação")
+                .semester(3)
+                .status(status)
+                .createdAt(LocalDateTime.of(2024, 2, 1, 10, 0))
+                .build();
+    }
+}
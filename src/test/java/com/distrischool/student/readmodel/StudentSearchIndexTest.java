@@ -0,0 +1,99 @@
+package com.distrischool.student.readmodel;
+
+import com.distrischool.student.dto.StudentResponseDTO;
+import com.distrischool.student.entity.Student.StudentStatus;
+import com.distrischool.student.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StudentSearchIndex - Testes Unitários")
+class StudentSearchIndexTest {
+
+    private StudentReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        readModel = new StudentReadModel(true, new SimpleMeterRegistry());
+        readModel.load(student(1L, "João Silva Santos", "123.456.789-01", "Ciência da Computação", StudentStatus.ACTIVE,
+                "Bolsista do programa de iniciação científica"), 0L);
+        readModel.load(student(2L, "Maria Silveira", "98765432100", "Ciência da Computação", StudentStatus.GRADUATED,
+                null), 0L);
+        readModel.load(student(3L, "Silvana Costa", "11122233344", "Direito", StudentStatus.ACTIVE,
+                "Transferida de outra instituição, aguarda silva"), 0L);
+        readModel.markReady(Map.of());
+    }
+
+    @Test
+    @DisplayName("Deve buscar por prefixo, frase e campo, ignorando acentos e ordenando por relevância")
+    void shouldSearchByPrefixPhraseAndField() {
+        assertThat(ids("silv*")).containsExactly(1L, 2L, 3L);
+        // Nome pesa mais que observações
+        assertThat(ids("silva")).containsExactly(1L, 3L);
+        assertThat(ids("name:silva")).containsExactly(1L);
+        assertThat(ids("\"joao silva\"")).containsExactly(1L);
+        assertThat(ids("\"silva joao\"")).isEmpty();
+        assertThat(ids("course:\"ciencia da computacao\" silv*")).containsExactly(1L, 2L);
+        assertThat(ids("iniciacao cientifica")).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Deve encontrar CPF e matrícula com ou sem pontuação")
+    void shouldMatchIdentifiersWithOrWithoutPunctuation() {
+        assertThat(ids("12345678901")).containsExactly(1L);
+        assertThat(ids("987.654.321-00")).containsExactly(2L);
+        assertThat(ids("registration:2024100003")).containsExactly(3L);
+        assertThat(ids("maria.silveira@faculdade.edu.br")).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Deve contar facetas de todos os resultados e aplicar os filtros")
+    void shouldComputeFacetsAndApplyFilters() {
+        StudentSearchIndex.Result result = readModel.search(StudentSearchQuery.parse("silv*"),
+                student -> student.getStatus() == StudentStatus.ACTIVE, 1).orElseThrow();
+
+        assertThat(result.totalHits()).isEqualTo(2);
+        assertThat(result.hits()).extracting(StudentResponseDTO::getId).containsExactly(1L);
+        assertThat(result.facets().get("course")).containsExactly(
+                Map.entry("Ciência da Computação", 1L), Map.entry("Direito", 1L));
+        assertThat(result.facets().get("status")).containsExactly(Map.entry("ACTIVE", 2L));
+    }
+
+    @Test
+    @DisplayName("Deve reindexar alunos alterados e rejeitar prefixos curtos")
+    void shouldReindexUpdatedStudents() {
+        readModel.load(student(2L, "Maria Souza", "98765432100", "Direito", StudentStatus.ACTIVE, null), 1L);
+
+        assertThat(ids("silveira")).isEmpty();
+        assertThat(ids("souza course:direito")).containsExactly(2L);
+        assertThatThrownBy(() -> StudentSearchQuery.parse("s*")).isInstanceOf(BusinessException.class);
+    }
+
+    private List<Long> ids(String query) {
+        return readModel.search(StudentSearchQuery.parse(query), student -> true, 10).orElseThrow()
+                .hits().stream().map(StudentResponseDTO::getId).toList();
+    }
+
+    private static StudentResponseDTO student(Long id, String name, String cpf, String course, StudentStatus status,
+                                              String notes) {
+        return StudentResponseDTO.builder()
+                .id(id)
+                .fullName(name)
+                .cpf(cpf)
+                .email(name.toLowerCase().replace("ã", "a").split(" ")[0] + "." + name.toLowerCase().split(" ")[1]
+                        + "@faculdade.edu.br")
+                .registrationNumber("202410000" + id)
+                .course(course)
+                .semester(3)
+                .status(status)
+                .notes(notes)
+                .build();
+    }
+}
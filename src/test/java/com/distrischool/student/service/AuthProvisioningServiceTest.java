@@ -0,0 +1,174 @@
+package com.distrischool.student.service;
+
+import com.distrischool.student.dto.auth.ApiResponse;
+import com.distrischool.student.dto.auth.AuthResponse;
+import com.distrischool.student.dto.auth.UserResponse;
+import com.distrischool.student.entity.Student;
+import com.distrischool.student.entity.Student.AuthProvisioningStatus;
+import com.distrischool.student.feign.AuthServiceClient;
+import com.distrischool.student.metrics.StudentMetricsRecorder;
+import com.distrischool.student.repository.StudentRepository;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthProvisioningService - Testes Unitários")
+class AuthProvisioningServiceTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private AuthServiceClient authServiceClient;
+
+    @Mock
+    private StudentMetricsRecorder metricsRecorder;
+
+    private AuthProvisioningService service;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .build());
+        service = new AuthProvisioningService(studentRepository, authServiceClient, metricsRecorder,
+                new SyncTaskExecutor(), retryRegistry);
+        ReflectionTestUtils.setField(service, "staleAfter", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(service, "maxAttempts", 10);
+        ReflectionTestUtils.setField(service, "sweepBatchSize", 50);
+
+        student = Student.builder()
+                .id(1L)
+                .fullName("João Silva Santos")
+                .cpf("12345678901")
+                .email("joao.silva@faculdade.edu.br")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve registrar o usuário e concluir o provisionamento")
+    void shouldCompleteProvisioning() {
+        when(studentRepository.claimPendingAuthProvisioning(eq(1L), eq(AuthProvisioningStatus.PENDING),
+                eq(AuthProvisioningStatus.IN_PROGRESS), any())).thenReturn(1);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(studentRepository.renewAuthProvisioningClaim(eq(1L), eq(AuthProvisioningStatus.IN_PROGRESS), eq(0), any()))
+                .thenReturn(1);
+        when(authServiceClient.registerUser(eq("Bearer token"), any())).thenReturn(successResponse("auth0|123"));
+
+        service.provisionAfterCommit(1L, "Bearer token");
+
+        verify(studentRepository).completeAuthProvisioning(eq(1L), eq("auth0|123"),
+                eq(AuthProvisioningStatus.COMPLETED), any());
+        verify(metricsRecorder).recordOperation("auth_provisioning", "success");
+    }
+
+    @Test
+    @DisplayName("Deve tentar novamente falhas transitórias e marcar FAILED ao esgotar as tentativas")
+    void shouldRetryAndMarkFailed() {
+        when(studentRepository.claimPendingAuthProvisioning(eq(1L), any(), any(), any())).thenReturn(1);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(studentRepository.renewAuthProvisioningClaim(eq(1L), any(), anyInt(), any())).thenReturn(1);
+        when(authServiceClient.registerUser(any(), any())).thenThrow(new IllegalStateException("timeout"));
+
+        service.provisionAfterCommit(1L, "Bearer token");
+
+        verify(authServiceClient, times(3)).registerUser(any(), any());
+        // Reserva renovada antes de cada tentativa
+        verify(studentRepository, times(3)).renewAuthProvisioningClaim(eq(1L), any(), anyInt(), any());
+        verify(studentRepository).failAuthProvisioning(eq(1L), eq(AuthProvisioningStatus.FAILED),
+                eq("timeout"), any());
+        verify(studentRepository, never()).completeAuthProvisioning(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Não deve provisionar aluno já reservado por outro processo")
+    void shouldSkipWhenAlreadyClaimed() {
+        when(studentRepository.claimPendingAuthProvisioning(eq(1L), any(), any(), any())).thenReturn(0);
+
+        service.provisionAfterCommit(1L, "Bearer token");
+
+        verifyNoInteractions(authServiceClient);
+        verify(studentRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Varredura deve retomar provisionamentos parados")
+    void sweepShouldResumeStaleProvisioning() {
+        when(studentRepository.findStaleAuthProvisioningIds(anyCollection(), any(), eq(10), any()))
+                .thenReturn(List.of(1L));
+        when(studentRepository.claimStaleAuthProvisioning(eq(1L), anyCollection(),
+                eq(AuthProvisioningStatus.IN_PROGRESS), any(), eq(10), any())).thenReturn(1);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(studentRepository.renewAuthProvisioningClaim(eq(1L), any(), anyInt(), any())).thenReturn(1);
+        when(authServiceClient.registerUser(isNull(), any())).thenReturn(successResponse("auth0|456"));
+
+        service.sweep();
+
+        verify(studentRepository).completeAuthProvisioning(eq(1L), eq("auth0|456"),
+                eq(AuthProvisioningStatus.COMPLETED), any());
+    }
+
+    @Test
+    @DisplayName("Varredura não deve reservar alunos quando a fila do pool está cheia")
+    void sweepShouldNotClaimWhenExecutorRejects() {
+        service = new AuthProvisioningService(studentRepository, authServiceClient, metricsRecorder,
+                task -> {
+                    throw new TaskRejectedException("fila cheia");
+                }, RetryRegistry.ofDefaults());
+        ReflectionTestUtils.setField(service, "staleAfter", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(service, "maxAttempts", 10);
+        ReflectionTestUtils.setField(service, "sweepBatchSize", 50);
+        when(studentRepository.findStaleAuthProvisioningIds(anyCollection(), any(), eq(10), any()))
+                .thenReturn(List.of(1L, 2L));
+
+        service.sweep();
+
+        verify(studentRepository, never()).claimStaleAuthProvisioning(any(), anyCollection(), any(), any(),
+                anyInt(), any());
+        verifyNoInteractions(authServiceClient);
+    }
+
+    @Test
+    @DisplayName("Deve abandonar a execução sem gravar estado quando a reserva foi retomada por outro processo")
+    void shouldGiveUpWhenClaimWasTakenOver() {
+        when(studentRepository.claimPendingAuthProvisioning(eq(1L), any(), any(), any())).thenReturn(1);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(studentRepository.renewAuthProvisioningClaim(eq(1L), any(), anyInt(), any())).thenReturn(0);
+
+        service.provisionAfterCommit(1L, "Bearer token");
+
+        verifyNoInteractions(authServiceClient);
+        verify(studentRepository, never()).failAuthProvisioning(any(), any(), any(), any());
+        verify(studentRepository, never()).completeAuthProvisioning(any(), any(), any(), any());
+    }
+
+    private ApiResponse<AuthResponse> successResponse(String auth0Id) {
+        return ApiResponse.<AuthResponse>builder()
+                .success(true)
+                .data(AuthResponse.builder()
+                        .user(UserResponse.builder().auth0Id(auth0Id).build())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.distrischool.student.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para a geração de números de matrícula em blocos
+ */
+@DisplayName("RegistrationNumberAllocator - Testes Unitários")
+class RegistrationNumberAllocatorTest {
+
+    private static final Clock MAY_2026 = Clock.fixed(Instant.parse("2026-05-10T12:00:00Z"), ZoneOffset.UTC);
+
+    private JdbcTemplate jdbcTemplate;
+    private AtomicLong sequence;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        // Simula o UPSERT: soma o tamanho do bloco ao último valor reservado
+        sequence = new AtomicLong(120);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), anyString(), any()))
+                .thenAnswer(invocation -> sequence.addAndGet(invocation.<Integer>getArgument(3)));
+    }
+
+    @Test
+    @DisplayName("Deve reservar um bloco e entregar as matrículas seguintes sem consultar o banco")
+    void shouldServeNumbersFromReservedBlock() {
+        RegistrationNumberAllocator allocator = new RegistrationNumberAllocator(jdbcTemplate, null, 3, MAY_2026);
+
+        List<String> numbers = List.of(allocator.nextRegistrationNumber(), allocator.nextRegistrationNumber(),
+                allocator.nextRegistrationNumber(), allocator.nextRegistrationNumber());
+
+        assertThat(numbers).containsExactly("202605000121", "202605000122", "202605000123", "202605000124");
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class), eq("202605"), eq(3));
+    }
+
+    @Test
+    @DisplayName("Deve reservar o bloco em uma conexão própria, fora do pool da aplicação")
+    void shouldReserveBlockOnDedicatedConnection() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:postgresql://localhost:5432/distrischool");
+        properties.setUsername("distrischool");
+
+        try (HikariDataSource dataSource = RegistrationNumberAllocator.dedicatedDataSource(properties)) {
+            assertThat(dataSource.getMaximumPoolSize()).isEqualTo(1);
+            assertThat(dataSource.getPoolName()).isEqualTo("registration-sequences");
+            assertThat(dataSource.isAutoCommit()).isTrue();
+            assertThat(dataSource.getJdbcUrl()).isEqualTo("jdbc:postgresql://localhost:5432/distrischool");
+        }
+    }
+
+    @Test
+    @DisplayName("Cadastros concorrentes não devem gerar matrículas repetidas")
+    void shouldNotCollideUnderConcurrency() throws Exception {
+        RegistrationNumberAllocator allocator = new RegistrationNumberAllocator(jdbcTemplate, null, 7, MAY_2026);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 50; j++) {
+                        numbers.add(allocator.nextRegistrationNumber());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(numbers).hasSize(400);
+    }
+}
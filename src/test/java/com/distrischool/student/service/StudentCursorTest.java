@@ -0,0 +1,42 @@
+package com.distrischool.student.service;
+
+import com.distrischool.student.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StudentCursor - Testes Unitários")
+class StudentCursorTest {
+
+    @Test
+    @DisplayName("Deve codificar e decodificar a posição, com o ID como desempate da ordenação")
+    void shouldRoundTripPosition() {
+        StudentCursor first = StudentCursor.resolve("", "fullName", Sort.Direction.DESC);
+        assertThat(first.position()).isEqualTo(ScrollPosition.keyset());
+
+        StudentCursor next = first.after(ScrollPosition.forward(Map.of("fullName", "João\nda Silva", "id", 42L)));
+        StudentCursor decoded = StudentCursor.resolve(next.encode(), "id", Sort.Direction.ASC);
+
+        assertThat(decoded).isEqualTo(next);
+        assertThat(decoded.sort()).isEqualTo(Sort.by(Sort.Direction.DESC, "fullName").and(Sort.by(Sort.Direction.DESC, "id")));
+        assertThat(((KeysetScrollPosition) decoded.position()).getKeys())
+                .containsExactly(Map.entry("fullName", "João\nda Silva"), Map.entry("id", 42L));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar tokens inválidos e campos de ordenação sem suporte")
+    void shouldRejectInvalidCursor() {
+        assertThatThrownBy(() -> StudentCursor.decode("não-é-um-cursor"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Cursor de paginação inválido");
+        assertThatThrownBy(() -> StudentCursor.first("email", Sort.Direction.ASC))
+                .isInstanceOf(BusinessException.class);
+    }
+}
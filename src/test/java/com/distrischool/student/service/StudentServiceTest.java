@@ -1,16 +1,21 @@
 package com.distrischool.student.service;
 
+import com.distrischool.student.cache.StudentCacheEvictor;
+import com.distrischool.student.cache.StudentLookupCache;
+import com.distrischool.student.dto.CountedPage;
+import com.distrischool.student.dto.CountedPage.CountMode;
+import com.distrischool.student.dto.CursorPage;
 import com.distrischool.student.dto.StudentRequestDTO;
 import com.distrischool.student.dto.StudentResponseDTO;
-import com.distrischool.student.dto.auth.ApiResponse;
-import com.distrischool.student.dto.auth.AuthResponse;
-import com.distrischool.student.dto.auth.UserResponse;
+import com.distrischool.student.dto.StudentStatisticsDTO;
+import com.distrischool.student.dto.StudentStatisticsGroup;
+import com.distrischool.student.dto.StudentSummaryDTO;
 import com.distrischool.student.entity.Student;
 import com.distrischool.student.entity.Student.StudentStatus;
 import com.distrischool.student.exception.BusinessException;
 import com.distrischool.student.exception.ResourceNotFoundException;
-import com.distrischool.student.feign.AuthServiceClient;
 import com.distrischool.student.kafka.EventProducer;
+import com.distrischool.student.readmodel.StudentReadModel;
 import com.distrischool.student.repository.StudentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,13 +28,29 @@
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -46,7 +67,22 @@ class StudentServiceTest {
     private EventProducer eventProducer;
 
     @Mock
-    private AuthServiceClient authServiceClient;
+    private StudentCacheEvictor studentCacheEvictor;
+
+    @Mock
+    private StudentLookupCache studentLookupCache;
+
+    @Mock
+    private RegistrationNumberAllocator registrationNumberAllocator;
+
+    @Mock
+    private AuthProvisioningService authProvisioningService;
+
+    @Mock
+    private StudentReadModel studentReadModel;
+
+    @Mock
+    private StudentSearchCounter studentSearchCounter;
 
     @InjectMocks
     private StudentService studentService;
@@ -80,14 +116,6 @@ void setUp() {
                 .enrollmentDate(LocalDate.of(2023, 2, 1))
                 .status(StudentStatus.ACTIVE)
                 .build();
-        AuthResponse authResponse = AuthResponse.builder()
-                .user(UserResponse.builder().auth0Id("auth0|student-123").build())
-                .build();
-        ApiResponse<AuthResponse> apiResponse = ApiResponse.<AuthResponse>builder()
-                .success(true)
-                .data(authResponse)
-                .build();
-        when(authServiceClient.registerUser(any(), any())).thenReturn(apiResponse);
     }
 
     @Test
@@ -106,9 +134,28 @@ void shouldCreateStudentSuccessfully() {
         assertThat(result.getFullName()).isEqualTo("João Silva Santos");
         assertThat(result.getEmail()).isEqualTo("joao.silva@faculdade.edu.br");
         verify(studentRepository, times(1)).save(any(Student.class));
+        verify(authProvisioningService).provisionAfterCommit(1L, "Bearer mock-token");
         verify(eventProducer, times(1)).send(anyString(), any());
     }
 
+    @Test
+    @DisplayName("Deve salvar o aluno com provisionamento pendente, sem chamar o serviço de autenticação")
+    void shouldPersistStudentWithPendingAuthProvisioning() {
+        // Arrange
+        validRequest.setCpf("52998224725");
+        when(studentRepository.findByCpf(any())).thenReturn(Optional.empty());
+        when(studentRepository.findByEmail(any())).thenReturn(Optional.empty());
+        when(studentRepository.save(any(Student.class))).thenReturn(validStudent);
+
+        // Act
+        studentService.createStudent(validRequest, "admin", "Bearer mock-token");
+
+        // Assert
+        verify(studentRepository).save(argThat(student ->
+                student.getAuthProvisioningStatus() == Student.AuthProvisioningStatus.PENDING
+                        && student.getAuth0Id() == null));
+    }
+
     @Test
     @DisplayName("Não deve criar aluno com CPF duplicado")
     void shouldNotCreateStudentWithDuplicateCpf() {
@@ -145,6 +192,7 @@ void shouldNotCreateStudentWithDuplicateEmail() {
     void shouldGetStudentByIdSuccessfully() {
         // Arrange
         when(studentRepository.findById(1L)).thenReturn(Optional.of(validStudent));
+        loadThroughCache();
 
         // Act
         StudentResponseDTO result = studentService.getStudentById(1L);
@@ -160,6 +208,7 @@ void shouldGetStudentByIdSuccessfully() {
     void shouldThrowExceptionWhenStudentNotFound() {
         // Arrange
         when(studentRepository.findById(999L)).thenReturn(Optional.empty());
+        loadThroughCache();
 
         // Act & Assert
         assertThatThrownBy(() -> studentService.getStudentById(999L))
@@ -167,6 +216,18 @@ void shouldThrowExceptionWhenStudentNotFound() {
                 .hasMessageContaining("não encontrado");
     }
 
+    @Test
+    @DisplayName("Deve servir a busca por ID pela projeção local sem consultar cache nem banco")
+    void shouldGetStudentByIdFromReadModel() {
+        StudentResponseDTO projected = StudentResponseDTO.fromEntity(validStudent);
+        when(studentReadModel.findById(1L)).thenReturn(Optional.of(projected));
+
+        StudentResponseDTO result = studentService.getStudentById(1L);
+
+        assertThat(result).isSameAs(projected);
+        verifyNoInteractions(studentLookupCache, studentRepository);
+    }
+
     @Test
     @DisplayName("Deve atualizar aluno com sucesso")
     void shouldUpdateStudentSuccessfully() {
@@ -185,14 +246,14 @@ void shouldUpdateStudentSuccessfully() {
         when(studentRepository.findById(1L)).thenReturn(Optional.of(validStudent));
         when(studentRepository.findByCpf(any())).thenReturn(Optional.of(validStudent));
         when(studentRepository.findByEmail(any())).thenReturn(Optional.of(validStudent));
-        when(studentRepository.save(any(Student.class))).thenReturn(validStudent);
+        when(studentRepository.saveAndFlush(any(Student.class))).thenReturn(validStudent);
 
         // Act
         StudentResponseDTO result = studentService.updateStudent(1L, updateRequest, "admin");
 
         // Assert
         assertThat(result).isNotNull();
-        verify(studentRepository, times(1)).save(any(Student.class));
+        verify(studentRepository, times(1)).saveAndFlush(any(Student.class));
         verify(eventProducer, times(1)).send(anyString(), any());
     }
 
@@ -201,14 +262,14 @@ void shouldUpdateStudentSuccessfully() {
     void shouldUpdateStudentStatus() {
         // Arrange
         when(studentRepository.findById(1L)).thenReturn(Optional.of(validStudent));
-        when(studentRepository.save(any(Student.class))).thenReturn(validStudent);
+        when(studentRepository.saveAndFlush(any(Student.class))).thenReturn(validStudent);
 
         // Act
         StudentResponseDTO result = studentService.updateStudentStatus(1L, StudentStatus.GRADUATED, "admin");
 
         // Assert
         assertThat(result).isNotNull();
-        verify(studentRepository, times(1)).save(any(Student.class));
+        verify(studentRepository, times(1)).saveAndFlush(any(Student.class));
         verify(eventProducer, times(1)).send(anyString(), any());
     }
 
@@ -217,13 +278,13 @@ void shouldUpdateStudentStatus() {
     void shouldDeleteStudent() {
         // Arrange
         when(studentRepository.findById(1L)).thenReturn(Optional.of(validStudent));
-        when(studentRepository.save(any(Student.class))).thenReturn(validStudent);
+        when(studentRepository.saveAndFlush(any(Student.class))).thenReturn(validStudent);
 
         // Act
         studentService.deleteStudent(1L, "admin");
 
         // Assert
-        verify(studentRepository, times(1)).save(any(Student.class));
+        verify(studentRepository, times(1)).saveAndFlush(any(Student.class));
         verify(eventProducer, times(1)).send(anyString(), any());
     }
 
@@ -243,6 +304,88 @@ void shouldListStudentsWithPagination() {
         assertThat(result.getContent()).hasSize(1);
     }
 
+    @Test
+    @DisplayName("Busca com countMode deve usar o total em cache quando a estimativa não está disponível")
+    void shouldFallBackToCachedCountWhenEstimateIsUnavailable() {
+        // Arrange
+        Pageable pageable = PageRequest.of(1, 1);
+        when(studentRepository.findSliceByFilters("", null, null, StudentStatus.ACTIVE, pageable))
+                .thenReturn(new SliceImpl<>(List.of(validStudent), pageable, true));
+        when(studentSearchCounter.estimate("", null, null, StudentStatus.ACTIVE)).thenReturn(OptionalLong.empty());
+        when(studentSearchCounter.cached("", null, null, StudentStatus.ACTIVE)).thenReturn(42L);
+
+        // Act
+        CountedPage<StudentSummaryDTO> result = studentService.searchStudents(
+                null, "", null, StudentStatus.ACTIVE, pageable, CountMode.ESTIMATE);
+
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(42L);
+        assertThat(result.getTotalPages()).isEqualTo(42);
+        assertThat(result.getCountMode()).isEqualTo(CountMode.CACHED);
+        assertThat(result.isTotalExact()).isFalse();
+        verify(studentSearchCounter, never()).exact(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Busca com countMode deve devolver total exato sem COUNT quando termina na página")
+    void shouldReturnExactTotalWithoutCountingOnLastPage() {
+        // Arrange
+        Pageable pageable = PageRequest.of(2, 10);
+        when(studentRepository.findSliceByFilters("Silva", null, null, null, pageable))
+                .thenReturn(new SliceImpl<>(List.of(validStudent), pageable, false));
+
+        // Act
+        CountedPage<StudentSummaryDTO> result = studentService.searchStudents(
+                "Silva", null, null, null, pageable, CountMode.NONE);
+
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(21L);
+        assertThat(result.isTotalExact()).isTrue();
+        assertThat(result.isHasNext()).isFalse();
+        verifyNoInteractions(studentSearchCounter);
+    }
+
+    @Test
+    @DisplayName("Busca por nome aproximado deve aplicar o limiar e limitar o número de resultados")
+    void shouldSearchStudentsBySimilarName() {
+        // Arrange
+        ReflectionTestUtils.setField(studentService, "fuzzySearchThreshold", 0.4);
+        ReflectionTestUtils.setField(studentService, "fuzzySearchMaxResults", 50);
+        when(studentRepository.findBySimilarName("joao silv", 50)).thenReturn(List.of(validStudent));
+
+        // Act
+        List<StudentSummaryDTO> result = studentService.searchStudentsBySimilarName("  joao silv ", 500);
+
+        // Assert
+        assertThat(result).extracting(StudentSummaryDTO::getFullName).containsExactly("João Silva Santos");
+        verify(studentRepository).setWordSimilarityThreshold("0.4");
+        assertThatThrownBy(() -> studentService.searchStudentsBySimilarName("jo", 10))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("Deve listar alunos por cursor, devolvendo o cursor da próxima página sem contar o total")
+    @SuppressWarnings("unchecked")
+    void shouldScrollStudentsByCursor() {
+        // Arrange
+        ReflectionTestUtils.setField(studentService, "cursorMaxPageSize", 100);
+        Window<Student> window = Window.from(List.of(validStudent),
+                index -> ScrollPosition.forward(Map.of("fullName", "João Silva Santos", "id", 1L)), true);
+        when(studentRepository.findBy(any(Specification.class), any(Function.class))).thenReturn(window);
+
+        // Act
+        CursorPage<StudentSummaryDTO> result = studentService.scrollStudents(
+                StudentCursor.first("fullName", Sort.Direction.ASC), 1);
+
+        // Assert
+        assertThat(result.getContent()).extracting(StudentSummaryDTO::getId).containsExactly(1L);
+        assertThat(result.isHasNext()).isTrue();
+        StudentCursor next = StudentCursor.decode(result.getNextCursor());
+        assertThat(next.lastValue()).isEqualTo("João Silva Santos");
+        assertThat(next.lastId()).isEqualTo(1L);
+        verify(studentRepository, never()).count(any(Specification.class));
+    }
+
     @Test
     @DisplayName("Deve contar alunos por status")
     void shouldCountStudentsByStatus() {
@@ -255,4 +398,81 @@ void shouldCountStudentsByStatus() {
         // Assert
         assertThat(count).isEqualTo(10L);
     }
+
+    @Test
+    @DisplayName("Deve contar alunos pela projeção local quando ela estiver carregada")
+    void shouldCountStudentsByStatusFromReadModel() {
+        when(studentReadModel.countByStatus(StudentStatus.ACTIVE)).thenReturn(OptionalLong.of(42L));
+
+        long count = studentService.countStudentsByStatus(StudentStatus.ACTIVE);
+
+        assertThat(count).isEqualTo(42L);
+        verify(studentRepository, never()).countByStatus(any());
+    }
+
+    @Test
+    @DisplayName("Estatísticas devem vir de um único GROUP BY enquanto a projeção local carrega")
+    void shouldComputeStatisticsFromSingleGroupedQuery() {
+        // Arrange
+        when(studentReadModel.countByGroup()).thenReturn(Optional.empty());
+        when(studentRepository.countGroupedByStatusCourseAndSemester()).thenReturn(List.of(
+                new StudentStatisticsGroup(StudentStatus.ACTIVE, "Direito", 2, 5L),
+                new StudentStatisticsGroup(StudentStatus.DROPPED, "Direito", 1, 1L),
+                new StudentStatisticsGroup(StudentStatus.ACTIVE, "Medicina", 1, 3L)));
+
+        // Act
+        StudentStatisticsDTO statistics = studentService.getStatistics();
+
+        // Assert
+        assertThat(statistics.getTotal()).isEqualTo(9L);
+        assertThat(statistics.getActive()).isEqualTo(8L);
+        assertThat(statistics.getSuspended()).isZero();
+        assertThat(statistics.getByStatus()).containsEntry("ACTIVE", 8L).containsEntry("DROPPED", 1L)
+                .containsEntry("TRANSFERRED", 0L).hasSize(StudentStatus.values().length);
+        assertThat(statistics.getByCourse()).containsExactly(Map.entry("Direito", 6L), Map.entry("Medicina", 3L));
+        assertThat(statistics.getSource()).isEqualTo(StudentStatisticsDTO.Source.DATABASE);
+        verify(studentRepository, never()).countByStatus(any());
+    }
+
+    @Test
+    @DisplayName("Streaming deve carregar os IDs em blocos e entregar os alunos na ordem solicitada")
+    @SuppressWarnings("unchecked")
+    void shouldStreamStudentsInChunks() {
+        // Arrange
+        ReflectionTestUtils.setField(studentService, "batchStreamChunkSize", 2);
+        ReflectionTestUtils.setField(studentService, "batchStreamMaxIds", 10);
+        when(studentLookupCache.getAllByIds(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .filter(id -> id != 4L)
+                    .collect(Collectors.toMap(id -> id, id -> StudentResponseDTO.builder().id(id).build()));
+        });
+        List<Long> streamed = new ArrayList<>();
+
+        // Act
+        studentService.streamStudentsByIds(List.of(3L, 1L, 4L, 1L, 2L), student -> streamed.add(student.getId()));
+
+        // Assert
+        assertThat(streamed).containsExactly(3L, 1L, 2L);
+        verify(studentLookupCache).getAllByIds(eq(List.of(3L, 1L)), any());
+        verify(studentLookupCache).getAllByIds(eq(List.of(4L, 2L)), any());
+    }
+
+    @Test
+    @DisplayName("Streaming deve rejeitar mais IDs do que o limite configurado")
+    void shouldRejectTooManyIdsInStream() {
+        // Arrange
+        ReflectionTestUtils.setField(studentService, "batchStreamMaxIds", 2);
+
+        // Act & Assert
+        assertThatThrownBy(() -> studentService.streamStudentsByIds(List.of(1L, 2L, 3L), student -> { }))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("máximo 2");
+        verifyNoInteractions(studentLookupCache);
+    }
+
+    private void loadThroughCache() {
+        when(studentLookupCache.getById(any(), any())).thenAnswer(invocation ->
+                invocation.<Callable<StudentResponseDTO>>getArgument(1).call());
+    }
 }